@@ -0,0 +1,230 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compiled script file, containing the definitions of a single script encoded with the DefinitionCodec.
+ * The file starts with the YDEF magic number, the encoding version and the script type, followed by the definitions.
+ * Compiled files are read by mapping them in memory and decoding the definitions directly from the mapped buffer.
+ * The XML scripts remain the authoring format, compiled files are written by the ResourceCompiler and keep the same
+ * extension as the script they come from.
+ *
+ * @author Grégory Van den Borre
+ */
+final class BinaryDefinitionFile {
+
+    /**
+     * First bytes of a compiled script: YDEF.
+     */
+    private static final int MAGIC = 0x59444546;
+
+    private BinaryDefinitionFile() {
+        super();
+    }
+
+    /**
+     * Write the definitions of a script in a compiled file.
+     *
+     * @param file        File to write.
+     * @param type        Script type.
+     * @param definitions Definitions to write, must match the script type.
+     * @throws IOException If the file cannot be written.
+     */
+    static void write(final Path file, final ScriptType type, final List<?> definitions) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(DefinitionCodec.VERSION);
+            out.writeByte(type.ordinal());
+            DefinitionCodec.write(out, type, definitions);
+        }
+    }
+
+    /**
+     * Read the definitions of a compiled script.
+     *
+     * @param file   Compiled file.
+     * @param type   Expected script type.
+     * @param screen Screen size to compute the screen dependent values.
+     * @param <T>    Definition type matching the script type.
+     * @return The definitions.
+     * @throws ParserException If the file cannot be read or is not a compiled script of the expected type.
+     */
+    static <T> List<T> read(final Path file, final ScriptType type, final ScreenSize screen) {
+        try {
+            return BinaryDefinitionFile.read(BinaryDefinitionFile.map(file), type, screen);
+        } catch (final IOException | UncheckedIOException e) {
+            throw new ParserException("Cannot read " + file, e);
+        }
+    }
+
+    /**
+     * Read the definitions of a compiled script from a buffer.
+     *
+     * @param buffer Compiled script content.
+     * @param type   Expected script type.
+     * @param screen Screen size to compute the screen dependent values.
+     * @param <T>    Definition type matching the script type.
+     * @return The definitions.
+     * @throws ParserException If the buffer is not a compiled script of the expected type.
+     */
+    static <T> List<T> read(final ByteBuffer buffer, final ScriptType type, final ScreenSize screen) {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new ParserException("Not a compiled script.");
+            }
+            final int version = buffer.getInt();
+            if (version != DefinitionCodec.VERSION) {
+                throw new ParserException("Unsupported compiled script version: " + version);
+            }
+            if (buffer.get() != type.ordinal()) {
+                throw new ParserException("Compiled script is not of type " + type);
+            }
+        } catch (final BufferUnderflowException e) {
+            throw new ParserException("Not a compiled script.", e);
+        }
+        return DefinitionCodec.decode(type, buffer, screen);
+    }
+
+    /**
+     * Create a material parser reading compiled scripts, from files or from buffers.
+     *
+     * @param screen Screen size to compute the screen dependent values.
+     * @param files  Read the definitions of a compiled script file.
+     * @return The parser.
+     */
+    static MaterialParser materialParser(final ScreenSize screen, final Function<Path, List<SimpleMaterialDefinition>> files) {
+        return new MaterialParser() {
+            @Override
+            public List<SimpleMaterialDefinition> parse(final Path file) {
+                return files.apply(file);
+            }
+
+            @Override
+            public List<SimpleMaterialDefinition> parse(final ByteBuffer content) {
+                return BinaryDefinitionFile.read(content.slice(), ScriptType.MATERIAL, screen);
+            }
+        };
+    }
+
+    /**
+     * Create a music parser reading compiled scripts, from files or from buffers.
+     *
+     * @param files Read the definitions of a compiled script file.
+     * @return The parser.
+     */
+    static MusicParser musicParser(final Function<Path, List<PlayListDefinition>> files) {
+        return new MusicParser() {
+            @Override
+            public List<PlayListDefinition> parse(final Path file) {
+                return files.apply(file);
+            }
+
+            @Override
+            public List<PlayListDefinition> parse(final ByteBuffer content) {
+                return BinaryDefinitionFile.read(content.slice(), ScriptType.PLAYLIST, null);
+            }
+        };
+    }
+
+    /**
+     * Create a font parser reading compiled scripts, from files or from buffers.
+     *
+     * @param files Read the definitions of a compiled script file.
+     * @return The parser.
+     */
+    static FontParser fontParser(final Function<Path, List<FontDefinition>> files) {
+        return new FontParser() {
+            @Override
+            public List<FontDefinition> parse(final Path file) {
+                return files.apply(file);
+            }
+
+            @Override
+            public List<FontDefinition> parse(final ByteBuffer content) {
+                return BinaryDefinitionFile.read(content.slice(), ScriptType.FONT, null);
+            }
+        };
+    }
+
+    /**
+     * Create a GUI parser reading compiled scripts, from files or from buffers.
+     * The relative positions of the decoded views are resolved in the scope, as for the XML parsers.
+     *
+     * @param screen Screen size to compute the screen dependent values.
+     * @param scope  Scope to resolve the relative positions in.
+     * @param files  Read the definitions of a compiled script file.
+     * @return The parser.
+     */
+    static GuiParser guiParser(final ScreenSize screen, final LayoutScope scope, final Function<Path, List<ContainerDefinition>> files) {
+        return new GuiParser() {
+            @Override
+            public List<ContainerDefinition> parse(final Path file) {
+                final List<ContainerDefinition> views = files.apply(file);
+                scope.add(views);
+                return views;
+            }
+
+            @Override
+            public List<ContainerDefinition> parse(final ByteBuffer content) {
+                final List<ContainerDefinition> views = BinaryDefinitionFile.read(content.slice(), ScriptType.VIEW, screen);
+                scope.add(views);
+                return views;
+            }
+        };
+    }
+
+    /**
+     * Map a file in memory, files from an other file system than the default one, an archive for example, are read
+     * in a heap buffer.
+     *
+     * @param file File to map.
+     * @return The file content.
+     * @throws IOException If the file cannot be read.
+     */
+    static ByteBuffer map(final Path file) throws IOException {
+        if (file.getFileSystem() != FileSystems.getDefault()) {
+            return ByteBuffer.wrap(Files.readAllBytes(file));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
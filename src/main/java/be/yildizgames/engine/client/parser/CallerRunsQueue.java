@@ -0,0 +1,71 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Executor queuing the tasks to run them on the thread waiting for a loading to complete.
+ *
+ * @author Grégory Van den Borre
+ */
+final class CallerRunsQueue implements Executor {
+
+    /**
+     * Tasks waiting to be run.
+     */
+    private final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+
+    @Override
+    public void execute(final Runnable task) {
+        this.tasks.add(task);
+    }
+
+    /**
+     * Run the queued tasks on the calling thread until the future is completed.
+     *
+     * @param future Future to wait for.
+     * @throws ParserException If the thread is interrupted while waiting.
+     */
+    void runUntilDone(final CompletableFuture<?> future) {
+        // wake up the waiting thread once the future is completed.
+        future.whenComplete((v, e) -> this.tasks.add(() -> {}));
+        try {
+            while (!future.isDone()) {
+                this.tasks.take().run();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ParserException("Interrupted while loading resources.", e);
+        }
+        Runnable remaining;
+        while ((remaining = this.tasks.poll()) != null) {
+            remaining.run();
+        }
+    }
+}
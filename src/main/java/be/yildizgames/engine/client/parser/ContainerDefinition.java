@@ -61,9 +61,13 @@ public final class ContainerDefinition extends GuiCommonDefinition {
      */
     private final List<TextAreaDefinition> textAreaList = new ArrayList<>();
     /**
-     * Container background material.
+     * All children widgets, in the order they were added.
      */
-    private Material material = Material.empty();
+    private final List<GuiCommonDefinition> children = new ArrayList<>();
+    /**
+     * Container background material name, resolved when the container is built.
+     */
+    private String material = Material.EMPTY_NAME;
     /**
      * Container depth value.
      */
@@ -82,7 +86,7 @@ public final class ContainerDefinition extends GuiCommonDefinition {
      * @param materialName Name of the material for the container background.
      */
     void setMaterial(final String materialName) {
-        this.material = Material.get(materialName);
+        this.material = materialName;
     }
 
     /**
@@ -92,11 +96,19 @@ public final class ContainerDefinition extends GuiCommonDefinition {
         this.z = Integer.parseInt(zValue);
     }
 
+    /**
+     * @param zValue New container depth position value.
+     */
+    void setZ(final int zValue) {
+        this.z = zValue;
+    }
+
     /**
      * @param imageDef Image definition to be used as child by the container.
      */
     void addImage(final ImageDefinition imageDef) {
         this.imageList.add(imageDef);
+        this.children.add(imageDef);
     }
 
     /**
@@ -104,6 +116,7 @@ public final class ContainerDefinition extends GuiCommonDefinition {
      */
     void addTextLine(final TextLineDefinition textLineDef) {
         this.textLineList.add(textLineDef);
+        this.children.add(textLineDef);
     }
 
     /**
@@ -111,6 +124,7 @@ public final class ContainerDefinition extends GuiCommonDefinition {
      */
     void addButton(final ButtonDefinition buttonDef) {
         this.buttonList.add(buttonDef);
+        this.children.add(buttonDef);
     }
 
     /**
@@ -118,6 +132,7 @@ public final class ContainerDefinition extends GuiCommonDefinition {
      */
     void addInputBox(final InputBoxDefinition inputDef) {
         this.inputBoxList.add(inputDef);
+        this.children.add(inputDef);
     }
 
     /**
@@ -125,6 +140,46 @@ public final class ContainerDefinition extends GuiCommonDefinition {
      */
     void addTextArea(final TextAreaDefinition textAreaDef) {
         this.textAreaList.add(textAreaDef);
+        this.children.add(textAreaDef);
+    }
+
+    /**
+     * Compute the coordinates of the container and its children again for a new screen size, without parsing the
+     * script again.
+     *
+     * @param screen New screen size.
+     */
+    @Override
+    public void relayout(final ScreenSize screen) {
+        super.relayout(screen);
+        for (final GuiCommonDefinition child : this.children) {
+            child.relayout(screen);
+        }
+    }
+
+    /**
+     * Check if the coordinates of the container and of all its children are computed.
+     *
+     * @return True if no position is waiting for the widget it is relative to.
+     */
+    @Override
+    boolean isLayoutResolved() {
+        if (!super.isLayoutResolved()) {
+            return false;
+        }
+        for (final GuiCommonDefinition child : this.children) {
+            if (!child.isLayoutResolved()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return All the children widgets, in the order they were added.
+     */
+    List<GuiCommonDefinition> getChildren() {
+        return children;
     }
 
     public List<ImageDefinition> getImageList() {
@@ -147,7 +202,14 @@ public final class ContainerDefinition extends GuiCommonDefinition {
         return textAreaList;
     }
 
+    /**
+     * @return The background material, retrieved from the loaded materials.
+     */
     public Material getMaterial() {
+        return Material.EMPTY_NAME.equals(this.material) ? Material.empty() : Material.get(this.material);
+    }
+
+    public String getMaterialName() {
         return material;
     }
 
@@ -0,0 +1,394 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.graphic.material.MaterialPass.BlendMode;
+import be.yildizgames.module.graphic.material.MaterialPass.SceneBlend;
+import be.yildizgames.module.graphic.material.MaterialPass.Transparency;
+import be.yildizgames.module.window.ScreenSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary encoding of the parsed definitions.
+ * The values are stored as written in the scripts, and decoded through the same setters as the parsers, so
+ * the screen size dependent values are computed again for the screen size used when decoding.
+ * Numbers are big endian, strings are stored as their UTF-8 length followed by the bytes, -1 for null.
+ *
+ * @author Grégory Van den Borre
+ */
+final class DefinitionCodec {
+
+    /**
+     * Version of the encoding, to increase when it changes, stored by the files using this encoding.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Widget kind for an image.
+     */
+    private static final byte IMAGE = 1;
+
+    /**
+     * Widget kind for a text line.
+     */
+    private static final byte TEXT_LINE = 2;
+
+    /**
+     * Widget kind for a button.
+     */
+    private static final byte BUTTON = 3;
+
+    /**
+     * Widget kind for an input box.
+     */
+    private static final byte INPUT_BOX = 4;
+
+    /**
+     * Widget kind for a text area.
+     */
+    private static final byte TEXT_AREA = 5;
+
+    private DefinitionCodec() {
+        super();
+    }
+
+    /**
+     * Encode the definitions parsed from a script.
+     *
+     * @param type        Type of the parsed script.
+     * @param definitions Definitions to encode, must match the script type.
+     * @return The encoded definitions.
+     */
+    static byte[] encode(final ScriptType type, final List<?> definitions) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            DefinitionCodec.write(out, type, definitions);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encode the definitions parsed from a script.
+     *
+     * @param out         Output to write to.
+     * @param type        Type of the parsed script.
+     * @param definitions Definitions to encode, must match the script type.
+     * @throws IOException If the output cannot be written.
+     */
+    @SuppressWarnings("unchecked")
+    static void write(final DataOutput out, final ScriptType type, final List<?> definitions) throws IOException {
+        out.writeInt(definitions.size());
+        switch (type) {
+            case MATERIAL:
+                for (final SimpleMaterialDefinition def : (List<SimpleMaterialDefinition>) definitions) {
+                    DefinitionCodec.writeMaterial(out, def);
+                }
+                break;
+            case PLAYLIST:
+                for (final PlayListDefinition def : (List<PlayListDefinition>) definitions) {
+                    DefinitionCodec.writePlaylist(out, def);
+                }
+                break;
+            case FONT:
+                for (final FontDefinition def : (List<FontDefinition>) definitions) {
+                    DefinitionCodec.writeString(out, def.getName());
+                    DefinitionCodec.writeString(out, def.getPath());
+                    out.writeInt(def.getSize());
+                }
+                break;
+            case VIEW:
+                for (final ContainerDefinition def : (List<ContainerDefinition>) definitions) {
+                    DefinitionCodec.writeContainer(out, def);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(ParserFactory.UNKNOWN_TYPE);
+        }
+    }
+
+    /**
+     * Decode the definitions of a script.
+     * The positions of the decoded views relative to another widget are not resolved, the views must be added to
+     * the LayoutScope of their load, as the parsed views, since they can refer to widgets of other scripts.
+     *
+     * @param type   Type of the encoded script.
+     * @param in     Encoded data, read from its current position.
+     * @param screen Screen size to compute the screen dependent values.
+     * @param <T>    Definition type matching the script type.
+     * @return The decoded definitions.
+     * @throws ParserException If the data is corrupted.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> List<T> decode(final ScriptType type, final ByteBuffer in, final ScreenSize screen) {
+        try {
+            final int size = in.getInt();
+            final List<Object> result = new ArrayList<>(size);
+            final PathContext paths = type == ScriptType.MATERIAL ? PathContext.of(screen) : null;
+            for (int i = 0; i < size; i++) {
+                switch (type) {
+                    case MATERIAL:
+                        result.add(DefinitionCodec.readMaterial(in, paths));
+                        break;
+                    case PLAYLIST:
+                        result.add(DefinitionCodec.readPlaylist(in));
+                        break;
+                    case FONT:
+                        result.add(new FontDefinition.Builder()
+                                .setName(DefinitionCodec.readString(in))
+                                .setPath(DefinitionCodec.readString(in))
+                                .setSize(in.getInt())
+                                .build());
+                        break;
+                    case VIEW:
+                        result.add(DefinitionCodec.readContainer(in, screen));
+                        break;
+                    default:
+                        throw new IllegalArgumentException(ParserFactory.UNKNOWN_TYPE);
+                }
+            }
+            return (List<T>) result;
+        } catch (final BufferUnderflowException | IllegalArgumentException e) {
+            throw new ParserException("Corrupted definition data.", e);
+        }
+    }
+
+    private static void writeMaterial(final DataOutput out, final SimpleMaterialDefinition def) throws IOException {
+        DefinitionCodec.writeString(out, def.getName());
+        DefinitionCodec.writeString(out, def.getPathTemplate());
+        DefinitionCodec.writeString(out, def.getPath2Template());
+        DefinitionCodec.writeString(out, def.getTransparency().name());
+        DefinitionCodec.writeString(out, def.getGlowFile());
+        out.writeBoolean(def.isAffectedByLight());
+        DefinitionCodec.writeString(out, def.getBlend().name());
+        DefinitionCodec.writeString(out, def.getSceneBlend1().name());
+        DefinitionCodec.writeString(out, def.getSceneBlend2().name());
+    }
+
+    private static SimpleMaterialDefinition readMaterial(final ByteBuffer in, final PathContext paths) {
+        return new SimpleMaterialDefinition.Builder()
+                .setName(DefinitionCodec.readString(in))
+                .setPath(DefinitionCodec.readString(in), paths)
+                .setPath2(DefinitionCodec.readString(in), paths)
+                .setTransparency(Transparency.valueOf(DefinitionCodec.readString(in)))
+                .setGlowFile(DefinitionCodec.readString(in))
+                .setAffectedByLight(in.get() != 0)
+                .setBlend(BlendMode.valueOf(DefinitionCodec.readString(in)))
+                .setSceneBlend(SceneBlend.valueOf(DefinitionCodec.readString(in)), SceneBlend.valueOf(DefinitionCodec.readString(in)))
+                .build();
+    }
+
+    private static void writePlaylist(final DataOutput out, final PlayListDefinition def) throws IOException {
+        DefinitionCodec.writeString(out, def.getName());
+        out.writeInt(def.getMusicList().size());
+        for (final MusicDefinition music : def.getMusicList()) {
+            DefinitionCodec.writeString(out, music.getName());
+            DefinitionCodec.writeString(out, music.getFile());
+        }
+    }
+
+    private static PlayListDefinition readPlaylist(final ByteBuffer in) {
+        final PlayListDefinition.Builder def = new PlayListDefinition.Builder().setName(DefinitionCodec.readString(in));
+        final int size = in.getInt();
+        for (int i = 0; i < size; i++) {
+            def.addMusic(new MusicDefinition.Builder()
+                    .setName(DefinitionCodec.readString(in))
+                    .setFile(DefinitionCodec.readString(in))
+                    .build());
+        }
+        return def.build();
+    }
+
+    private static void writeContainer(final DataOutput out, final ContainerDefinition def) throws IOException {
+        DefinitionCodec.writeCommon(out, def);
+        out.writeInt(def.getZ());
+        DefinitionCodec.writeString(out, def.getMaterialName());
+        out.writeInt(def.getChildren().size());
+        for (final GuiCommonDefinition child : def.getChildren()) {
+            if (child instanceof ImageDefinition) {
+                out.writeByte(IMAGE);
+                DefinitionCodec.writeCommon(out, child);
+                DefinitionCodec.writeString(out, ((ImageDefinition) child).getMaterialName());
+            } else if (child instanceof TextLineDefinition) {
+                out.writeByte(TEXT_LINE);
+                DefinitionCodec.writeCommon(out, child);
+                DefinitionCodec.writeString(out, ((TextLineDefinition) child).getFont());
+            } else if (child instanceof ButtonDefinition) {
+                final ButtonDefinition button = (ButtonDefinition) child;
+                out.writeByte(BUTTON);
+                DefinitionCodec.writeString(out, button.getMaterial());
+                DefinitionCodec.writeString(out, button.getMaterialHighlight());
+                DefinitionCodec.writeString(out, button.getFont());
+                DefinitionCodec.writeCommon(out, child);
+            } else if (child instanceof InputBoxDefinition) {
+                final InputBoxDefinition input = (InputBoxDefinition) child;
+                out.writeByte(INPUT_BOX);
+                DefinitionCodec.writeString(out, input.getMaterialName());
+                DefinitionCodec.writeString(out, input.getMaterialHighlightName());
+                DefinitionCodec.writeString(out, input.getFontName());
+                DefinitionCodec.writeCommon(out, child);
+            } else if (child instanceof TextAreaDefinition) {
+                final TextAreaDefinition area = (TextAreaDefinition) child;
+                out.writeByte(TEXT_AREA);
+                DefinitionCodec.writeCommon(out, child);
+                DefinitionCodec.writeString(out, area.getMaterial());
+                DefinitionCodec.writeString(out, area.getFont());
+            } else {
+                throw new IllegalArgumentException("Unknown widget: " + child.getClass());
+            }
+        }
+    }
+
+    private static ContainerDefinition readContainer(final ByteBuffer in, final ScreenSize screen) {
+        final ContainerDefinition def = new ContainerDefinition(screen);
+        DefinitionCodec.readCommon(in, def);
+        def.setZ(in.getInt());
+        def.setMaterial(DefinitionCodec.readString(in));
+        final int size = in.getInt();
+        for (int i = 0; i < size; i++) {
+            final byte kind = in.get();
+            switch (kind) {
+                case IMAGE:
+                    final ImageDefinition image = new ImageDefinition(screen);
+                    DefinitionCodec.readCommon(in, image);
+                    image.setMaterial(DefinitionCodec.readString(in));
+                    def.addImage(image);
+                    break;
+                case TEXT_LINE:
+                    final TextLineDefinition line = new TextLineDefinition(screen);
+                    DefinitionCodec.readCommon(in, line);
+                    line.setFont(DefinitionCodec.readString(in));
+                    def.addTextLine(line);
+                    break;
+                case BUTTON:
+                    final ButtonDefinition button = new ButtonDefinition(DefinitionCodec.readString(in), DefinitionCodec.readString(in), DefinitionCodec.readString(in), screen);
+                    DefinitionCodec.readCommon(in, button);
+                    def.addButton(button);
+                    break;
+                case INPUT_BOX:
+                    final InputBoxDefinition input = new InputBoxDefinition(DefinitionCodec.readString(in), DefinitionCodec.readString(in), DefinitionCodec.readString(in), screen);
+                    DefinitionCodec.readCommon(in, input);
+                    def.addInputBox(input);
+                    break;
+                case TEXT_AREA:
+                    final TextAreaDefinition area = new TextAreaDefinition(screen);
+                    DefinitionCodec.readCommon(in, area);
+                    area.setMaterial(DefinitionCodec.readString(in));
+                    area.setFont(DefinitionCodec.readString(in));
+                    def.addTextArea(area);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown widget kind: " + kind);
+            }
+        }
+        return def;
+    }
+
+    /**
+     * Write the name and the layout values as written in the script.
+     *
+     * @param out Output to write to.
+     * @param def Definition to write.
+     * @throws IOException If the output cannot be written.
+     */
+    private static void writeCommon(final DataOutput out, final GuiCommonDefinition def) throws IOException {
+        DefinitionCodec.writeString(out, def.getName());
+        DefinitionCodec.writeString(out, def.getWidthSource());
+        DefinitionCodec.writeString(out, def.getHeightSource());
+        DefinitionCodec.writeString(out, def.getLeftSource());
+        DefinitionCodec.writeString(out, def.getTopSource());
+    }
+
+    /**
+     * Set the name and the layout values, the size is set before the position so the relative positions
+     * are computed directly.
+     *
+     * @param in  Encoded data.
+     * @param def Definition to fill.
+     */
+    private static void readCommon(final ByteBuffer in, final GuiCommonDefinition def) {
+        final String name = DefinitionCodec.readString(in);
+        final String width = DefinitionCodec.readString(in);
+        final String height = DefinitionCodec.readString(in);
+        final String left = DefinitionCodec.readString(in);
+        final String top = DefinitionCodec.readString(in);
+        if (!name.isEmpty()) {
+            def.setName(name);
+        }
+        if (width != null) {
+            def.setWidth(width);
+        }
+        if (height != null) {
+            def.setHeight(height);
+        }
+        if (left != null) {
+            def.setLeft(left);
+        }
+        if (top != null) {
+            def.setTop(top);
+        }
+    }
+
+    static void writeString(final DataOutput out, final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    static String readString(final ByteBuffer in) {
+        final int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        final String result;
+        if (in.hasArray()) {
+            result = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            final byte[] bytes = new byte[length];
+            in.get(bytes);
+            result = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return result;
+    }
+}
@@ -33,13 +33,28 @@ import be.yildizgames.module.graphic.GraphicEngine;
 import be.yildizgames.module.graphic.gui.button.ButtonMaterial;
 import be.yildizgames.module.graphic.gui.container.Container;
 import be.yildizgames.module.graphic.material.Material;
+import be.yildizgames.module.graphic.material.MaterialTechnique;
 import be.yildizgames.module.graphic.material.TextureUnit;
+import be.yildizgames.module.window.ScreenSize;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Helper class to parse script file to create widgets, views, materials, playlist...
@@ -66,87 +81,582 @@ public final class FileParser {
      */
     private final AudioEngine soundEngine;
 
+    /**
+     * Executor running the tasks on the calling thread.
+     */
+    private static final Executor DIRECT = Runnable::run;
+
+    /**
+     * Run the script parsing tasks, the definitions are always applied to the engines on the engine thread.
+     */
+    private final Executor parseExecutor;
+
+    /**
+     * Names of the materials loaded by this parser, used to schedule the views.
+     */
+    private final Set<String> loadedMaterials = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Names of the fonts loaded by this parser, used to schedule the views.
+     */
+    private final Set<String> loadedFonts = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Resource paths added to this parser, watched for hot reload.
+     */
+    private final List<Path> resourcePaths = new CopyOnWriteArrayList<>();
+
+    /**
+     * True to keep a manifest of the parsed scripts next to each resource path, false by default.
+     */
+    private volatile boolean manifestEnabled;
+
+    /**
+     * Containers built by this parser, by name, to replace them when they are built again.
+     */
+    private final Map<String, Container> containers = new ConcurrentHashMap<>();
+
+    /**
+     * Definitions of the views built by this parser, by name, to build them again when one of their materials
+     * is reloaded.
+     */
+    private final Map<String, ContainerDefinition> viewDefinitions = new ConcurrentHashMap<>();
+
+    /**
+     * Scope of the views of each watched resource path, kept so the reloaded views can refer to the widgets of the
+     * other scripts of their resource path. Widgets with the same name replace each other in a scope.
+     */
+    private final Map<Path, LayoutScope> layoutScopes = new ConcurrentHashMap<>();
+
+    /**
+     * Definitions of the materials loaded by this parser, by name, to expand them for the resolution tiers.
+     */
+    private final Map<String, SimpleMaterialDefinition> materialDefinitions = new ConcurrentHashMap<>();
+
+    /**
+     * Screen sizes to precompute the material variants for, none by default.
+     */
+    private volatile List<ScreenSize> resolutionTiers = List.of();
+
+    /**
+     * Material definitions expanded for the resolution tiers, null until loaded with tiers configured.
+     */
+    private volatile MaterialVariants materialVariants;
+
     protected FileParser(GraphicEngine graphicEngine, AudioEngine soundEngine, ParserFactory factory) {
+        this(graphicEngine, soundEngine, factory, DIRECT);
+    }
+
+    /**
+     * Create a file parser parsing the scripts with the given executor, a ForkJoinPool for example.
+     *
+     * @param graphicEngine Engine to create the materials, fonts and views.
+     * @param soundEngine   Engine to create the play lists.
+     * @param factory       Factory for the script parsers.
+     * @param parseExecutor Executor running the parsing tasks.
+     */
+    protected FileParser(GraphicEngine graphicEngine, AudioEngine soundEngine, ParserFactory factory, Executor parseExecutor) {
         this.graphicEngine = graphicEngine;
         this.soundEngine = soundEngine;
         this.parserFactory = factory;
+        this.parseExecutor = parseExecutor;
     }
 
     /**
      * Set the path to get graphic resources and parse the scripts in this folder.
+     * The folder is scanned once, then the materials, play lists and fonts are loaded in that order.
+     * Each view is built as soon as the materials and fonts it uses are loaded.
+     * The scripts are parsed with the parse executor, the definitions are applied to the engines on the calling thread,
+     * in the scan order.
+     * A pack file built by the ResourceCompiler or a zip or jar archive can be used in place of the folder,
+     * the archive scripts are read directly from the archive.
      *
      * @param folder Resources for this resource group.
      */
     void addResourcePath(Path folder) throws IOException {
-        if (!Files.exists(folder) || !Files.isDirectory(folder)) {
-            throw new IllegalArgumentException(folder.toAbsolutePath().toString() + " is not a valid resource path.");
+        FileParser.checkFolder(folder);
+        try (ResourceSource source = this.open(folder)) {
+            this.load(source);
         }
-        MusicParser musicParser = this.parserFactory.createMusicParser();
-        MaterialParser materialParser = this.parserFactory.createMaterialParser(this.graphicEngine.getScreenSize());
-        FontParser fontParser = this.parserFactory.createFontParser();
-        GuiParser guiParser = this.parserFactory.createGuiParser(this.graphicEngine.getScreenSize());
-        try(Stream<Path> files = Files.walk(folder)) {
-            files.filter(s -> s.toString().endsWith(".mat")).forEach(s -> {
-                LOGGER.log(System.Logger.Level.INFO,"Parsing material script {}", s);
-                final List<SimpleMaterialDefinition> matDef = materialParser.parse(s);
-                for (final SimpleMaterialDefinition def : matDef) {
-                    final Material m = this.graphicEngine.getMaterialManager().loadSimpleTexture(def.getName(), def.getPath(), def.getTransparency());
-                    if (!def.getPath2().isEmpty()) {
-                        TextureUnit unit = m.getTechnique(0).createTexturePass().getUnit(0);
-                        unit.setTexture(def.getPath2());
-                        m.getTechnique(0).getPass(1).setTransparency(def.getTransparency());
-                    }
-                    if (!def.getGlowFile().isEmpty()) {
-                        m.addGlowTechnique(def.getGlowFile());
+    }
+
+    /**
+     * Set a class path folder to get graphic resources and parse the scripts in this folder, in the same way as
+     * addResourcePath. When the folder is inside a jar, the scripts are read directly from the jar without being
+     * extracted, the jar must then contain the folder entry, as the jars built by Maven do.
+     * Class path resource paths are not watched.
+     *
+     * @param loader Class loader to find the folder.
+     * @param name   Resource name of the folder, as for ClassLoader.getResource, a pack file can be used as well.
+     * @throws IOException If the jar or the scripts cannot be read.
+     * @throws IllegalArgumentException If the resource does not exist or is not a folder or a pack file.
+     */
+    void addClasspathResourcePath(ClassLoader loader, String name) throws IOException {
+        try (ResourceSource source = ResourceSource.open(loader, name)) {
+            this.load(source);
+        }
+    }
+
+    /**
+     * Load the scripts of an opened source, the definitions are applied on the calling thread.
+     *
+     * @param source Location of the scripts.
+     * @throws IOException If the scripts cannot be listed.
+     */
+    private void load(final ResourceSource source) throws IOException {
+        final ResourceIndex index = source.index();
+        final CallerRunsQueue engineQueue = new CallerRunsQueue();
+        final CompletableFuture<Void> loading = this.load(source, index, this.parseExecutor, engineQueue, LoadingListener.NONE);
+        engineQueue.runUntilDone(loading);
+        FileParser.await(loading);
+    }
+
+    /**
+     * Set the path to get graphic resources and parse the scripts in this folder without blocking the calling thread.
+     * The folder is scanned and the scripts are parsed in background, with the parse executor or the common pool if
+     * this parser was created without one. The definitions are applied to the engines with the engine executor
+     * in the same order as addResourcePath, the render loop task queue for example.
+     * The engine executor must run its tasks one at a time, in submission order, as the engines and the view
+     * scheduling are not thread safe: a single thread executor or a render loop queue, not a thread pool.
+     * If a material, play list or font script cannot be read or parsed, the returned future completes exceptionally
+     * with the cause, a view script that cannot be parsed is logged and skipped.
+     *
+     * @param folder         Resources for this resource group.
+     * @param engineExecutor Serial executor running the calls to the engines and the listener notifications.
+     * @param listener       Listener notified of the loading progress.
+     * @return A future completed once every resource is loaded.
+     */
+    CompletableFuture<Void> addResourcePathAsync(Path folder, Executor engineExecutor, LoadingListener listener) {
+        FileParser.checkFolder(folder);
+        final Executor executor = this.parseExecutor == DIRECT ? ForkJoinPool.commonPool() : this.parseExecutor;
+        return CompletableFuture
+                .supplyAsync(() -> {
+                    try {
+                        return this.open(folder);
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
                     }
-                    if (!def.isAffectedByLight()) {
-                        m.disableLight();
+                }, executor)
+                .thenCompose(source -> {
+                    try {
+                        return this.load(source, source.index(), executor, engineExecutor, listener).whenComplete((v, e) -> source.close());
+                    } catch (final IOException e) {
+                        source.close();
+                        throw new UncheckedIOException(e);
+                    } catch (final RuntimeException e) {
+                        source.close();
+                        throw e;
                     }
-                    m.setBlendMode(def.getBlend());
-                    m.setSceneBlend(def.getSceneBlend1(), def.getSceneBlend2());
-                }
-            });
+                });
+    }
+
+    /**
+     * Open a resource path, a folder is registered to be watched.
+     *
+     * @param path Resource path.
+     * @return The opened source.
+     * @throws IOException If the pack or archive cannot be read.
+     */
+    private ResourceSource open(final Path path) throws IOException {
+        final ResourceSource source = ResourceSource.open(path);
+        if (source.isWritableFolder()) {
+            this.resourcePaths.add(path);
         }
-        try(Stream<Path> files = Files.walk(folder)) {
-            files.filter(s -> s.toString().endsWith(".pll")).forEach(s -> {
-                LOGGER.log(System.Logger.Level.INFO,"Parsing playlist script {}", s);
-                final List<PlayListDefinition> playListDef = musicParser.parse(s);
-                for (final PlayListDefinition def : playListDef) {
-                    final Playlist p = this.soundEngine.createPlaylist(def.getName());
-                    for (final MusicDefinition musicDef : def.getMusicList()) {
-                        final Music m = Music.withName(musicDef.getFile(), musicDef.getName());
-                        p.addMusic(m);
-                    }
-                }
-            });
+        return source;
+    }
+
+    /**
+     * Keep a manifest of the parsed scripts next to each resource path folder, the scripts not modified since the
+     * previous load are then decoded from the manifest instead of being parsed again. Pack files and class path
+     * resource paths do not use a manifest.
+     *
+     * @param enabled True to use the manifest for the next loads.
+     */
+    void setManifestEnabled(final boolean enabled) {
+        this.manifestEnabled = enabled;
+    }
+
+    /**
+     * Set the screen sizes the game can switch to, the material definitions are expanded for each of them once the
+     * resource paths are loaded, a resolution switch then applies the precomputed definitions instead of parsing the
+     * material scripts again.
+     *
+     * @param tiers Screen sizes to prepare, applied to the next loads.
+     */
+    void setResolutionTiers(final List<ScreenSize> tiers) {
+        this.resolutionTiers = List.copyOf(tiers);
+    }
+
+    /**
+     * Load again the materials with the paths for another screen size, from the variants computed when loading,
+     * and relayout the views for that screen size, no script is read.
+     *
+     * @param screen Screen size to switch to, must be one of the resolution tiers.
+     * @throws IllegalArgumentException If no variant was computed for that screen size.
+     */
+    void switchResolution(final ScreenSize screen) {
+        final MaterialVariants variants = this.materialVariants;
+        if (variants == null || !variants.contains(screen)) {
+            throw new IllegalArgumentException("No material variant for " + screen.width + "x" + screen.height + ", it must be a resolution tier.");
         }
-        try(Stream<Path> files = Files.walk(folder)) {
-            files
-                    .filter(s -> s.toString().endsWith(".fnt"))
-                    .map(fontParser::parse)
-                    .forEach(l -> l.forEach(
-                            def ->
-                                    this.graphicEngine.createFont(def.getName(), def.getPath(), def.getSize()).load()));
+        this.loadMaterials(variants.get(screen));
+        this.relayoutViews(screen);
+    }
+
+    /**
+     * Compute again the coordinates of all the views built by this parser for a new screen size and build them again,
+     * from the layout expressions kept in their definitions, the view scripts are not parsed again.
+     * To be called on the engine thread once the screen size changed.
+     *
+     * @param screen New screen size.
+     */
+    void relayoutViews(final ScreenSize screen) {
+        ViewScheduler.relayout(this.viewDefinitions.values(), screen, this::buildView);
+    }
+
+    /**
+     * Load materials again, the views using a material whose definition changed are built again.
+     *
+     * @param definitions Material definitions to load.
+     */
+    private void reloadMaterials(final List<SimpleMaterialDefinition> definitions) {
+        final Set<String> changed = this.loadMaterials(definitions);
+        if (!changed.isEmpty()) {
+            ViewScheduler.using(this.viewDefinitions.values(), changed).forEach(this::buildView);
         }
+    }
 
-        try(Stream<Path> files = Files.walk(folder)) {
-            files.filter(s -> s.toString().endsWith(".vew")).forEach(s -> {
-                LOGGER.log(System.Logger.Level.INFO,"Parsing view script {}", s);
+    /**
+     * Load materials again, without building the views using them.
+     *
+     * @param definitions Material definitions to load.
+     * @return The names of the materials whose definition changed.
+     */
+    private Set<String> loadMaterials(final List<SimpleMaterialDefinition> definitions) {
+        final Set<String> changed = new HashSet<>();
+        for (final SimpleMaterialDefinition def : definitions) {
+            if (!def.equals(this.materialDefinitions.get(def.getName()))) {
+                changed.add(def.getName());
+            }
+            this.loadMaterial(def);
+        }
+        return changed;
+    }
+
+    /**
+     * Expand all the loaded material definitions for the resolution tiers, in a single batch.
+     */
+    private void expandVariants() {
+        final List<ScreenSize> tiers = this.resolutionTiers;
+        if (!tiers.isEmpty()) {
+            this.materialVariants = MaterialVariants.expand(List.copyOf(this.materialDefinitions.values()), tiers);
+        }
+    }
+
+    /**
+     * Watch the resource paths added to this parser, a script modified or created in one of them is parsed again with
+     * the matching parser and only its own definitions are applied to the engines again.
+     * The changes are reloaded when polling the returned watcher, on the polling thread.
+     *
+     * @return The watcher to poll and to close when no longer needed.
+     * @throws IOException If a resource path cannot be watched.
+     */
+    ResourceWatcher watchResources() throws IOException {
+        return new ResourceWatcher(this.resourcePaths, this::reload);
+    }
+
+    /**
+     * Parse a single script file and apply its definitions to the engines, errors are logged and not propagated
+     * to keep the application running while the file is being edited.
+     *
+     * @param file Script file to reload.
+     */
+    private void reload(final Path file) {
+        LOGGER.log(System.Logger.Level.INFO,"Reloading script {0}", file);
+        try {
+            switch (ScriptType.fromPath(file)) {
+                case MATERIAL:
+                    this.reloadMaterials(this.parserFactory.createMaterialParser(this.graphicEngine.getScreenSize()).parse(file));
+                    this.expandVariants();
+                    break;
+                case PLAYLIST:
+                    this.parserFactory.createMusicParser().parse(file).forEach(this::loadPlaylist);
+                    break;
+                case FONT:
+                    this.parserFactory.createFontParser().parse(file).forEach(this::loadFont);
+                    break;
+                case VIEW:
+                    this.reloadViews(file);
+                    break;
+                default:
+                    break;
+            }
+        } catch (final RuntimeException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "Error reloading " + file, e);
+        }
+    }
+
+    /**
+     * Parse a view script again, its relative positions are resolved in the scope of its resource path, the views
+     * are built once their materials and fonts are loaded, as when loading, or with a warning if they never are.
+     *
+     * @param file View script to reload.
+     */
+    private void reloadViews(final Path file) {
+        final LayoutScope scope = this.layoutScopes.entrySet().stream()
+                .filter(e -> file.startsWith(e.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElseGet(LayoutScope::new);
+        final ViewScheduler scheduler = new ViewScheduler(this.loadedMaterials, this.loadedFonts, this::buildView, f -> {});
+        try {
+            scheduler.add(file, this.parserFactory.createGuiParser(this.graphicEngine.getScreenSize(), scope).parse(file));
+            scheduler.flush();
+        } finally {
+            scope.discardPending();
+        }
+    }
+
+    /**
+     * Check that a resource path is an existing folder, pack file or archive.
+     *
+     * @param folder Folder to check.
+     * @throws IllegalArgumentException If the folder does not exist or is not a directory, a pack file or an archive.
+     */
+    private static void checkFolder(final Path folder) {
+        if (!ResourceSource.isSupported(folder)) {
+            throw new IllegalArgumentException(folder.toAbsolutePath().toString() + " is not a valid resource path.");
+        }
+    }
+
+    /**
+     * Parse the indexed scripts and apply the definitions to the engines.
+     *
+     * @param source         Location of the scripts.
+     * @param index          Scripts to load.
+     * @param executor       Executor running the parsing tasks.
+     * @param engineExecutor Executor running the calls to the engines, one task at a time.
+     * @param listener       Listener notified of the loading progress.
+     * @return A future completed once every resource is loaded.
+     */
+    private CompletableFuture<Void> load(final ResourceSource source, final ResourceIndex index, final Executor executor, final Executor engineExecutor, final LoadingListener listener) {
+        final Path folder = source.getPath();
+        final ResourcePack pack = source.getPack();
+        final ScreenSize screen = this.graphicEngine.getScreenSize();
+        MusicParser musicParser = pack == null ? this.parserFactory.createMusicParser() : BinaryDefinitionFile.musicParser(f -> pack.read(ScriptType.PLAYLIST, f, screen));
+        MaterialParser materialParser = pack == null ? this.parserFactory.createMaterialParser(screen) : BinaryDefinitionFile.materialParser(screen, f -> pack.read(ScriptType.MATERIAL, f, screen));
+        FontParser fontParser = pack == null ? this.parserFactory.createFontParser() : BinaryDefinitionFile.fontParser(f -> pack.read(ScriptType.FONT, f, screen));
+        // one scope for all the views of the load, whether they are parsed or decoded, kept for the watched folders.
+        final LayoutScope scope = this.resourcePaths.contains(folder) ? this.layoutScopes.computeIfAbsent(folder, k -> new LayoutScope()) : new LayoutScope();
+        GuiParser guiParser = pack == null ? this.parserFactory.createGuiParser(screen, scope) : BinaryDefinitionFile.guiParser(screen, scope, f -> pack.read(ScriptType.VIEW, f, screen));
+        final ScriptManifest manifest = this.manifestEnabled && source.isWritableFolder() ? ScriptManifest.load(folder) : null;
+        final ProgressTracker tracker = new ProgressTracker(listener);
+        final LoadContext context = new LoadContext(index, executor, engineExecutor, tracker);
+        final ViewScheduler scheduler = new ViewScheduler(this.loadedMaterials, this.loadedFonts, this::buildView, f -> tracker.applied(ScriptType.VIEW, f));
+        CompletableFuture<Void> loaded = CompletableFuture.runAsync(() -> tracker.discovered(index, folder), engineExecutor);
+        // the scripts are mapped or read in pooled buffers, the pack already holds its content in memory.
+        final boolean buffered = pack == null && this.parserFactory.readsBuffers();
+        final BiConsumer<Path, Consumer<SimpleMaterialDefinition>> materialReader = buffered
+                ? (f, c) -> ScriptBuffers.accept(f, b -> materialParser.parse(b, c))
+                : materialParser::parse;
+        final BiConsumer<Path, Consumer<PlayListDefinition>> musicReader = buffered
+                ? (f, c) -> ScriptBuffers.accept(f, b -> musicParser.parse(b, c))
+                : musicParser::parse;
+        final BiConsumer<Path, Consumer<FontDefinition>> fontReader = buffered
+                ? (f, c) -> ScriptBuffers.accept(f, b -> fontParser.parse(b, c))
+                : fontParser::parse;
+        final BiConsumer<Path, Consumer<ContainerDefinition>> guiReader = buffered
+                ? (f, c) -> ScriptBuffers.read(f, guiParser::parse).forEach(c)
+                : (f, c) -> guiParser.parse(f).forEach(c);
+        final Consumer<SimpleMaterialDefinition> materialLoader = def -> {
+            this.loadMaterial(def);
+            scheduler.materialLoaded(def.getName());
+        };
+        final Consumer<FontDefinition> fontLoader = def -> {
+            this.loadFont(def);
+            scheduler.fontLoaded(def.getName());
+        };
+        if (executor == DIRECT) {
+            // parsed on the engine thread, each definition is applied as soon as it is read, before the end of its file.
+            loaded = context.streamAll(loaded, ScriptType.MATERIAL, this.cached(manifest, scope, ScriptType.MATERIAL, materialReader), materialLoader);
+            loaded = context.streamAll(loaded, ScriptType.PLAYLIST, this.cached(manifest, scope, ScriptType.PLAYLIST, musicReader), this::loadPlaylist);
+            loaded = context.streamAll(loaded, ScriptType.FONT, this.cached(manifest, scope, ScriptType.FONT, fontReader), fontLoader);
+        } else {
+            final List<CompletableFuture<List<SimpleMaterialDefinition>>> materials = context.parseAll(ScriptType.MATERIAL, FileParser.collect(this.cached(manifest, scope, ScriptType.MATERIAL, materialReader)));
+            final List<CompletableFuture<List<PlayListDefinition>>> playlists = context.parseAll(ScriptType.PLAYLIST, FileParser.collect(this.cached(manifest, scope, ScriptType.PLAYLIST, musicReader)));
+            final List<CompletableFuture<List<FontDefinition>>> fonts = context.parseAll(ScriptType.FONT, FileParser.collect(this.cached(manifest, scope, ScriptType.FONT, fontReader)));
+            loaded = context.applyAll(loaded, ScriptType.MATERIAL, materials, materialLoader);
+            loaded = context.applyAll(loaded, ScriptType.PLAYLIST, playlists, this::loadPlaylist);
+            loaded = context.applyAll(loaded, ScriptType.FONT, fonts, fontLoader);
+        }
+        final Function<Path, List<ContainerDefinition>> viewParser = FileParser.collect(this.cached(manifest, scope, ScriptType.VIEW, guiReader));
+        final List<CompletableFuture<List<ContainerDefinition>>> views = context.parseAll(ScriptType.VIEW, s -> {
+            try {
+                return viewParser.apply(s);
+            } catch (final ParserException pe) {
+                LOGGER.log(System.Logger.Level.ERROR,"Error parsing", pe);
+                return List.of();
+            }
+        });
+        // each view is built as soon as its file is parsed and its materials and fonts are loaded.
+        final List<Path> viewFiles = index.getFiles(ScriptType.VIEW);
+        final CompletableFuture<?>[] registered = new CompletableFuture<?>[viewFiles.size()];
+        for (int i = 0; i < registered.length; i++) {
+            final Path file = viewFiles.get(i);
+            registered[i] = views.get(i).thenAcceptAsync(defs -> scheduler.add(file, defs), engineExecutor);
+        }
+        final CompletableFuture<Void> result = CompletableFuture.allOf(registered)
+                .thenCombine(loaded, (a, b) -> null)
+                .thenRunAsync(() -> {
+                    scheduler.flush();
+                    scope.discardPending();
+                }, engineExecutor)
+                .thenRunAsync(this::expandVariants, engineExecutor);
+        return manifest == null ? result : result.thenRunAsync(manifest::save, executor);
+    }
+
+    /**
+     * Use the manifest, if any, to decode the definitions of the unchanged scripts instead of parsing them,
+     * the parsed definitions are recorded in the manifest.
+     *
+     * @param manifest Manifest of the resource path, null if not used.
+     * @param scope    Scope to resolve the relative positions of the decoded views.
+     * @param type     Type of the scripts.
+     * @param reader   Read the definitions of a script.
+     * @param <T>      Definition type.
+     * @return The function to read the definitions of a script.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> BiConsumer<Path, Consumer<T>> cached(final ScriptManifest manifest, final LayoutScope scope, final ScriptType type, final BiConsumer<Path, Consumer<T>> reader) {
+        if (manifest == null) {
+            return reader;
+        }
+        final ScreenSize screen = this.graphicEngine.getScreenSize();
+        return (file, consumer) -> {
+            final ByteBuffer payload = manifest.lookup(file, type);
+            if (payload != null) {
                 try {
-                    guiParser.parse(s).forEach(this::buildView);
-                } catch (final ParserException pe) {
-                    LOGGER.log(System.Logger.Level.ERROR,"Error parsing", pe);
+                    final List<T> decoded = DefinitionCodec.decode(type, payload, screen);
+                    if (type == ScriptType.VIEW) {
+                        scope.add((List<ContainerDefinition>) decoded);
+                    }
+                    decoded.forEach(consumer);
+                    return;
+                } catch (final RuntimeException e) {
+                    LOGGER.log(System.Logger.Level.WARNING, "Invalid manifest entry for " + file, e);
                 }
+            }
+            // taken before parsing, a script edited meanwhile is stored as changed and parsed again by the next load.
+            final ScriptManifest.Fingerprint fingerprint = manifest.fingerprint(file);
+            final List<T> result = new ArrayList<>();
+            reader.accept(file, def -> {
+                result.add(def);
+                consumer.accept(def);
             });
+            manifest.put(file, type, fingerprint, DefinitionCodec.encode(type, result));
+        };
+    }
+
+    /**
+     * Collect the definitions read from a script.
+     *
+     * @param reader Read the definitions of a script.
+     * @param <T>    Definition type.
+     * @return The function to retrieve the list of definitions of a script.
+     */
+    private static <T> Function<Path, List<T>> collect(final BiConsumer<Path, Consumer<T>> reader) {
+        return file -> {
+            final List<T> result = new ArrayList<>();
+            reader.accept(file, result::add);
+            return result;
+        };
+    }
+
+    /**
+     * Wait for a loading task to complete.
+     *
+     * @param future Loading task.
+     * @param <T>    Result type.
+     * @return The task result.
+     * @throws RuntimeException The exception thrown by the task, if any.
+     */
+    private static <T> T await(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Create a material from a given definition, or update it if it was already loaded: a definition equal to the
+     * loaded one is ignored and the passes created for a previous definition are reused instead of being added again.
+     *
+     * @param def Data to build the material.
+     */
+    private void loadMaterial(final SimpleMaterialDefinition def) {
+        this.loadedMaterials.add(def.getName());
+        final SimpleMaterialDefinition previous = this.materialDefinitions.put(def.getName(), def);
+        if (def.equals(previous)) {
+            return;
+        }
+        final Material m = this.graphicEngine.getMaterialManager().loadSimpleTexture(def.getName(), def.getPath(), def.getTransparency());
+        if (!def.getPath2().isEmpty()) {
+            final MaterialTechnique technique = m.getTechnique(0);
+            final boolean hasTexturePass = previous != null && !previous.getPath2().isEmpty();
+            TextureUnit unit = (hasTexturePass ? technique.getPass(1) : technique.createTexturePass()).getUnit(0);
+            unit.setTexture(def.getPath2());
+            technique.getPass(1).setTransparency(def.getTransparency());
+        }
+        if (!def.getGlowFile().isEmpty() && (previous == null || !def.getGlowFile().equals(previous.getGlowFile()))) {
+            m.addGlowTechnique(def.getGlowFile());
+        }
+        if (!def.isAffectedByLight()) {
+            m.disableLight();
+        }
+        m.setBlendMode(def.getBlend());
+        m.setSceneBlend(def.getSceneBlend1(), def.getSceneBlend2());
+    }
+
+    /**
+     * Create a play list from a given definition.
+     *
+     * @param def Data to build the play list.
+     */
+    private void loadPlaylist(final PlayListDefinition def) {
+        final Playlist p = this.soundEngine.createPlaylist(def.getName());
+        for (final MusicDefinition musicDef : def.getMusicList()) {
+            final Music m = Music.withName(musicDef.getFile(), musicDef.getName());
+            p.addMusic(m);
         }
     }
 
     /**
-     * Build a view from a given definition.
+     * Create and load a font from a given definition.
+     *
+     * @param def Data to build the font.
+     */
+    private void loadFont(final FontDefinition def) {
+        this.graphicEngine.createFont(def.getName(), def.getPath(), def.getSize()).load();
+        this.loadedFonts.add(def.getName());
+    }
+
+    /**
+     * Build a view from a given definition, a view already built with the same name is deleted and replaced.
      *
      * @param def Data to build the view.
      */
     private void buildView(final ContainerDefinition def) {
+        final boolean named = !def.getName().isEmpty();
+        if (named) {
+            final Container previous = this.containers.remove(def.getName());
+            if (previous != null) {
+                previous.delete();
+            }
+        }
         final Container container = graphicEngine
                 .getGuiFactory()
                 .container()
@@ -204,6 +714,117 @@ public final class FileParser {
                 .withFont(Font.get(tad.getFont()))
                 .withBackground(Material.get(tad.getMaterial()))
                 .build(container));
+        if (named) {
+            this.containers.put(def.getName(), container);
+            this.viewDefinitions.put(def.getName(), def);
+        }
     }
 
+
+    /**
+     * State of a single resource path loading, submit the parsing tasks and chain the engine calls.
+     *
+     * @author Grégory Van den Borre
+     */
+    private static final class LoadContext {
+
+        /**
+         * Scripts to load.
+         */
+        private final ResourceIndex index;
+
+        /**
+         * Executor running the parsing tasks.
+         */
+        private final Executor executor;
+
+        /**
+         * Executor running the calls to the engines.
+         */
+        private final Executor engineExecutor;
+
+        /**
+         * Progress notifications, only used from the engine executor.
+         */
+        private final ProgressTracker tracker;
+
+        private LoadContext(final ResourceIndex index, final Executor executor, final Executor engineExecutor, final ProgressTracker tracker) {
+            super();
+            this.index = index;
+            this.executor = executor;
+            this.engineExecutor = engineExecutor;
+            this.tracker = tracker;
+        }
+
+        /**
+         * Submit the parsing of all files of a type to the parse executor.
+         *
+         * @param type   Type of the files to parse.
+         * @param parser Parser to use.
+         * @param <T>    Definition type.
+         * @return The parsing results, in the same order as the files in the index.
+         */
+        private <T> List<CompletableFuture<List<T>>> parseAll(final ScriptType type, final Function<Path, List<T>> parser) {
+            final List<Path> files = this.index.getFiles(type);
+            final List<CompletableFuture<List<T>>> result = new ArrayList<>(files.size());
+            for (final Path file : files) {
+                result.add(CompletableFuture.supplyAsync(() -> {
+                    LOGGER.log(System.Logger.Level.INFO,"Parsing script {0}", file);
+                    return parser.apply(file);
+                }, this.executor).thenApplyAsync(definitions -> {
+                    this.tracker.parsed(type, file);
+                    return definitions;
+                }, this.engineExecutor));
+            }
+            return result;
+        }
+
+        /**
+         * Parse the files of a type one after the other with the engine executor, each definition is applied as soon
+         * as it is read.
+         *
+         * @param previous Step to complete before parsing the first file.
+         * @param type     Type of the files to parse.
+         * @param reader   Read the definitions of a file.
+         * @param loader   Apply a definition to the engines.
+         * @param <T>      Definition type.
+         * @return A future completed once all definitions are applied.
+         */
+        private <T> CompletableFuture<Void> streamAll(final CompletableFuture<Void> previous, final ScriptType type, final BiConsumer<Path, Consumer<T>> reader, final Consumer<T> loader) {
+            CompletableFuture<Void> result = previous;
+            for (final Path file : this.index.getFiles(type)) {
+                result = result.thenRunAsync(() -> {
+                    LOGGER.log(System.Logger.Level.INFO,"Parsing script {0}", file);
+                    reader.accept(file, loader);
+                    this.tracker.parsed(type, file);
+                    this.tracker.applied(type, file);
+                }, this.engineExecutor);
+            }
+            return result;
+        }
+
+        /**
+         * Apply the parsed definitions with the engine executor, one file after the other in the index order.
+         *
+         * @param previous Step to complete before applying the first file.
+         * @param type     Type of the parsed files.
+         * @param parsed   Parsing results, in the index order.
+         * @param loader   Apply a definition to the engines.
+         * @param <T>      Definition type.
+         * @return A future completed once all definitions are applied.
+         */
+        private <T> CompletableFuture<Void> applyAll(final CompletableFuture<Void> previous, final ScriptType type, final List<CompletableFuture<List<T>>> parsed, final Consumer<T> loader) {
+            final List<Path> files = this.index.getFiles(type);
+            CompletableFuture<Void> result = previous;
+            for (int i = 0; i < parsed.size(); i++) {
+                final Path file = files.get(i);
+                result = result.thenCombineAsync(parsed.get(i), (v, definitions) -> {
+                    definitions.forEach(loader);
+                    this.tracker.applied(type, file);
+                    return null;
+                }, this.engineExecutor);
+            }
+            return result;
+        }
+    }
 }
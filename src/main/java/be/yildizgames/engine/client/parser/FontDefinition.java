@@ -22,12 +22,14 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE  SOFTWARE.
  */
-
 package be.yildizgames.engine.client.parser;
 
+import java.util.Objects;
+
 /**
  * Data definition to create a font from an external resource(i.e parsing a
  * script file).
+ * Immutable, built with a Builder while parsing, it can be shared between threads and used as a key.
  *
  * @author Grégory Van den Borre
  */
@@ -37,32 +39,23 @@ public final class FontDefinition {
     /**
      * Font height.
      */
-    private int size;
+    private final int size;
 
     /**
      * Path to the font file.
      */
-    private String path;
+    private final String path;
 
     /**
      * Internal font name, must be unique.
      */
-    private String name;
+    private final String name;
 
-    /**
-     * Simple constructor, initialize with empty values.
-     */
-    FontDefinition() {
+    private FontDefinition(final Builder builder) {
         super();
-        this.path = "";
-        this.name = "";
-    }
-
-    /**
-     * @param newSize New value for the font height.
-     */
-    void setSize(final String newSize) {
-        this.size = Integer.parseInt(newSize);
+        this.size = builder.size;
+        this.path = builder.path;
+        this.name = builder.name;
     }
 
     public int getSize() {
@@ -77,17 +70,73 @@ public final class FontDefinition {
         return name;
     }
 
-    public void setPath(String path) {
-        if(path == null) {
-            throw new IllegalArgumentException("Path is mandatory");
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
         }
-        this.path = path;
+        final FontDefinition that = (FontDefinition) o;
+        return size == that.size && path.equals(that.path) && name.equals(that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(size, path, name);
     }
 
-    public void setName(String name) {
-        if(name == null) {
-            throw new IllegalArgumentException("Name is mandatory");
+    /**
+     * Collect the font values while parsing, initialized with empty values.
+     */
+    static final class Builder {
+
+        private int size;
+
+        private String path = "";
+
+        private String name = "";
+
+        /**
+         * @param newSize New value for the font height.
+         * @return This builder.
+         */
+        Builder setSize(final String newSize) {
+            this.size = Integer.parseInt(newSize);
+            return this;
+        }
+
+        /**
+         * @param newSize New value for the font height.
+         * @return This builder.
+         */
+        Builder setSize(final int newSize) {
+            this.size = newSize;
+            return this;
+        }
+
+        Builder setPath(final String path) {
+            if (path == null) {
+                throw new IllegalArgumentException("Path is mandatory");
+            }
+            this.path = path;
+            return this;
+        }
+
+        Builder setName(final String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("Name is mandatory");
+            }
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * @return The definition with the values set so far.
+         */
+        FontDefinition build() {
+            return new FontDefinition(this);
         }
-        this.name = name;
     }
 }
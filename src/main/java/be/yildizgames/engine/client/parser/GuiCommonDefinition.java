@@ -28,8 +28,8 @@ package be.yildizgames.engine.client.parser;
 import be.yildizgames.module.coordinate.Coordinates;
 import be.yildizgames.module.window.ScreenSize;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 /**
  * Base definition for the GUI definition, contains the coordinates data and the
@@ -39,15 +39,10 @@ import java.util.Map;
  */
 class GuiCommonDefinition {
 
-
-    /**
-     * Keep a record of all GUI definition.
-     */
-    private static final Map<String, GuiCommonDefinition> DEFINITION_LIST = new HashMap<>();
     /**
      * Size of the screen.
      */
-    private final ScreenSize screenSize;
+    private ScreenSize screenSize;
     /**
      * Widget left coordinate.
      */
@@ -64,6 +59,10 @@ class GuiCommonDefinition {
      * Widget height.
      */
     private int height;
+    /**
+     * Last returned coordinates, immutable, replaced once the coordinates change.
+     */
+    private Coordinates coordinates;
     /**
      * Widget name.
      */
@@ -75,11 +74,6 @@ class GuiCommonDefinition {
      * width will be set.
      */
     private boolean leftNeedReposition;
-    /**
-     * If leftNeedReposition is set to true, this keep the relative positions
-     * parameters data.
-     */
-    private String relativeLeftPos;
     /**
      * When using relative values for positions(bottom) instead of absolute in
      * pixel, the height is needed to compute the position. If the height has
@@ -88,10 +82,41 @@ class GuiCommonDefinition {
      */
     private boolean topNeedReposition;
     /**
-     * If topNeedReposition is set to true, this keep the relative positions
-     * parameters data.
+     * Compiled left value, null if not set.
+     */
+    private LayoutExpression leftExpression;
+    /**
+     * Compiled top value, null if not set.
+     */
+    private LayoutExpression topExpression;
+    /**
+     * Compiled width value, null if not set.
+     */
+    private LayoutExpression widthExpression;
+    /**
+     * Compiled height value, null if not set.
+     */
+    private LayoutExpression heightExpression;
+    /**
+     * Widget the left position is relative to, set by the LayoutScope once resolved, null if none or not yet resolved.
+     */
+    private volatile GuiCommonDefinition leftReference;
+    /**
+     * Left value as written in the script, null if not set.
+     */
+    private String leftSource;
+    /**
+     * Top value as written in the script, null if not set.
+     */
+    private String topSource;
+    /**
+     * Width value as written in the script, null if not set.
      */
-    private String relativeTopPos;
+    private String widthSource;
+    /**
+     * Height value as written in the script, null if not set.
+     */
+    private String heightSource;
 
     /**
      * Simple constructor, initialize with empty values.
@@ -103,12 +128,52 @@ class GuiCommonDefinition {
         this.screenSize = screen;
     }
 
-
     /**
-     * @return The widget coordinates data.
+     * @return The widget coordinates data, the same instance is returned as long as the coordinates do not change.
      */
     public final Coordinates getCoordinates() {
-        return new Coordinates(this.width, this.height, this.left, this.top);
+        Coordinates c = this.coordinates;
+        if (c == null || c.width != this.width || c.height != this.height || c.left != this.left || c.top != this.top) {
+            c = new Coordinates(this.width, this.height, this.left, this.top);
+            this.coordinates = c;
+        }
+        return c;
+    }
+
+    /**
+     * Compute the coordinates again for a new screen size, from the values compiled when they were set, without
+     * parsing them again. The widgets used as reference for a relative position and not yet relaid out for that
+     * screen size are relaid out first, whatever the order the views are relaid out in.
+     *
+     * @param screen New screen size.
+     */
+    public void relayout(final ScreenSize screen) {
+        final Deque<GuiCommonDefinition> chain = new ArrayDeque<>();
+        GuiCommonDefinition reference = this.leftReference;
+        while (reference != null && reference.screenSize != screen) {
+            chain.push(reference);
+            reference = reference.leftReference;
+        }
+        while (!chain.isEmpty()) {
+            chain.pop().relayoutSelf(screen);
+        }
+        this.relayoutSelf(screen);
+    }
+
+    private void relayoutSelf(final ScreenSize screen) {
+        this.screenSize = screen;
+        if (this.widthExpression != null) {
+            this.width = this.widthExpression.evaluate(screen.width, 0, this.width, null);
+        }
+        if (this.heightExpression != null) {
+            this.height = this.heightExpression.evaluate(screen.height, 0, this.height, null);
+        }
+        if (this.leftExpression != null && !this.leftNeedReposition && this.isLeftResolved()) {
+            this.left = this.leftExpression.evaluate(screen.width, this.width, this.left, this.leftReference);
+        }
+        if (this.topExpression != null && !this.topNeedReposition) {
+            this.top = this.topExpression.evaluate(screen.height, this.height, this.top, null);
+        }
     }
 
     /**
@@ -119,29 +184,14 @@ class GuiCommonDefinition {
      *                         parameter is equal to 0</li>
      */
     final void setWidth(final String widgetWidth) throws ParserException {
-        if (widgetWidth.contains("full")) {
-            final String[] args = widgetWidth.split("-");
-            if (args.length == 1) {
-                this.width = this.screenSize.width;
-            } else {
-                try {
-                    this.width = this.screenSize.width - Integer.parseInt(args[1]);
-                } catch (final NumberFormatException nfe) {
-                    throw new ParserException("Invalid width value:", nfe);
-                }
-            }
-        } else {
-            try {
-                this.width = Integer.parseInt(widgetWidth);
-            } catch (final NumberFormatException nfe) {
-                throw new ParserException("Invalid width value:", nfe);
-            }
-        }
+        this.widthSource = widgetWidth;
+        this.widthExpression = LayoutExpression.size(widgetWidth, "width");
+        this.width = this.widthExpression.evaluate(this.screenSize.width, 0, this.width, null);
         if (this.width == 0) {
             throw new ParserException("Width of zero is now allowed.");
         }
-        if (this.leftNeedReposition) {
-            this.setLeft(this.relativeLeftPos);
+        if (this.leftNeedReposition && this.isLeftResolved()) {
+            this.left = this.leftExpression.evaluate(this.screenSize.width, this.width, this.left, this.leftReference);
             this.leftNeedReposition = false;
         }
     }
@@ -154,29 +204,14 @@ class GuiCommonDefinition {
      *                         parameter is equal to 0</li>
      */
     final void setHeight(final String widgetHeight) throws ParserException {
-        if (widgetHeight.contains("full")) {
-            final String[] args = widgetHeight.split("-");
-            if (args.length == 1) {
-                this.height = this.screenSize.height;
-            } else {
-                try {
-                    this.height = this.screenSize.height - Integer.parseInt(args[1]);
-                } catch (final NumberFormatException nfe) {
-                    throw new ParserException("Invalid height value:", nfe);
-                }
-            }
-        } else {
-            try {
-                this.height = Integer.parseInt(widgetHeight);
-            } catch (final NumberFormatException nfe) {
-                throw new ParserException("Invalid height value:", nfe);
-            }
-        }
+        this.heightSource = widgetHeight;
+        this.heightExpression = LayoutExpression.size(widgetHeight, "height");
+        this.height = this.heightExpression.evaluate(this.screenSize.height, 0, this.height, null);
         if (this.height == 0) {
             throw new ParserException("Height of zero is now allowed.");
         }
         if (this.topNeedReposition) {
-            this.setTop(this.relativeTopPos);
+            this.top = this.topExpression.evaluate(this.screenSize.height, this.height, this.top, null);
             this.topNeedReposition = false;
         }
     }
@@ -188,54 +223,52 @@ class GuiCommonDefinition {
      *                  in the container.</li> <li>left#other widget to set the
      *                  element at a relative position left from an other widget.</li>
      *                  <li>right#other widget to set the element at a relative
-     *                  position right from an other widget.</li>
+     *                  position right from an other widget, computed once the other widget is resolved by
+     *                  the LayoutScope.</li>
      * @throws ParserException If the parameter does not match the expected values.
      */
     final void setLeft(final String leftValue) throws ParserException {
-        final String[] values = leftValue.split("#");
-        switch (values[0]) {
-            case "left":
-                if (values.length > 1) {
-                    GuiCommonDefinition other = GuiCommonDefinition.DEFINITION_LIST.get(values[1]);
-                    this.left = other.left - other.width;
-                } else {
-                    this.left = 0;
-                }
-                break;
-            case "right":
-                // to compute right position, the width is needed
-                if (this.width != 0) {
-                    if (values.length == 1) {
-                        this.left = this.screenSize.width - this.width;
-                    } else {
-                        GuiCommonDefinition other = GuiCommonDefinition.DEFINITION_LIST.get(values[1]);
-                        this.left = other.left + other.width;
-                    }
-                } else {
-                    this.leftNeedReposition = true;
-                    this.relativeLeftPos = leftValue;
-                }
-                break;
-            case "center":
-                // to compute right position, the width is needed
-                if (this.width != 0) {
-                    if (values.length == 1) {
-                        this.left = (this.screenSize.width >> 1) - (this.width >> 1);
-                    }
-                } else {
-                    this.leftNeedReposition = true;
-                    this.relativeLeftPos = leftValue;
-                }
-                break;
-            default:
-                try {
-                    this.left = Integer.parseInt(values[0]);
-                } catch (final NumberFormatException nfe) {
-                    throw new ParserException("Invalid left value:", nfe);
-                }
-                break;
+        this.leftSource = leftValue;
+        this.leftExpression = LayoutExpression.left(leftValue);
+        this.leftReference = null;
+        // to compute right and center positions, the width is needed
+        this.leftNeedReposition = this.leftExpression.needLength() && this.width == 0;
+        if (!this.leftNeedReposition && this.isLeftResolved()) {
+            this.left = this.leftExpression.evaluate(this.screenSize.width, this.width, this.left, null);
         }
+    }
+
+    /**
+     * Compute the left position relative to the referenced widget, once that widget position is known.
+     *
+     * @param reference Definition of the widget named in the left value.
+     */
+    final void resolveLeft(final GuiCommonDefinition reference) {
+        this.leftNeedReposition = this.leftExpression.needLength() && this.width == 0;
+        if (!this.leftNeedReposition) {
+            this.left = this.leftExpression.evaluate(this.screenSize.width, this.width, this.left, reference);
+        }
+        this.leftReference = reference;
+    }
+
+    /**
+     * @return The name of the widget the left position is relative to, null if none or if already resolved.
+     */
+    final String getLayoutReference() {
+        return this.isLeftResolved() ? null : this.leftExpression.getReference();
+    }
+
+    /**
+     * Check if the coordinates are computed, false while the widget a position is relative to is not resolved.
+     *
+     * @return True if the coordinates are known.
+     */
+    boolean isLayoutResolved() {
+        return this.isLeftResolved();
+    }
 
+    private boolean isLeftResolved() {
+        return this.leftExpression == null || this.leftExpression.getReference() == null || this.leftReference != null;
     }
 
     /**
@@ -248,25 +281,11 @@ class GuiCommonDefinition {
      * @throws ParserException If the parameter does not match the expected values.
      */
     final void setTop(final String topValue) throws ParserException {
-        switch (topValue) {
-            case "top":
-                this.top = 0;
-                break;
-            case "bottom":
-                if (this.height != 0) {
-                    this.top = this.screenSize.height - this.height;
-                } else {
-                    this.topNeedReposition = true;
-                    this.relativeTopPos = topValue;
-                }
-                break;
-            default:
-                try {
-                    this.top = Integer.parseInt(topValue);
-                } catch (final NumberFormatException nfe) {
-                    throw new ParserException("Invalid top value:", nfe);
-                }
-                break;
+        this.topSource = topValue;
+        this.topExpression = LayoutExpression.top(topValue);
+        this.topNeedReposition = this.topExpression.needLength() && this.height == 0;
+        if (!this.topNeedReposition) {
+            this.top = this.topExpression.evaluate(this.screenSize.height, this.height, this.top, null);
         }
     }
 
@@ -275,10 +294,53 @@ class GuiCommonDefinition {
      */
     final void setName(final String widgetName) {
         this.name = widgetName;
-        GuiCommonDefinition.DEFINITION_LIST.put(this.name, this);
     }
 
     public String getName() {
         return name;
     }
+
+    /**
+     * @return The widget left coordinate.
+     */
+    final int getLeft() {
+        return this.left;
+    }
+
+    /**
+     * @return The widget width.
+     */
+    final int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * @return The widget top coordinate.
+     */
+    final int getTop() {
+        return this.top;
+    }
+
+    /**
+     * @return The widget height.
+     */
+    final int getHeight() {
+        return this.height;
+    }
+
+    final String getLeftSource() {
+        return leftSource;
+    }
+
+    final String getTopSource() {
+        return topSource;
+    }
+
+    final String getWidthSource() {
+        return widthSource;
+    }
+
+    final String getHeightSource() {
+        return heightSource;
+    }
 }
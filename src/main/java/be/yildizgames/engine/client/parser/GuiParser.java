@@ -25,6 +25,10 @@
 
 package be.yildizgames.engine.client.parser;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -33,7 +37,6 @@ import java.util.List;
  *
  * @author Grégory Van den Borre
  */
-@FunctionalInterface
 public interface GuiParser {
 
     /**
@@ -44,4 +47,39 @@ public interface GuiParser {
      * @throws ParserException If an error occurs during the parsing.
      */
     List<ContainerDefinition> parse(Path file) throws ParserException;
+
+    /**
+     * Parse a script content already in memory and extract data to get ContainerDefinition.
+     * The content is a compiled script for the binary parsers, the script text for the others.
+     *
+     * @param content Script content, from its position to its limit, the buffer position is not modified.
+     * @return A list containing Extracted data.
+     * @throws ParserException If an error occurs during the parsing.
+     */
+    List<ContainerDefinition> parse(ByteBuffer content) throws ParserException;
+
+    /**
+     * Parse a script read from a stream, a script shipped in a jar or coming from an asset store for example,
+     * without copying it to a file first. The stream is read until its end and is not closed.
+     * The content is read in memory and given to parse(ByteBuffer), for any implementation.
+     *
+     * @param in Stream providing the script content.
+     * @return A list containing Extracted data.
+     * @throws ParserException If the stream cannot be read or if an error occurs during the parsing.
+     */
+    default List<ContainerDefinition> parse(final InputStream in) throws ParserException {
+        return this.parse(ScriptBuffers.readAll(in));
+    }
+
+    /**
+     * Parse a script read from a channel, without copying it to a file first.
+     * The channel is read until its end and is not closed.
+     *
+     * @param channel Channel providing the script content.
+     * @return A list containing Extracted data.
+     * @throws ParserException If the channel cannot be read or if an error occurs during the parsing.
+     */
+    default List<ContainerDefinition> parse(final ReadableByteChannel channel) throws ParserException {
+        return this.parse(Channels.newInputStream(channel));
+    }
 }
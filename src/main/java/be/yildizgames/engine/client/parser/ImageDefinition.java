@@ -36,9 +36,9 @@ import be.yildizgames.module.window.ScreenSize;
 public final class ImageDefinition extends GuiCommonDefinition {
 
     /**
-     * Image background.
+     * Image background material name, resolved when the image is built.
      */
-    private Material material = Material.empty();
+    private String material = Material.EMPTY_NAME;
 
     /**
      * Simple constructor, initialize with empty values.
@@ -53,10 +53,17 @@ public final class ImageDefinition extends GuiCommonDefinition {
      * @param materialName New material to use as image background.
      */
     void setMaterial(final String materialName) {
-        this.material = Material.get(materialName);
+        this.material = materialName;
     }
 
+    /**
+     * @return The background material, retrieved from the loaded materials.
+     */
     public Material getMaterial() {
+        return Material.EMPTY_NAME.equals(this.material) ? Material.empty() : Material.get(this.material);
+    }
+
+    public String getMaterialName() {
         return this.material;
     }
 }
@@ -38,29 +38,29 @@ import be.yildizgames.module.window.ScreenSize;
 public final class InputBoxDefinition extends GuiCommonDefinition {
 
     /**
-     * The input box background material.
+     * The input box background material name.
      */
-    private final Material material;
+    private final String material;
 
     /**
-     * The input box background material when focused.
+     * The input box background material name when focused.
      */
-    private final Material materialHighlight;
+    private final String materialHighlight;
 
     /**
-     * The font for the input box text.
+     * The font name for the input box text.
      */
-    private final Font font;
+    private final String font;
 
     /**
      * Simple constructor, initialize with empty values.
      *
-     * @param background Box background material.
-     * @param highlight  Box background material when focused.
-     * @param boxFont    Font to use for caption and text.
+     * @param background Box background material name.
+     * @param highlight  Box background material name when focused.
+     * @param boxFont    Font name to use for caption and text.
      * @param screen     Screen size data.
      */
-    InputBoxDefinition(final Material background, final Material highlight, final Font boxFont, final ScreenSize screen) {
+    InputBoxDefinition(final String background, final String highlight, final String boxFont, final ScreenSize screen) {
         super(screen);
         this.material = background;
         this.materialHighlight = highlight;
@@ -72,15 +72,36 @@ public final class InputBoxDefinition extends GuiCommonDefinition {
         return null;
     }
 
+    /**
+     * @return The background material, retrieved from the loaded materials.
+     */
     public Material getMaterial() {
-        return this.material;
+        return Material.get(this.material);
     }
 
+    /**
+     * @return The background material when focused, retrieved from the loaded materials.
+     */
     public Material getMaterialHighlight() {
-        return this.materialHighlight;
+        return Material.get(this.materialHighlight);
     }
 
+    /**
+     * @return The font, retrieved from the loaded fonts.
+     */
     public Font getFont() {
+        return Font.get(this.font);
+    }
+
+    public String getMaterialName() {
+        return this.material;
+    }
+
+    public String getMaterialHighlightName() {
+        return this.materialHighlight;
+    }
+
+    public String getFontName() {
         return this.font;
     }
 }
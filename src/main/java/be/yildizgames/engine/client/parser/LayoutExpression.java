@@ -0,0 +1,259 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+/**
+ * Compiled form of a GUI size or position value as written in a view script, full-20, right, center, bottom or
+ * right#other for example, so it can be evaluated again against a new screen size without parsing the value again.
+ * An expression is immutable, its evaluation does not allocate.
+ * A position relative to an other widget only keeps that widget name, the widget definition is resolved by the
+ * LayoutScope once all the widgets of the view are known, so a widget can refer to a widget defined after it.
+ *
+ * @author Grégory Van den Borre
+ */
+final class LayoutExpression {
+
+    /**
+     * Absolute value.
+     */
+    private static final int ABSOLUTE = 0;
+
+    /**
+     * Screen length minus the value, for full and full-N.
+     */
+    private static final int FROM_SCREEN = 1;
+
+    /**
+     * Aligned on the screen end, screen length minus the widget length, for right and bottom.
+     */
+    private static final int SCREEN_END = 2;
+
+    /**
+     * Centered on the screen.
+     */
+    private static final int SCREEN_CENTER = 3;
+
+    /**
+     * Before the referenced widget, its left minus its width.
+     */
+    private static final int BEFORE = 4;
+
+    /**
+     * After the referenced widget, its left plus its width.
+     */
+    private static final int AFTER = 5;
+
+    /**
+     * Value not modified, for the expressions without effect as center#other.
+     */
+    private static final int UNCHANGED = 6;
+
+    /**
+     * Kind of computation.
+     */
+    private final int kind;
+
+    /**
+     * Operand of the computation.
+     */
+    private final int value;
+
+    /**
+     * True if the widget length is needed to evaluate the expression.
+     */
+    private final boolean needLength;
+
+    /**
+     * Referenced widget name, null if not relative to an other widget.
+     */
+    private final String reference;
+
+    private LayoutExpression(final int kind, final int value, final boolean needLength, final String reference) {
+        super();
+        this.kind = kind;
+        this.value = value;
+        this.needLength = needLength;
+        this.reference = reference;
+    }
+
+    /**
+     * Compile a width or height value.
+     *
+     * @param expression Value as written in the script: a number, full or full-N.
+     * @param property   Name of the property, used in the error message.
+     * @return The compiled expression.
+     * @throws ParserException If the value is not valid.
+     */
+    static LayoutExpression size(final String expression, final String property) {
+        final int end = expression.length();
+        try {
+            if (expression.contains("full")) {
+                final int dash = expression.indexOf('-');
+                if (dash < 0 || LayoutExpression.onlySeparators(expression, dash, '-')) {
+                    return new LayoutExpression(FROM_SCREEN, 0, false, null);
+                }
+                final int next = ScriptValues.indexOf(expression, '-', dash + 1, end);
+                return new LayoutExpression(FROM_SCREEN, ScriptValues.parseInt(expression, dash + 1, next < 0 ? end : next), false, null);
+            }
+            return new LayoutExpression(ABSOLUTE, ScriptValues.parseInt(expression, 0, end), false, null);
+        } catch (final NumberFormatException nfe) {
+            throw new ParserException("Invalid " + property + " value:", nfe);
+        }
+    }
+
+    /**
+     * Compile a left value.
+     *
+     * @param expression Value as written in the script: a number, left, right, center, left#other or right#other.
+     * @return The compiled expression.
+     * @throws ParserException If the value is not valid.
+     */
+    static LayoutExpression left(final String expression) {
+        final int end = expression.length();
+        final int hash = expression.indexOf('#');
+        final int head = hash < 0 ? end : hash;
+        final String reference = LayoutExpression.reference(expression, hash, end);
+        if (ScriptValues.is(expression, 0, head, "left")) {
+            return reference != null
+                    ? new LayoutExpression(BEFORE, 0, false, reference)
+                    : new LayoutExpression(ABSOLUTE, 0, false, null);
+        }
+        if (ScriptValues.is(expression, 0, head, "right")) {
+            return reference != null
+                    ? new LayoutExpression(AFTER, 0, true, reference)
+                    : new LayoutExpression(SCREEN_END, 0, true, null);
+        }
+        if (ScriptValues.is(expression, 0, head, "center")) {
+            return new LayoutExpression(reference != null ? UNCHANGED : SCREEN_CENTER, 0, true, null);
+        }
+        try {
+            return new LayoutExpression(ABSOLUTE, ScriptValues.parseInt(expression, 0, head), false, null);
+        } catch (final NumberFormatException nfe) {
+            throw new ParserException("Invalid left value:", nfe);
+        }
+    }
+
+    /**
+     * Extract the widget name after the '#' separator, up to the next separator.
+     *
+     * @param expression Value as written in the script.
+     * @param hash       Index of the first separator, -1 if none.
+     * @param end        Expression length.
+     * @return The widget name, null if there is none.
+     */
+    private static String reference(final String expression, final int hash, final int end) {
+        if (hash < 0) {
+            return null;
+        }
+        final int next = ScriptValues.indexOf(expression, '#', hash + 1, end);
+        final int nameEnd = next < 0 ? end : next;
+        if (nameEnd == hash + 1) {
+            return LayoutExpression.onlySeparators(expression, hash, '#') ? null : "";
+        }
+        return expression.substring(hash + 1, nameEnd);
+    }
+
+    /**
+     * Check if the expression ends with separators only, the empty trailing parts are then ignored.
+     *
+     * @param expression Value as written in the script.
+     * @param from       Index of the first separator.
+     * @param separator  Separator character.
+     * @return True if there are only separators from that index.
+     */
+    private static boolean onlySeparators(final String expression, final int from, final char separator) {
+        for (int i = from; i < expression.length(); i++) {
+            if (expression.charAt(i) != separator) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compile a top value.
+     *
+     * @param expression Value as written in the script: a number, top or bottom.
+     * @return The compiled expression.
+     * @throws ParserException If the value is not valid.
+     */
+    static LayoutExpression top(final String expression) {
+        switch (expression) {
+            case "top":
+                return new LayoutExpression(ABSOLUTE, 0, false, null);
+            case "bottom":
+                return new LayoutExpression(SCREEN_END, 0, true, null);
+            default:
+                try {
+                    return new LayoutExpression(ABSOLUTE, ScriptValues.parseInt(expression, 0, expression.length()), false, null);
+                } catch (final NumberFormatException nfe) {
+                    throw new ParserException("Invalid top value:", nfe);
+                }
+        }
+    }
+
+    /**
+     * @return True if the widget length must be known to evaluate this expression, the position is then computed
+     * once the size is set.
+     */
+    boolean needLength() {
+        return this.needLength;
+    }
+
+    /**
+     * @return The name of the widget this position is relative to, null if none.
+     */
+    String getReference() {
+        return this.reference;
+    }
+
+    /**
+     * Compute the value.
+     *
+     * @param screenLength Screen length on the expression axis.
+     * @param length       Widget length on the expression axis, for a position.
+     * @param current      Current value, returned if the expression has no effect.
+     * @param reference    Definition of the referenced widget, null if the expression has no reference.
+     * @return The computed value in pixels.
+     */
+    int evaluate(final int screenLength, final int length, final int current, final GuiCommonDefinition reference) {
+        switch (this.kind) {
+            case ABSOLUTE:
+                return this.value;
+            case FROM_SCREEN:
+                return screenLength - this.value;
+            case SCREEN_END:
+                return screenLength - length;
+            case SCREEN_CENTER:
+                return (screenLength >> 1) - (length >> 1);
+            case BEFORE:
+                return reference.getLeft() - reference.getWidth();
+            case AFTER:
+                return reference.getLeft() + reference.getWidth();
+            default:
+                return current;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named GUI definitions of a single load, to resolve the positions relative to an other widget, as left#other.
+ * Each load has its own scope, shared by the views it parses or decodes; the definitions are released with the load
+ * once it is done instead of being kept for the application lifetime, except for the watched resource paths whose
+ * scope is kept to resolve the reloaded views.
+ * The relative positions are not computed while parsing but once the views of a script are added: the widgets
+ * waiting for a position are sorted so each widget is resolved after the widget it refers to, whatever their order
+ * in the scripts. A widget referring to a name not yet known stays pending until a later script defines it.
+ *
+ * @author Grégory Van den Borre
+ */
+final class LayoutScope {
+
+    /**
+     * Definitions by widget name, the last registered wins if a name is used twice.
+     */
+    private final Map<String, GuiCommonDefinition> definitions = new ConcurrentHashMap<>();
+
+    /**
+     * Definitions waiting for the widget their position is relative to.
+     */
+    private final List<GuiCommonDefinition> pending = new ArrayList<>();
+
+    /**
+     * Register the views of a script and resolve every relative position whose reference is now known.
+     *
+     * @param views Views to register.
+     * @throws ParserException If relative positions refer to each other in a cycle.
+     */
+    synchronized void add(final List<ContainerDefinition> views) {
+        for (final ContainerDefinition view : views) {
+            this.register(view);
+            for (final GuiCommonDefinition child : view.getChildren()) {
+                this.register(child);
+            }
+        }
+        if (!this.pending.isEmpty()) {
+            this.resolve();
+        }
+    }
+
+    /**
+     * Check every relative position is resolved, to be called once all the scripts of the scope are added.
+     *
+     * @throws ParserException If a position refers to a widget never defined.
+     */
+    synchronized void complete() {
+        if (!this.pending.isEmpty()) {
+            throw new ParserException("Unknown widget for relative position: " + LayoutScope.names(this.pending));
+        }
+    }
+
+    /**
+     * Forget the definitions still waiting for a widget never defined, once their views are built anyway at the end
+     * of a load, so a scope kept for later reloads does not accumulate them.
+     */
+    synchronized void discardPending() {
+        this.pending.clear();
+    }
+
+    private void register(final GuiCommonDefinition definition) {
+        if (!definition.getName().isEmpty()) {
+            this.definitions.put(definition.getName(), definition);
+        }
+        if (definition.getLayoutReference() != null) {
+            this.pending.add(definition);
+        }
+    }
+
+    /**
+     * Resolve the pending positions in dependency order, each position is computed once, after its reference.
+     */
+    private void resolve() {
+        final int size = this.pending.size();
+        final Map<GuiCommonDefinition, Integer> index = new IdentityHashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            index.put(this.pending.get(i), i);
+        }
+        final GuiCommonDefinition[] references = new GuiCommonDefinition[size];
+        // dependents of each pending definition, as linked lists stored in arrays
+        final int[] firstDependent = new int[size];
+        final int[] nextDependent = new int[size];
+        Arrays.fill(firstDependent, -1);
+        final int[] queue = new int[size];
+        int tail = 0;
+        for (int i = 0; i < size; i++) {
+            references[i] = this.definitions.get(this.pending.get(i).getLayoutReference());
+            final Integer reference = references[i] == null ? null : index.get(references[i]);
+            if (reference != null) {
+                nextDependent[i] = firstDependent[reference];
+                firstDependent[reference] = i;
+            } else if (references[i] != null) {
+                queue[tail++] = i;
+            }
+        }
+        final boolean[] handled = new boolean[size];
+        for (int head = 0; head < tail; head++) {
+            final int current = queue[head];
+            this.pending.get(current).resolveLeft(references[current]);
+            handled[current] = true;
+            for (int d = firstDependent[current]; d != -1; d = nextDependent[d]) {
+                queue[tail++] = d;
+            }
+        }
+        // the definitions waiting, directly or not, for an unknown widget stay pending, the others are in a cycle
+        final int blockedStart = tail;
+        for (int i = 0; i < size; i++) {
+            if (references[i] == null) {
+                queue[tail++] = i;
+            }
+        }
+        for (int head = blockedStart; head < tail; head++) {
+            for (int d = firstDependent[queue[head]]; d != -1; d = nextDependent[d]) {
+                queue[tail++] = d;
+            }
+        }
+        final List<GuiCommonDefinition> unknown = new ArrayList<>();
+        for (int head = blockedStart; head < tail; head++) {
+            unknown.add(this.pending.get(queue[head]));
+            handled[queue[head]] = true;
+        }
+        final List<GuiCommonDefinition> cycle = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (!handled[i]) {
+                cycle.add(this.pending.get(i));
+            }
+        }
+        this.pending.clear();
+        this.pending.addAll(unknown);
+        if (!cycle.isEmpty()) {
+            throw new ParserException("Cycle in relative positions: " + LayoutScope.names(cycle));
+        }
+    }
+
+    private static String names(final List<GuiCommonDefinition> list) {
+        final StringJoiner joiner = new StringJoiner(", ");
+        list.forEach(d -> joiner.add(d.getName() + " -> " + d.getLayoutReference()));
+        return joiner.toString();
+    }
+}
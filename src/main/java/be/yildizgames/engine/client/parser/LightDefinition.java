@@ -47,9 +47,19 @@ final class LightDefinition {
     private String type = "point";
 
     /**
-     * Position of the light.
+     * Light X position.
      */
-    private Point3D position = Point3D.ZERO;
+    private float x;
+
+    /**
+     * Light Y position.
+     */
+    private float y;
+
+    /**
+     * Light Z position.
+     */
+    private float z;
 
     /**
      * Material for the light part of the lens flare, if any.
@@ -80,7 +90,7 @@ final class LightDefinition {
         if(positionX == null) {
             throw new IllegalArgumentException("positionX is mandatory");
         }
-        this.position = Point3D.valueOf(Float.parseFloat(positionX), this.position.y, this.position.z);
+        this.x = ScriptValues.parseFloat(positionX, 0, positionX.length());
     }
 
     /**
@@ -93,7 +103,7 @@ final class LightDefinition {
         if(positionY == null) {
             throw new IllegalArgumentException("positionY is mandatory");
         }
-        this.position = Point3D.valueOf(this.position.x, Float.parseFloat(positionY), this.position.z);
+        this.y = ScriptValues.parseFloat(positionY, 0, positionY.length());
     }
 
     /**
@@ -106,7 +116,7 @@ final class LightDefinition {
         if(positionZ == null) {
             throw new IllegalArgumentException("positionZ is mandatory");
         }
-        this.position = Point3D.valueOf(this.position.x, this.position.y, Float.parseFloat(positionZ));
+        this.z = ScriptValues.parseFloat(positionZ, 0, positionZ.length());
     }
 
     /**
@@ -156,8 +166,11 @@ final class LightDefinition {
         return type;
     }
 
+    /**
+     * @return The light position, built on each call from the coordinates set separately.
+     */
     public Point3D getPosition() {
-        return position;
+        return Point3D.valueOf(this.x, this.y, this.z);
     }
 
     public String getLightMaterial() {
@@ -0,0 +1,117 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import java.nio.file.Path;
+
+/**
+ * Progress event emitted during a resource loading, for a given script type.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class LoadingProgress {
+
+    /**
+     * Type of script concerned by this event.
+     */
+    private final ScriptType type;
+
+    /**
+     * Loading stage reached.
+     */
+    private final Stage stage;
+
+    /**
+     * Script file concerned by this event, or the scanned folder for the discovery stage.
+     */
+    private final Path file;
+
+    /**
+     * Number of files of this type having reached this stage.
+     */
+    private final int completed;
+
+    /**
+     * Number of files of this type discovered.
+     */
+    private final int total;
+
+    LoadingProgress(final ScriptType type, final Stage stage, final Path file, final int completed, final int total) {
+        super();
+        this.type = type;
+        this.stage = stage;
+        this.file = file;
+        this.completed = completed;
+        this.total = total;
+    }
+
+    public ScriptType getType() {
+        return type;
+    }
+
+    public Stage getStage() {
+        return stage;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return this.type + " " + this.stage + " " + this.completed + "/" + this.total + " " + this.file;
+    }
+
+    /**
+     * Steps of a script file loading.
+     *
+     * @author Grégory Van den Borre
+     */
+    public enum Stage {
+
+        /**
+         * The files of this type have been found in the resource path.
+         */
+        DISCOVERED,
+
+        /**
+         * A file has been parsed.
+         */
+        PARSED,
+
+        /**
+         * The definitions of a file have been applied to the engines.
+         */
+        APPLIED
+    }
+}
@@ -25,15 +25,19 @@
 
 package be.yildizgames.engine.client.parser;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Parse a file to retrieve material definitions.
  *
  * @author Grégory Van den Borre
  */
-@FunctionalInterface
 public interface MaterialParser {
 
     /**
@@ -43,4 +47,59 @@ public interface MaterialParser {
      * @return A list containing Extracted data.
      */
     List<SimpleMaterialDefinition> parse(Path file);
+
+    /**
+     * Parse a script content already in memory and extract data to get SimpleMaterialDefinition.
+     * The content is a compiled script for the binary parsers, the script text for the others.
+     *
+     * @param content Script content, from its position to its limit, the buffer position is not modified.
+     * @return A list containing Extracted data.
+     */
+    List<SimpleMaterialDefinition> parse(ByteBuffer content);
+
+    /**
+     * Parse a script read from a stream, a script shipped in a jar or coming from an asset store for example,
+     * without copying it to a file first. The stream is read until its end and is not closed.
+     * The content is read in memory and given to parse(ByteBuffer), for any implementation.
+     *
+     * @param in Stream providing the script content.
+     * @return A list containing Extracted data.
+     * @throws ParserException If the stream cannot be read.
+     */
+    default List<SimpleMaterialDefinition> parse(final InputStream in) {
+        return this.parse(ScriptBuffers.readAll(in));
+    }
+
+    /**
+     * Parse a script read from a channel, without copying it to a file first.
+     * The channel is read until its end and is not closed.
+     *
+     * @param channel Channel providing the script content.
+     * @return A list containing Extracted data.
+     * @throws ParserException If the channel cannot be read.
+     */
+    default List<SimpleMaterialDefinition> parse(final ReadableByteChannel channel) {
+        return this.parse(Channels.newInputStream(channel));
+    }
+
+    /**
+     * Parse a file and give each extracted SimpleMaterialDefinition to the consumer, as soon as it is complete for the parsers
+     * reading the file in a single pass, without building the list of all the definitions.
+     *
+     * @param file     File to parse.
+     * @param consumer Receive the extracted data, in the file order.
+     */
+    default void parse(final Path file, final Consumer<? super SimpleMaterialDefinition> consumer) {
+        this.parse(file).forEach(consumer);
+    }
+
+    /**
+     * Parse a script content already in memory and give each extracted SimpleMaterialDefinition to the consumer.
+     *
+     * @param content  Script content, from its position to its limit, the buffer position is not modified.
+     * @param consumer Receive the extracted data, in the script order.
+     */
+    default void parse(final ByteBuffer content, final Consumer<? super SimpleMaterialDefinition> consumer) {
+        this.parse(content).forEach(consumer);
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Material definitions expanded for each configured screen size, computed in a single pass once the material scripts
+ * are parsed, so a resolution switch uses the precomputed variant instead of parsing the scripts again.
+ * Only the file paths depend on the screen size, a definition whose paths have no screen size variable is shared by
+ * all the variants. Immutable.
+ *
+ * @author Grégory Van den Borre
+ */
+final class MaterialVariants {
+
+    /**
+     * Configured screen sizes.
+     */
+    private final List<ScreenSize> screens;
+
+    /**
+     * Definitions for each screen size, in the same order as the screens.
+     */
+    private final List<List<SimpleMaterialDefinition>> variants;
+
+    private MaterialVariants(final List<ScreenSize> screens, final List<List<SimpleMaterialDefinition>> variants) {
+        super();
+        this.screens = screens;
+        this.variants = variants;
+    }
+
+    /**
+     * Expand the definitions for every screen size.
+     *
+     * @param definitions Parsed definitions, their path templates are used whatever the screen they were parsed for.
+     * @param screens     Screen sizes to expand the definitions for.
+     * @return The variants.
+     */
+    static MaterialVariants expand(final List<SimpleMaterialDefinition> definitions, final List<ScreenSize> screens) {
+        final List<List<SimpleMaterialDefinition>> variants = new ArrayList<>(screens.size());
+        for (final ScreenSize screen : screens) {
+            final PathContext context = PathContext.of(screen);
+            final List<SimpleMaterialDefinition> variant = new ArrayList<>(definitions.size());
+            for (final SimpleMaterialDefinition def : definitions) {
+                variant.add(def.resolve(context));
+            }
+            variants.add(List.copyOf(variant));
+        }
+        return new MaterialVariants(List.copyOf(screens), List.copyOf(variants));
+    }
+
+    /**
+     * Retrieve the definitions for a screen size.
+     *
+     * @param screen Screen size.
+     * @return The definitions with the paths for that screen size.
+     * @throws IllegalArgumentException If the screen size is not one of the configured sizes.
+     */
+    List<SimpleMaterialDefinition> get(final ScreenSize screen) {
+        final int index = this.indexOf(screen);
+        if (index < 0) {
+            throw new IllegalArgumentException("No material variant for " + screen.width + "x" + screen.height);
+        }
+        return this.variants.get(index);
+    }
+
+    /**
+     * @param screen Screen size.
+     * @return True if the variants contain that screen size.
+     */
+    boolean contains(final ScreenSize screen) {
+        return this.indexOf(screen) >= 0;
+    }
+
+    private int indexOf(final ScreenSize screen) {
+        for (int i = 0; i < this.screens.size(); i++) {
+            final ScreenSize s = this.screens.get(i);
+            if (s.width == screen.width && s.height == screen.height) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
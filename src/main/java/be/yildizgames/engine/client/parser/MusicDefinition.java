@@ -22,12 +22,14 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE  SOFTWARE.
  */
-
 package be.yildizgames.engine.client.parser;
 
+import java.util.Objects;
+
 /**
  * Data definition to create a Music from an external resource(i.e parsing a
  * script file).
+ * Immutable, built with a Builder while parsing, it can be shared between threads and used as a key.
  *
  * @author Grégory Van den Borre
  */
@@ -36,20 +38,17 @@ public final class MusicDefinition {
     /**
      * Music name, must not be unique.
      */
-    private String name;
+    private final String name;
 
     /**
      * File to load to play the music.
      */
-    private String file;
+    private final String file;
 
-    /**
-     * Simple constructor, initialize with empty values.
-     */
-    MusicDefinition() {
+    private MusicDefinition(final Builder builder) {
         super();
-        this.name = "";
-        this.file = "";
+        this.name = builder.name;
+        this.file = builder.file;
     }
 
     public String getName() {
@@ -60,11 +59,47 @@ public final class MusicDefinition {
         return this.file;
     }
 
-    public void setName(String name) {
-        this.name = name;
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final MusicDefinition that = (MusicDefinition) o;
+        return Objects.equals(name, that.name) && Objects.equals(file, that.file);
     }
 
-    public void setFile(String file) {
-        this.file = file;
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, file);
+    }
+
+    /**
+     * Collect the music values while parsing, initialized with empty values.
+     */
+    static final class Builder {
+
+        private String name = "";
+
+        private String file = "";
+
+        Builder setName(final String name) {
+            this.name = name;
+            return this;
+        }
+
+        Builder setFile(final String file) {
+            this.file = file;
+            return this;
+        }
+
+        /**
+         * @return The definition with the values set so far.
+         */
+        MusicDefinition build() {
+            return new MusicDefinition(this);
+        }
     }
 }
@@ -25,15 +25,19 @@
 
 package be.yildizgames.engine.client.parser;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Parse a file to retrieve play list definitions.
  *
  * @author Grégory Van den Borre
  */
-@FunctionalInterface
 public interface MusicParser {
 
     /**
@@ -44,4 +48,58 @@ public interface MusicParser {
      */
     List<PlayListDefinition> parse(final Path file);
 
+    /**
+     * Parse a script content already in memory and extract data to get PlayListDefinition.
+     * The content is a compiled script for the binary parsers, the script text for the others.
+     *
+     * @param content Script content, from its position to its limit, the buffer position is not modified.
+     * @return A list containing Extracted data.
+     */
+    List<PlayListDefinition> parse(ByteBuffer content);
+
+    /**
+     * Parse a script read from a stream, a script shipped in a jar or coming from an asset store for example,
+     * without copying it to a file first. The stream is read until its end and is not closed.
+     * The content is read in memory and given to parse(ByteBuffer), for any implementation.
+     *
+     * @param in Stream providing the script content.
+     * @return A list containing Extracted data.
+     * @throws ParserException If the stream cannot be read.
+     */
+    default List<PlayListDefinition> parse(final InputStream in) {
+        return this.parse(ScriptBuffers.readAll(in));
+    }
+
+    /**
+     * Parse a script read from a channel, without copying it to a file first.
+     * The channel is read until its end and is not closed.
+     *
+     * @param channel Channel providing the script content.
+     * @return A list containing Extracted data.
+     * @throws ParserException If the channel cannot be read.
+     */
+    default List<PlayListDefinition> parse(final ReadableByteChannel channel) {
+        return this.parse(Channels.newInputStream(channel));
+    }
+
+    /**
+     * Parse a file and give each extracted PlayListDefinition to the consumer, as soon as it is complete for the parsers
+     * reading the file in a single pass, without building the list of all the definitions.
+     *
+     * @param file     File to parse.
+     * @param consumer Receive the extracted data, in the file order.
+     */
+    default void parse(final Path file, final Consumer<? super PlayListDefinition> consumer) {
+        this.parse(file).forEach(consumer);
+    }
+
+    /**
+     * Parse a script content already in memory and give each extracted PlayListDefinition to the consumer.
+     *
+     * @param content  Script content, from its position to its limit, the buffer position is not modified.
+     * @param consumer Receive the extracted data, in the script order.
+     */
+    default void parse(final ByteBuffer content, final Consumer<? super PlayListDefinition> consumer) {
+        this.parse(content).forEach(consumer);
+    }
 }
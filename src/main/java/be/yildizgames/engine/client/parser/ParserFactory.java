@@ -54,10 +54,17 @@ public final class ParserFactory {
      * @return A new MusicParser.
      */
     public MusicParser createMusicParser() {
-        if (this.parserType == ParserType.XML) {
-            return new XmlMusicParser();
+        switch (this.parserType) {
+            case XML:
+            case XML_STREAM:
+                return new XmlMusicParser();
+            case XML_FAST:
+                return new XmlMusicParser(true);
+            case BINARY:
+                return BinaryDefinitionFile.musicParser(file -> BinaryDefinitionFile.read(file, ScriptType.PLAYLIST, null));
+            default:
+                throw new InvalidParameterException(UNKNOWN_TYPE);
         }
-        throw new InvalidParameterException(UNKNOWN_TYPE);
     }
 
     /**
@@ -67,10 +74,18 @@ public final class ParserFactory {
      * @return A new MaterialParser.
      */
     public MaterialParser createMaterialParser(final ScreenSize screen) {
-        if (this.parserType == ParserType.XML) {
-            return new XmlMaterialParser(screen);
+        switch (this.parserType) {
+            case XML:
+                return new XmlMaterialParser(screen);
+            case XML_STREAM:
+                return new StaxMaterialParser(screen);
+            case XML_FAST:
+                return new XmlMaterialParser(screen, true);
+            case BINARY:
+                return BinaryDefinitionFile.materialParser(screen, file -> BinaryDefinitionFile.read(file, ScriptType.MATERIAL, screen));
+            default:
+                throw new InvalidParameterException(UNKNOWN_TYPE);
         }
-        throw new InvalidParameterException(UNKNOWN_TYPE);
     }
 
     /**
@@ -79,10 +94,17 @@ public final class ParserFactory {
      * @return A new FontParser.
      */
     public FontParser createFontParser() {
-        if (this.parserType == ParserType.XML) {
-            return new XmlFontParser();
+        switch (this.parserType) {
+            case XML:
+            case XML_STREAM:
+                return new XmlFontParser();
+            case XML_FAST:
+                return new XmlFontParser(true);
+            case BINARY:
+                return BinaryDefinitionFile.fontParser(file -> BinaryDefinitionFile.read(file, ScriptType.FONT, null));
+            default:
+                throw new InvalidParameterException(UNKNOWN_TYPE);
         }
-        throw new InvalidParameterException(UNKNOWN_TYPE);
     }
 
     /**
@@ -92,10 +114,39 @@ public final class ParserFactory {
      * @return A new GuiParser.
      */
     public GuiParser createGuiParser(final ScreenSize screen) {
-        if (this.parserType == ParserType.XML) {
-            return new XmlGuiParser(screen);
+        return this.createGuiParser(screen, new LayoutScope());
+    }
+
+    /**
+     * Create a GUI parser resolving the relative positions in a given scope.
+     *
+     * @param screen Screen size data.
+     * @param scope  Scope to resolve the relative positions in, shared by all the views of a load.
+     * @return A new GuiParser.
+     */
+    GuiParser createGuiParser(final ScreenSize screen, final LayoutScope scope) {
+        switch (this.parserType) {
+            case XML:
+                return new XmlGuiParser(screen, false, scope);
+            case XML_STREAM:
+                return new StaxGuiParser(screen, scope);
+            case XML_FAST:
+                return new XmlGuiParser(screen, true, scope);
+            case BINARY:
+                return BinaryDefinitionFile.guiParser(screen, scope, file -> BinaryDefinitionFile.read(file, ScriptType.VIEW, screen));
+            default:
+                throw new InvalidParameterException(UNKNOWN_TYPE);
         }
-        throw new InvalidParameterException(UNKNOWN_TYPE);
+    }
+
+    /**
+     * Check if the scripts are worth reading in pooled buffers before parsing them, compiled scripts are mapped
+     * in memory by their parser instead.
+     *
+     * @return True if the scripts should be read in pooled buffers.
+     */
+    boolean readsBuffers() {
+        return this.parserType != ParserType.BINARY;
     }
 
     /**
@@ -108,7 +159,24 @@ public final class ParserFactory {
         /**
          * File to parse are in XML.
          */
-        XML
+        XML,
+
+        /**
+         * File to parse are in XML, read in a single forward pass without building a document when supported.
+         */
+        XML_STREAM,
+
+        /**
+         * File to parse are in XML, read with a tokenizer dedicated to the script XML subset, the scripts outside of
+         * that subset are read with the JDK parser.
+         */
+        XML_FAST,
+
+        /**
+         * File to parse are compiled scripts, memory mapped and decoded without XML parsing.
+         * The compiled scripts are written by the ResourceCompiler with the --scripts option.
+         */
+        BINARY
     }
 
 }
@@ -0,0 +1,112 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+
+/**
+ * Values of the variables available in the material file paths, rendered by a PathTemplate.
+ * The values are converted to text once when the context is created, a context is immutable and meant to be created
+ * once per parser and reused for every path.
+ *
+ * @author Grégory Van den Borre
+ */
+final class PathContext {
+
+    /**
+     * Value of each variable by ordinal, null if not set.
+     */
+    private final String[] values;
+
+    private PathContext(final String[] values) {
+        super();
+        this.values = values;
+    }
+
+    /**
+     * Create a context with the screen size variables.
+     *
+     * @param screen Screen size.
+     * @return The context.
+     */
+    static PathContext of(final ScreenSize screen) {
+        final String[] values = new String[Variable.VALUES.length];
+        values[Variable.SCREEN_WIDTH.ordinal()] = String.valueOf(screen.width);
+        values[Variable.SCREEN_HEIGHT.ordinal()] = String.valueOf(screen.height);
+        return new PathContext(values);
+    }
+
+    /**
+     * @param variable Variable to get.
+     * @return The variable value, null if not set.
+     */
+    String get(final Variable variable) {
+        return this.values[variable.ordinal()];
+    }
+
+    /**
+     * Variables usable in a path, written $ followed by the variable name.
+     */
+    enum Variable {
+
+        /**
+         * Screen width in pixels.
+         */
+        SCREEN_WIDTH("screenWidth"),
+
+        /**
+         * Screen height in pixels.
+         */
+        SCREEN_HEIGHT("screenHeight");
+
+        private static final Variable[] VALUES = Variable.values();
+
+        /**
+         * Name as written in the path, without the $.
+         */
+        final String key;
+
+        Variable(final String key) {
+            this.key = key;
+        }
+
+        /**
+         * Find the variable whose name starts at a position, the longest name wins.
+         *
+         * @param path  Path to check.
+         * @param start Index of the first character after the $.
+         * @return The variable, null if none.
+         */
+        static Variable at(final String path, final int start) {
+            Variable found = null;
+            for (final Variable v : VALUES) {
+                if (path.startsWith(v.key, start) && (found == null || v.key.length() > found.key.length())) {
+                    found = v;
+                }
+            }
+            return found;
+        }
+    }
+}
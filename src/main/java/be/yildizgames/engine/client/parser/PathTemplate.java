@@ -0,0 +1,160 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Material file path with variables, as bg_$screenWidthx$screenHeight.png, split once into literal and variable
+ * segments and rendered against a PathContext into a single buffer sized for the result.
+ * A $ not followed by a known variable name is kept as is, as is a variable without value in the context.
+ * Compiled templates are immutable, the patterns using variables are cached, the scripts use few distinct ones; the
+ * cache is bounded so reloading scripts with new patterns cannot make it grow for the application lifetime.
+ *
+ * @author Grégory Van den Borre
+ */
+final class PathTemplate {
+
+    /**
+     * Maximum number of cached templates, the cache is emptied when it is full.
+     */
+    static final int CACHE_SIZE = 256;
+
+    /**
+     * Compiled templates by pattern, only for the patterns using variables.
+     */
+    private static final Map<String, PathTemplate> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Pattern as written in the script.
+     */
+    private final String pattern;
+
+    /**
+     * Literal parts, literals[i] is written before variables[i], the last literal after the last variable.
+     */
+    private final String[] literals;
+
+    /**
+     * Variable parts.
+     */
+    private final PathContext.Variable[] variables;
+
+    /**
+     * Total length of the literal parts.
+     */
+    private final int literalLength;
+
+    private PathTemplate(final String pattern, final List<String> literals, final List<PathContext.Variable> variables) {
+        super();
+        this.pattern = pattern;
+        this.literals = literals.toArray(new String[0]);
+        this.variables = variables.toArray(new PathContext.Variable[0]);
+        int length = 0;
+        for (final String literal : this.literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Retrieve the compiled template for a pattern, compiled on first use.
+     * A pattern without variable is not cached, its template only wraps the pattern.
+     *
+     * @param pattern Path as written in the script.
+     * @return The compiled template.
+     */
+    static PathTemplate compile(final String pattern) {
+        if (pattern.indexOf('$') < 0) {
+            return new PathTemplate(pattern, List.of(pattern), List.of());
+        }
+        final PathTemplate cached = CACHE.get(pattern);
+        if (cached != null) {
+            return cached;
+        }
+        if (CACHE.size() >= CACHE_SIZE) {
+            CACHE.clear();
+        }
+        return CACHE.computeIfAbsent(pattern, PathTemplate::parse);
+    }
+
+    /**
+     * @return The number of cached templates.
+     */
+    static int cacheSize() {
+        return CACHE.size();
+    }
+
+    private static PathTemplate parse(final String pattern) {
+        final List<String> literals = new ArrayList<>();
+        final List<PathContext.Variable> variables = new ArrayList<>();
+        int literalStart = 0;
+        int i = pattern.indexOf('$');
+        while (i >= 0) {
+            final PathContext.Variable variable = PathContext.Variable.at(pattern, i + 1);
+            if (variable == null) {
+                i = pattern.indexOf('$', i + 1);
+            } else {
+                literals.add(pattern.substring(literalStart, i));
+                variables.add(variable);
+                literalStart = i + 1 + variable.key.length();
+                i = pattern.indexOf('$', literalStart);
+            }
+        }
+        literals.add(pattern.substring(literalStart));
+        return new PathTemplate(pattern, literals, variables);
+    }
+
+    /**
+     * Render the path.
+     *
+     * @param context Variable values.
+     * @return The path with the variables replaced by their value.
+     */
+    String render(final PathContext context) {
+        if (this.variables.length == 0) {
+            return this.pattern;
+        }
+        int length = this.literalLength;
+        for (final PathContext.Variable variable : this.variables) {
+            final String value = context.get(variable);
+            length += value == null ? variable.key.length() + 1 : value.length();
+        }
+        final StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < this.variables.length; i++) {
+            sb.append(this.literals[i]);
+            final String value = context.get(this.variables[i]);
+            if (value == null) {
+                sb.append('$').append(this.variables[i].key);
+            } else {
+                sb.append(value);
+            }
+        }
+        return sb.append(this.literals[this.variables.length]).toString();
+    }
+}
@@ -22,43 +22,34 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE  SOFTWARE.
  */
-
 package be.yildizgames.engine.client.parser;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Data definition to create a Music PlayList from an external resource(i.e
  * parsing a script file).
+ * Immutable, built with a Builder while parsing, it can be shared between threads and used as a key.
  *
  * @author Grégory Van den Borre
  */
 public final class PlayListDefinition {
 
     /**
-     * PlayList music list.
+     * PlayList music list, unmodifiable.
      */
-    private final List<MusicDefinition> musicList = new ArrayList<>();
+    private final List<MusicDefinition> musicList;
     /**
      * PlayList name, must be unique.
      */
-    private String name = "";
+    private final String name;
 
-    /**
-     * Simple constructor, initialize with empty values.
-     */
-    PlayListDefinition() {
+    private PlayListDefinition(final Builder builder) {
         super();
-    }
-
-    /**
-     * Add a music to the play list.
-     *
-     * @param musicDef Definition of the music to add.
-     */
-    void addMusic(final MusicDefinition musicDef) {
-        this.musicList.add(musicDef);
+        this.musicList = List.copyOf(builder.musicList);
+        this.name = builder.name;
     }
 
     public List<MusicDefinition> getMusicList() {
@@ -69,8 +60,53 @@ public final class PlayListDefinition {
         return name;
     }
 
-    public void setName(String name) {
-        this.name = name;
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final PlayListDefinition that = (PlayListDefinition) o;
+        return musicList.equals(that.musicList) && Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(musicList, name);
     }
 
+    /**
+     * Collect the play list values while parsing, initialized with empty values.
+     */
+    static final class Builder {
+
+        private final List<MusicDefinition> musicList = new ArrayList<>();
+
+        private String name = "";
+
+        /**
+         * Add a music to the play list.
+         *
+         * @param musicDef Definition of the music to add.
+         * @return This builder.
+         */
+        Builder addMusic(final MusicDefinition musicDef) {
+            this.musicList.add(musicDef);
+            return this;
+        }
+
+        Builder setName(final String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * @return The definition with the values set so far.
+         */
+        PlayListDefinition build() {
+            return new PlayListDefinition(this);
+        }
+    }
 }
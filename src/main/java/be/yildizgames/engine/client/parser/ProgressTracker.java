@@ -0,0 +1,93 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Count the files reaching each loading stage and notify the listener.
+ * Thread safe, the counters are updated and the listener notified under a lock, so the completed counts of a stage
+ * reach the listener in increasing order whatever the thread reporting them.
+ *
+ * @author Grégory Van den Borre
+ */
+final class ProgressTracker {
+
+    /**
+     * Listener to notify.
+     */
+    private final LoadingListener listener;
+
+    /**
+     * Total, parsed and applied file count, per type.
+     */
+    private final Map<ScriptType, int[]> counts = new EnumMap<>(ScriptType.class);
+
+    ProgressTracker(final LoadingListener listener) {
+        super();
+        this.listener = listener;
+        for (final ScriptType type : ScriptType.values()) {
+            this.counts.put(type, new int[3]);
+        }
+    }
+
+    /**
+     * Notify the number of files found for each type.
+     *
+     * @param index  Scanned files.
+     * @param folder Scanned folder.
+     */
+    synchronized void discovered(final ResourceIndex index, final Path folder) {
+        for (final ScriptType type : ScriptType.values()) {
+            final int total = index.getFiles(type).size();
+            this.counts.get(type)[0] = total;
+            this.listener.progress(new LoadingProgress(type, LoadingProgress.Stage.DISCOVERED, folder, total, total));
+        }
+    }
+
+    /**
+     * @param type Type of the parsed file.
+     * @param file Parsed file.
+     */
+    void parsed(final ScriptType type, final Path file) {
+        this.notify(type, LoadingProgress.Stage.PARSED, file, 1);
+    }
+
+    /**
+     * @param type Type of the applied file.
+     * @param file File whose definitions have been applied.
+     */
+    void applied(final ScriptType type, final Path file) {
+        this.notify(type, LoadingProgress.Stage.APPLIED, file, 2);
+    }
+
+    private synchronized void notify(final ScriptType type, final LoadingProgress.Stage stage, final Path file, final int slot) {
+        final int[] values = this.counts.get(type);
+        values[slot]++;
+        this.listener.progress(new LoadingProgress(type, stage, file, values[slot], values[0]));
+    }
+}
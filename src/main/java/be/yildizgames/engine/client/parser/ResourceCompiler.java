@@ -0,0 +1,241 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Offline compiler parsing all the scripts of a resource tree to validate them and bundle their definitions in a
+ * single pack file, loaded by FileParser in place of the resource folder.
+ * With the --scripts option, each script is instead compiled in its own file in a target folder, with the same
+ * relative path, to be loaded as a resource folder with the BINARY parser type.
+ * Usage: ResourceCompiler [--scripts] resourceRoot target [screenWidth screenHeight]
+ * The screen size is only used to validate the layout values, the definitions are stored independently of it.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class ResourceCompiler {
+
+    private static final System.Logger LOGGER = System.getLogger(ResourceCompiler.class.getName());
+
+    /**
+     * Parsers for the scripts to compile.
+     */
+    private final ParserFactory factory = new ParserFactory(ParserFactory.ParserType.XML);
+
+    /**
+     * Screen size used to validate the layout values.
+     */
+    private final ScreenSize screen;
+
+    /**
+     * Create a new compiler.
+     *
+     * @param screen Screen size used to validate the layout values.
+     */
+    public ResourceCompiler(final ScreenSize screen) {
+        super();
+        this.screen = screen;
+    }
+
+    public static void main(final String[] args) {
+        final boolean scripts = args.length > 0 && "--scripts".equals(args[0]);
+        final int first = scripts ? 1 : 0;
+        final int count = args.length - first;
+        if (count != 2 && count != 4) {
+            ResourceCompiler.usage();
+        }
+        ScreenSize screen = new ScreenSize(1920, 1080);
+        if (count == 4) {
+            try {
+                screen = new ScreenSize(Integer.parseInt(args[first + 2]), Integer.parseInt(args[first + 3]));
+            } catch (final NumberFormatException e) {
+                ResourceCompiler.usage();
+            }
+        }
+        try {
+            final ResourceCompiler compiler = new ResourceCompiler(screen);
+            final Path root = Path.of(args[first]);
+            final Path target = Path.of(args[first + 1]);
+            final int compiled = scripts ? compiler.compileScripts(root, target) : compiler.compile(root, target);
+            System.out.println(compiled + " scripts compiled in " + target);
+        } catch (final IOException | ParserException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static void usage() {
+        System.err.println("Usage: ResourceCompiler [--scripts] resourceRoot target [screenWidth screenHeight]");
+        System.exit(2);
+    }
+
+    /**
+     * Parse all scripts in a resource tree and write their definitions in a pack file.
+     * Every script is parsed before reporting the errors, the pack is not written if any script is invalid.
+     * The views of all the scripts share a layout scope, a relative position can refer to a widget of an other script
+     * but not to a widget defined nowhere in the tree.
+     * Materials and fonts used by the views but not defined in the tree are logged as warnings, they can come from
+     * an other resource path.
+     *
+     * @param root Resource root folder.
+     * @param pack Pack file to write.
+     * @return The number of compiled scripts.
+     * @throws IOException If the resource tree cannot be read or the pack cannot be written.
+     * @throws ParserException If at least one script is invalid, the message lists the errors.
+     */
+    public int compile(final Path root, final Path pack) throws IOException {
+        final List<ResourcePack.Script> scripts = new ArrayList<>();
+        for (final Compiled script : this.parseAll(root)) {
+            scripts.add(new ResourcePack.Script(script.type, ResourcePack.name(root, script.file), script.definitions));
+        }
+        ResourcePack.write(pack, scripts);
+        return scripts.size();
+    }
+
+    /**
+     * Parse all scripts in a resource tree and write each of them as a compiled script, read by the BINARY parser type.
+     * The compiled scripts keep the path of their source relative to the resource root, in the target folder.
+     * The scripts are validated as for a pack, no file is written if any script is invalid.
+     *
+     * @param root   Resource root folder.
+     * @param target Folder to write the compiled scripts in.
+     * @return The number of compiled scripts.
+     * @throws IOException If the resource tree cannot be read or a compiled script cannot be written.
+     * @throws ParserException If at least one script is invalid, the message lists the errors.
+     */
+    public int compileScripts(final Path root, final Path target) throws IOException {
+        final List<Compiled> scripts = this.parseAll(root);
+        for (final Compiled script : scripts) {
+            final Path file = target.resolve(ResourcePack.name(root, script.file));
+            Files.createDirectories(file.getParent());
+            BinaryDefinitionFile.write(file, script.type, script.definitions);
+        }
+        return scripts.size();
+    }
+
+    /**
+     * Parse and validate all scripts in a resource tree.
+     *
+     * @param root Resource root folder.
+     * @return The parsed scripts.
+     * @throws IOException If the resource tree cannot be read.
+     * @throws ParserException If at least one script is invalid, the message lists the errors.
+     */
+    private List<Compiled> parseAll(final Path root) throws IOException {
+        final ResourceIndex index = ResourceIndex.scan(root);
+        final LayoutScope scope = new LayoutScope();
+        final List<Compiled> scripts = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
+        final Set<String> materials = new HashSet<>();
+        final Set<String> fonts = new HashSet<>();
+        final Set<String> usedMaterials = new HashSet<>();
+        final Set<String> usedFonts = new HashSet<>();
+        for (final ScriptType type : ScriptType.values()) {
+            for (final Path file : index.getFiles(type)) {
+                try {
+                    final List<?> definitions = this.parse(type, file, scope);
+                    for (final Object def : definitions) {
+                        if (def instanceof SimpleMaterialDefinition) {
+                            materials.add(((SimpleMaterialDefinition) def).getName());
+                        } else if (def instanceof FontDefinition) {
+                            fonts.add(((FontDefinition) def).getName());
+                        } else if (def instanceof ContainerDefinition) {
+                            ViewScheduler.collectDependencies((ContainerDefinition) def, usedMaterials, usedFonts);
+                        }
+                    }
+                    scripts.add(new Compiled(type, file, definitions));
+                } catch (final ParserException | IllegalArgumentException e) {
+                    errors.add(file + ": " + e.getMessage());
+                }
+            }
+        }
+        try {
+            scope.complete();
+        } catch (final ParserException e) {
+            errors.add(root + ": " + e.getMessage());
+        }
+        if (!errors.isEmpty()) {
+            throw new ParserException(errors.size() + " errors:" + System.lineSeparator()
+                    + String.join(System.lineSeparator(), errors));
+        }
+        usedMaterials.removeAll(materials);
+        usedFonts.removeAll(fonts);
+        usedMaterials.forEach(m -> LOGGER.log(System.Logger.Level.WARNING, "Material {0} is not defined in {1}", m, root));
+        usedFonts.forEach(f -> LOGGER.log(System.Logger.Level.WARNING, "Font {0} is not defined in {1}", f, root));
+        return scripts;
+    }
+
+    private List<?> parse(final ScriptType type, final Path file, final LayoutScope scope) {
+        switch (type) {
+            case MATERIAL:
+                return this.factory.createMaterialParser(this.screen).parse(file);
+            case PLAYLIST:
+                return this.factory.createMusicParser().parse(file);
+            case FONT:
+                return this.factory.createFontParser().parse(file);
+            case VIEW:
+                return this.factory.createGuiParser(this.screen, scope).parse(file);
+            default:
+                throw new IllegalArgumentException(ParserFactory.UNKNOWN_TYPE);
+        }
+    }
+
+    /**
+     * Parsed script, written once every script of the tree is valid.
+     */
+    private static final class Compiled {
+
+        /**
+         * Script type.
+         */
+        private final ScriptType type;
+
+        /**
+         * Script file.
+         */
+        private final Path file;
+
+        /**
+         * Definitions of the script.
+         */
+        private final List<?> definitions;
+
+        private Compiled(final ScriptType type, final Path file, final List<?> definitions) {
+            super();
+            this.type = type;
+            this.file = file;
+            this.definitions = definitions;
+        }
+    }
+}
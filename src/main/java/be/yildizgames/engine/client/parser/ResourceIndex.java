@@ -0,0 +1,116 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Script files found in a resource path, grouped by type.
+ * The folder is traversed only once, the files keep the traversal order in each group.
+ *
+ * @author Grégory Van den Borre
+ */
+final class ResourceIndex {
+
+    /**
+     * Script files per type.
+     */
+    private final Map<ScriptType, List<Path>> files = new EnumMap<>(ScriptType.class);
+
+    /**
+     * Number of directory entries visited during the scan.
+     */
+    private long visitedEntries;
+
+    private ResourceIndex() {
+        super();
+        for (final ScriptType type : ScriptType.values()) {
+            this.files.put(type, new ArrayList<>());
+        }
+    }
+
+    /**
+     * Walk a folder and its sub folders to index all the script files.
+     *
+     * @param folder Root folder to scan.
+     * @return The index of the script files found in the folder.
+     * @throws IOException If the folder cannot be read.
+     */
+    static ResourceIndex scan(final Path folder) throws IOException {
+        final ResourceIndex index = new ResourceIndex();
+        try (Stream<Path> entries = Files.walk(folder)) {
+            entries.forEach(index::add);
+        }
+        return index;
+    }
+
+    /**
+     * Index a list of script files, the files not matching a script type are ignored.
+     *
+     * @param entries Files to index.
+     * @return The index of the script files.
+     */
+    static ResourceIndex of(final List<Path> entries) {
+        final ResourceIndex index = new ResourceIndex();
+        entries.forEach(index::add);
+        return index;
+    }
+
+    /**
+     * Register an entry found during the scan.
+     *
+     * @param entry Visited entry.
+     */
+    private void add(final Path entry) {
+        this.visitedEntries++;
+        final ScriptType type = ScriptType.fromPath(entry);
+        if (type != null) {
+            this.files.get(type).add(entry);
+        }
+    }
+
+    /**
+     * @param type Type of script to retrieve.
+     * @return The script files of that type, in traversal order.
+     */
+    List<Path> getFiles(final ScriptType type) {
+        return Collections.unmodifiableList(this.files.get(type));
+    }
+
+    /**
+     * @return The number of directory entries visited during the scan, folders included.
+     */
+    long getVisitedEntries() {
+        return this.visitedEntries;
+    }
+}
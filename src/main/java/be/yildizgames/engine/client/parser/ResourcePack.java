@@ -0,0 +1,278 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single file containing the compiled scripts of a whole resource tree, to load them without opening one file
+ * per script.
+ * The pack starts with the YPAK magic number, the pack and encoding versions and an index giving for each script
+ * its type, its path relative to the resource root, and the position of its definitions. The definitions of all
+ * scripts follow the index, encoded with the DefinitionCodec.
+ * The pack is memory mapped when opened, the definitions are decoded from the mapped buffer when requested.
+ *
+ * @author Grégory Van den Borre
+ */
+final class ResourcePack {
+
+    /**
+     * First bytes of a pack file: YPAK.
+     */
+    private static final int MAGIC = 0x5950414B;
+
+    /**
+     * Pack format version, to increase when the format changes, the definition encoding version is stored as well.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Extension of the pack files.
+     */
+    static final String EXTENSION = ".pack";
+
+    /**
+     * Pack file.
+     */
+    private final Path file;
+
+    /**
+     * Pack content.
+     */
+    private final ByteBuffer content;
+
+    /**
+     * Script paths, resolved against the pack file, in the order they were written.
+     */
+    private final List<Path> scripts = new ArrayList<>();
+
+    /**
+     * Entries by script path relative to the resource root.
+     */
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private ResourcePack(final Path file, final ByteBuffer content) {
+        super();
+        this.file = file;
+        this.content = content;
+    }
+
+    /**
+     * Write a pack file.
+     *
+     * @param target  File to write.
+     * @param scripts Scripts to write, in loading order.
+     * @throws IOException If the file cannot be written.
+     */
+    static void write(final Path target, final List<Script> scripts) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(DefinitionCodec.VERSION);
+            out.writeInt(scripts.size());
+            long offset = 0;
+            for (final Script script : scripts) {
+                out.writeByte(script.type.ordinal());
+                DefinitionCodec.writeString(out, script.name);
+                out.writeLong(offset);
+                out.writeInt(script.payload.length);
+                offset += script.payload.length;
+            }
+            for (final Script script : scripts) {
+                out.write(script.payload);
+            }
+        }
+    }
+
+    /**
+     * Open a pack file and read its index.
+     *
+     * @param file Pack file.
+     * @return The opened pack.
+     * @throws IOException If the file cannot be read.
+     * @throws ParserException If the file is not a valid pack.
+     */
+    static ResourcePack open(final Path file) throws IOException {
+        final ResourcePack pack = new ResourcePack(file, BinaryDefinitionFile.map(file));
+        try {
+            pack.readIndex();
+        } catch (final BufferUnderflowException | IllegalArgumentException e) {
+            throw new ParserException("Corrupted resource pack " + file, e);
+        }
+        return pack;
+    }
+
+    /**
+     * @param file File to check.
+     * @return True if the file is a pack file.
+     */
+    static boolean isPack(final Path file) {
+        return Files.isRegularFile(file) && file.toString().endsWith(EXTENSION);
+    }
+
+    private void readIndex() {
+        final ByteBuffer in = this.content.duplicate();
+        if (in.getInt() != MAGIC) {
+            throw new ParserException(this.file + " is not a resource pack.");
+        }
+        if (in.getInt() != VERSION || in.getInt() != DefinitionCodec.VERSION) {
+            throw new ParserException("Unsupported resource pack version: " + this.file);
+        }
+        final int count = in.getInt();
+        if (count < 0 || count > in.remaining()) {
+            throw new ParserException("Corrupted resource pack " + this.file + ": invalid script count " + count);
+        }
+        final ScriptType[] types = ScriptType.values();
+        final List<String> names = new ArrayList<>(count);
+        final List<Entry> read = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int ordinal = in.get();
+            if (ordinal < 0 || ordinal >= types.length) {
+                throw new ParserException("Corrupted resource pack " + this.file + ": unknown script type " + ordinal);
+            }
+            final String name = DefinitionCodec.readString(in);
+            if (name == null) {
+                throw new ParserException("Corrupted resource pack " + this.file + ": script without name.");
+            }
+            read.add(new Entry(types[ordinal], in.getLong(), in.getInt()));
+            names.add(name);
+        }
+        final int base = in.position();
+        for (int i = 0; i < count; i++) {
+            final Entry entry = read.get(i);
+            if (entry.offset < 0 || entry.length < 0 || entry.offset > this.content.limit() - base
+                    || base + entry.offset + entry.length > this.content.limit()) {
+                throw new ParserException("Corrupted resource pack " + this.file + ": " + names.get(i) + " is out of the file.");
+            }
+            final long start = base + entry.offset;
+            entry.offset = start;
+            this.entries.put(names.get(i), entry);
+            this.scripts.add(this.file.resolve(names.get(i)));
+        }
+    }
+
+    /**
+     * @return The paths of the scripts in this pack, resolved against the pack file.
+     */
+    List<Path> getScripts() {
+        return Collections.unmodifiableList(this.scripts);
+    }
+
+    /**
+     * Decode the definitions of a script, can be called concurrently.
+     *
+     * @param type   Script type.
+     * @param script Script path, as returned by getScripts.
+     * @param screen Screen size to compute the screen dependent values.
+     * @param <T>    Definition type matching the script type.
+     * @return The definitions of that script.
+     * @throws ParserException If the script is not in this pack or its data are corrupted.
+     */
+    <T> List<T> read(final ScriptType type, final Path script, final ScreenSize screen) {
+        final Entry entry = this.entries.get(ResourcePack.name(this.file, script));
+        if (entry == null || entry.type != type) {
+            throw new ParserException(script + " is not in the resource pack.");
+        }
+        return DefinitionCodec.decode(type, this.content.slice((int) entry.offset, entry.length), screen);
+    }
+
+    /**
+     * Build the name of a script in a pack, its path relative to the root with '/' as separator.
+     *
+     * @param root   Resource root.
+     * @param script Script file.
+     * @return The name of the script.
+     */
+    static String name(final Path root, final Path script) {
+        return root.relativize(script).toString().replace(script.getFileSystem().getSeparator(), "/");
+    }
+
+    /**
+     * Compiled script to write in a pack.
+     */
+    static final class Script {
+
+        /**
+         * Script type.
+         */
+        private final ScriptType type;
+
+        /**
+         * Script path relative to the resource root.
+         */
+        private final String name;
+
+        /**
+         * Encoded definitions.
+         */
+        private final byte[] payload;
+
+        /**
+         * Create a script to pack.
+         *
+         * @param type        Script type.
+         * @param name        Script path relative to the resource root, with '/' as separator.
+         * @param definitions Definitions of the script.
+         */
+        Script(final ScriptType type, final String name, final List<?> definitions) {
+            super();
+            this.type = type;
+            this.name = name;
+            this.payload = DefinitionCodec.encode(type, definitions);
+        }
+    }
+
+    /**
+     * Position of a script in the pack.
+     */
+    private static final class Entry {
+
+        private final ScriptType type;
+
+        private long offset;
+
+        private final int length;
+
+        private Entry(final ScriptType type, final long offset, final int length) {
+            super();
+            this.type = type;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Location of the scripts of a resource path: a folder, a pack file built by the ResourceCompiler, or a zip or jar
+ * archive read through the zip file system provider without being extracted. The resource path can also be a
+ * folder of the class path, inside a jar or not.
+ * An archive stays open until the source is closed.
+ *
+ * @author Grégory Van den Borre
+ */
+final class ResourceSource implements AutoCloseable {
+
+    private static final System.Logger LOGGER = System.getLogger(ResourceSource.class.getName());
+
+    /**
+     * URI scheme of the class path resources inside a jar.
+     */
+    private static final String JAR = "jar";
+
+    /**
+     * Resource path as provided.
+     */
+    private final Path path;
+
+    /**
+     * Folder containing the scripts, the archive root for an archive, null for a pack.
+     */
+    private final Path root;
+
+    /**
+     * Pack containing the scripts, null if not a pack.
+     */
+    private final ResourcePack pack;
+
+    /**
+     * Archive opened by this source, null if not an archive or if the archive was already opened by the application.
+     */
+    private final FileSystem archive;
+
+    /**
+     * True if the resource path comes from the class path, it is then never watched and never gets a manifest.
+     */
+    private final boolean classpath;
+
+    private ResourceSource(final Path path, final Path root, final ResourcePack pack, final FileSystem archive, final boolean classpath) {
+        super();
+        this.path = path;
+        this.root = root;
+        this.pack = pack;
+        this.archive = archive;
+        this.classpath = classpath;
+    }
+
+    /**
+     * @param path Resource path to check.
+     * @return True if the path is a folder, a pack file or an archive.
+     */
+    static boolean isSupported(final Path path) {
+        return Files.isDirectory(path) || ResourcePack.isPack(path) || ResourceSource.isArchive(path);
+    }
+
+    /**
+     * Open a resource path.
+     *
+     * @param path Folder, pack file or archive.
+     * @return The opened source, to close once loaded.
+     * @throws IOException If the pack or archive cannot be opened.
+     */
+    static ResourceSource open(final Path path) throws IOException {
+        return ResourceSource.open(path, false);
+    }
+
+    private static ResourceSource open(final Path path, final boolean classpath) throws IOException {
+        if (ResourcePack.isPack(path)) {
+            return new ResourceSource(path, null, ResourcePack.open(path), null, classpath);
+        }
+        if (ResourceSource.isArchive(path)) {
+            final FileSystem archive = FileSystems.newFileSystem(path, (ClassLoader) null);
+            return new ResourceSource(path, archive.getRootDirectories().iterator().next(), null, archive, classpath);
+        }
+        return new ResourceSource(path, path, null, null, classpath);
+    }
+
+    /**
+     * Open a resource path from the class path, a folder on disk or a folder inside a jar, the jar scripts are
+     * read directly from the jar.
+     *
+     * @param loader Class loader to find the resource path.
+     * @param name   Resource name of the folder or pack file, as for ClassLoader.getResource.
+     * @return The opened source, to close once loaded.
+     * @throws IOException If the jar cannot be opened.
+     * @throws IllegalArgumentException If the resource does not exist or is not a folder, pack file or archive.
+     */
+    static ResourceSource open(final ClassLoader loader, final String name) throws IOException {
+        final URL url = loader.getResource(name);
+        if (url == null) {
+            throw new IllegalArgumentException(name + " is not a valid classpath resource path.");
+        }
+        final URI uri;
+        try {
+            uri = url.toURI();
+        } catch (final URISyntaxException e) {
+            throw new IllegalArgumentException(name + " is not a valid classpath resource path.", e);
+        }
+        if (!JAR.equals(uri.getScheme())) {
+            final Path path = Path.of(uri);
+            if (!ResourceSource.isSupported(path)) {
+                throw new IllegalArgumentException(name + " is not a valid classpath resource path.");
+            }
+            return ResourceSource.open(path, true);
+        }
+        // the jar may already be opened by the application, it is then used as is and left open.
+        FileSystem archive;
+        try {
+            archive = FileSystems.newFileSystem(uri, Map.of());
+        } catch (final FileSystemAlreadyExistsException e) {
+            archive = null;
+        }
+        try {
+            final Path path = Path.of(uri);
+            if (ResourcePack.isPack(path)) {
+                return new ResourceSource(path, null, ResourcePack.open(path), archive, true);
+            }
+            if (!Files.isDirectory(path)) {
+                throw new IllegalArgumentException(name + " is not a valid classpath resource path.");
+            }
+            return new ResourceSource(path, path, null, archive, true);
+        } catch (final IOException | RuntimeException e) {
+            if (archive != null) {
+                archive.close();
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isArchive(final Path path) {
+        final String name = path.toString();
+        return Files.isRegularFile(path) && (name.endsWith(".zip") || name.endsWith(".jar"));
+    }
+
+    /**
+     * List the scripts of this source.
+     *
+     * @return The scripts, grouped by type.
+     * @throws IOException If the folder or archive cannot be read.
+     */
+    ResourceIndex index() throws IOException {
+        if (this.pack != null) {
+            return ResourceIndex.of(this.pack.getScripts());
+        }
+        final ResourceIndex index = ResourceIndex.scan(this.root);
+        LOGGER.log(System.Logger.Level.DEBUG, "Scanned {0}: {1} entries visited", this.path, index.getVisitedEntries());
+        return index;
+    }
+
+    /**
+     * @return True if the scripts are in a folder of the default file system.
+     */
+    boolean isFolder() {
+        return this.pack == null && this.root.getFileSystem() == FileSystems.getDefault();
+    }
+
+    /**
+     * @return True if the scripts are in a folder that can be watched and have a manifest: a folder of the default
+     * file system that does not come from the class path.
+     */
+    boolean isWritableFolder() {
+        return this.isFolder() && !this.classpath;
+    }
+
+    /**
+     * @return True if the resource path comes from the class path.
+     */
+    boolean isClasspath() {
+        return this.classpath;
+    }
+
+    /**
+     * @return The resource path as provided.
+     */
+    Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * @return The pack containing the scripts, null if this source is not a pack.
+     */
+    ResourcePack getPack() {
+        return this.pack;
+    }
+
+    /**
+     * Close the archive, if any, errors are logged.
+     */
+    @Override
+    public void close() {
+        if (this.archive != null) {
+            try {
+                this.archive.close();
+            } catch (final IOException e) {
+                LOGGER.log(System.Logger.Level.WARNING, "Cannot close " + this.path, e);
+            }
+        }
+    }
+}
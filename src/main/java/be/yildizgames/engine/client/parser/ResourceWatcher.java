@@ -0,0 +1,174 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Watch the resource paths and reload the script files modified or created while the application is running.
+ * Nothing is done in background, poll must be called regularly, from the render loop for example, the modified
+ * files are reloaded on the calling thread.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class ResourceWatcher implements AutoCloseable {
+
+    private static final System.Logger LOGGER = System.getLogger(ResourceWatcher.class.getName());
+
+    /**
+     * Service notified of the file system changes.
+     */
+    private final WatchService watchService;
+
+    /**
+     * Watched directories, by registration key.
+     */
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+
+    /**
+     * Reload a single script file.
+     */
+    private final Consumer<Path> reloader;
+
+    /**
+     * Create a new watcher.
+     *
+     * @param roots    Resource paths to watch, with all their sub folders.
+     * @param reloader Reload a modified script file.
+     * @throws IOException If a folder cannot be watched.
+     */
+    ResourceWatcher(final List<Path> roots, final Consumer<Path> reloader) throws IOException {
+        super();
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.reloader = reloader;
+        for (final Path root : roots) {
+            this.registerAll(root);
+        }
+    }
+
+    /**
+     * Reload the script files changed since the last call, each file is reloaded once even if it was changed
+     * several times.
+     *
+     * @return The number of reloaded files.
+     */
+    public int poll() {
+        final Set<Path> changed = new LinkedHashSet<>();
+        try {
+            WatchKey key;
+            while ((key = this.watchService.poll()) != null) {
+                this.collect(key, changed);
+            }
+        } catch (final ClosedWatchServiceException e) {
+            return 0;
+        }
+        int reloaded = 0;
+        for (final Path file : changed) {
+            if (Files.isRegularFile(file)) {
+                this.reloader.accept(file);
+                reloaded++;
+            }
+        }
+        return reloaded;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.watchService.close();
+    }
+
+    /**
+     * Retrieve the changed script files from a key, new folders are registered.
+     *
+     * @param key     Signalled key.
+     * @param changed Filled with the changed script files.
+     */
+    private void collect(final WatchKey key, final Set<Path> changed) {
+        final Path directory = this.directories.get(key);
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (directory == null || event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                continue;
+            }
+            final Path file = directory.resolve((Path) event.context());
+            if (Files.isDirectory(file)) {
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                    this.registerNewFolder(file, changed);
+                }
+            } else if (ScriptType.fromPath(file) != null) {
+                changed.add(file);
+            }
+        }
+        if (!key.reset()) {
+            this.directories.remove(key);
+        }
+    }
+
+    /**
+     * Watch a folder created after the watcher, the scripts it already contains are reloaded.
+     *
+     * @param folder  Created folder.
+     * @param changed Filled with the script files found in the folder.
+     */
+    private void registerNewFolder(final Path folder, final Set<Path> changed) {
+        try {
+            this.registerAll(folder);
+            try (Stream<Path> files = Files.walk(folder)) {
+                files.filter(f -> ScriptType.fromPath(f) != null).forEach(changed::add);
+            }
+        } catch (final IOException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Cannot watch " + folder, e);
+        }
+    }
+
+    /**
+     * Watch a folder and all its sub folders.
+     *
+     * @param folder Folder to watch.
+     * @throws IOException If the folder cannot be watched.
+     */
+    private void registerAll(final Path folder) throws IOException {
+        try (Stream<Path> entries = Files.walk(folder)) {
+            for (final Path dir : (Iterable<Path>) entries.filter(Files::isDirectory)::iterator) {
+                final WatchKey key = dir.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                this.directories.put(key, dir);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Provide the content of the scripts to the parsers reading from memory.
+ * Large scripts are memory mapped, so their content is read by the parser straight from the page cache. Mapping a file
+ * costs more than reading it when it is small, which is the case of most scripts: those are read in a heap buffer
+ * taken from a pool and given back once the parsing is done, so loading many small scripts does not allocate a buffer
+ * for each of them.
+ * The files not on the default file system, in an archive for example, cannot be mapped and are always read.
+ *
+ * @author Grégory Van den Borre
+ */
+final class ScriptBuffers {
+
+    /**
+     * Size from which a script is memory mapped instead of being read, this is also the capacity of the pooled buffers.
+     */
+    static final int MAP_THRESHOLD = 64 * 1024;
+
+    /**
+     * Buffers not currently in use.
+     */
+    private static final Queue<ByteBuffer> BUFFERS = new ConcurrentLinkedQueue<>();
+
+    private ScriptBuffers() {
+        super();
+    }
+
+    /**
+     * Parse the content of a script file, the buffer given to the parser is only valid during the parsing and must
+     * not be retained.
+     *
+     * @param file   Script file.
+     * @param parser Parser building the result from the script content.
+     * @param <T>    Result type.
+     * @return The parser result.
+     * @throws ParserException If the file cannot be read.
+     */
+    static <T> T read(final Path file, final Function<ByteBuffer, T> parser) {
+        try {
+            final long size = Files.size(file);
+            if (size >= MAP_THRESHOLD) {
+                return parser.apply(BinaryDefinitionFile.map(file));
+            }
+            final ByteBuffer buffer = ScriptBuffers.acquire();
+            try {
+                if (ScriptBuffers.fill(file, buffer)) {
+                    return parser.apply(buffer.flip());
+                }
+                // the file grew since its size was retrieved.
+                return parser.apply(ByteBuffer.wrap(Files.readAllBytes(file)));
+            } finally {
+                ScriptBuffers.release(buffer);
+            }
+        } catch (final IOException e) {
+            throw new ParserException("Cannot parse " + file, e);
+        }
+    }
+
+    /**
+     * Parse the content of a script file, for the parsers giving their result to a callback.
+     *
+     * @param file   Script file.
+     * @param parser Parser reading the script content.
+     * @throws ParserException If the file cannot be read.
+     */
+    static void accept(final Path file, final Consumer<ByteBuffer> parser) {
+        ScriptBuffers.read(file, content -> {
+            parser.accept(content);
+            return null;
+        });
+    }
+
+    /**
+     * Read a script content from a stream until its end, the stream is not closed.
+     *
+     * @param in Stream to read.
+     * @return A buffer with the stream content.
+     * @throws ParserException If the stream cannot be read.
+     */
+    static ByteBuffer readAll(final InputStream in) {
+        try {
+            return ByteBuffer.wrap(in.readAllBytes());
+        } catch (final IOException e) {
+            throw new ParserException("Cannot read the script content.", e);
+        }
+    }
+
+    /**
+     * Read a file in a buffer.
+     *
+     * @param file   File to read.
+     * @param buffer Buffer to fill.
+     * @return True if the whole file was read, false if it does not fit in the buffer.
+     * @throws IOException If the file cannot be read.
+     */
+    private static boolean fill(final Path file, final ByteBuffer buffer) throws IOException {
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) == -1) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static ByteBuffer acquire() {
+        final ByteBuffer buffer = BUFFERS.poll();
+        return buffer == null ? ByteBuffer.allocate(MAP_THRESHOLD) : buffer;
+    }
+
+    private static void release(final ByteBuffer buffer) {
+        buffer.clear();
+        BUFFERS.offer(buffer);
+    }
+}
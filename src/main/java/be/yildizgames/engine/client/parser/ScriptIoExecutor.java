@@ -0,0 +1,143 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor for I/O bound script parsing, each task runs on its own thread so blocked reads overlap.
+ * Virtual threads are used when the runtime provides them, daemon platform threads otherwise.
+ * The number of tasks running at once is bounded, the other tasks are queued without blocking the submitter.
+ * To be given to the FileParser as parse executor, the loaded resources are identical to a sequential load.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class ScriptIoExecutor implements Executor {
+
+    private static final System.Logger LOGGER = System.getLogger(ScriptIoExecutor.class.getName());
+
+    /**
+     * Tasks waiting for a free slot.
+     */
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Number of tasks currently running.
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Maximum number of tasks running at once.
+     */
+    private final int maxInFlight;
+
+    /**
+     * Create the threads running the tasks.
+     */
+    private final ThreadFactory threadFactory;
+
+    /**
+     * Create a new executor.
+     *
+     * @param maxInFlight Maximum number of files parsed at once.
+     * @throws IllegalArgumentException If maxInFlight is not strictly positive.
+     */
+    public ScriptIoExecutor(final int maxInFlight) {
+        super();
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("At least one task must be allowed in flight.");
+        }
+        this.maxInFlight = maxInFlight;
+        this.threadFactory = ScriptIoExecutor.createThreadFactory();
+    }
+
+    /**
+     * Use the virtual thread factory if the runtime supports it(java 21+), it is retrieved by reflection to still
+     * run on older runtimes.
+     *
+     * @return The factory to create the parsing threads.
+     */
+    private static ThreadFactory createThreadFactory() {
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            LOGGER.log(System.Logger.Level.DEBUG, "Virtual threads not available, using platform threads.");
+            final AtomicInteger count = new AtomicInteger();
+            return r -> {
+                final Thread t = new Thread(r, "script-io-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            };
+        }
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        if (task == null) {
+            throw new NullPointerException("Task is mandatory");
+        }
+        this.pending.add(task);
+        this.drain();
+    }
+
+    /**
+     * Start as many queued tasks as the bound allows.
+     */
+    private void drain() {
+        while (!this.pending.isEmpty()) {
+            final int running = this.inFlight.get();
+            if (running >= this.maxInFlight) {
+                return;
+            }
+            if (this.inFlight.compareAndSet(running, running + 1)) {
+                final Runnable task = this.pending.poll();
+                if (task == null) {
+                    this.inFlight.decrementAndGet();
+                } else {
+                    this.threadFactory.newThread(() -> this.run(task)).start();
+                }
+            }
+        }
+    }
+
+    /**
+     * Run a task and release its slot for the next queued one.
+     *
+     * @param task Task to run.
+     */
+    private void run(final Runnable task) {
+        try {
+            task.run();
+        } finally {
+            this.inFlight.decrementAndGet();
+            this.drain();
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Persistent record of the scripts of a resource path with their parsed definitions, to skip the parsing of the
+ * scripts not modified since the previous run.
+ * The manifest is stored next to the resource path folder, in a file named after the folder with the .manifest
+ * extension. Each entry keeps the script size, modification time, a CRC32C of its content and its encoded definitions.
+ * A script is considered unchanged if its size and modification time are the same, or if only its modification time
+ * changed but the content checksum is the same.
+ * The entries of the scripts neither looked up nor stored during a load, deleted or renamed scripts, are dropped when
+ * the manifest is saved.
+ * Entries can be read and written concurrently by the parsing tasks.
+ *
+ * @author Grégory Van den Borre
+ */
+final class ScriptManifest {
+
+    private static final System.Logger LOGGER = System.getLogger(ScriptManifest.class.getName());
+
+    /**
+     * First bytes of a manifest file: YPMF.
+     */
+    private static final int MAGIC = 0x59504D46;
+
+    /**
+     * Manifest format version, to increase when the format changes, the definition encoding version is stored as well.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Extension of the manifest file.
+     */
+    private static final String EXTENSION = ".manifest";
+
+    /**
+     * Resource path folder.
+     */
+    private final Path root;
+
+    /**
+     * File where the manifest is stored.
+     */
+    private final Path file;
+
+    /**
+     * Entries by script path relative to the root.
+     */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Keys of the scripts looked up or stored since the manifest was loaded.
+     */
+    private final Set<String> used = ConcurrentHashMap.newKeySet();
+
+    /**
+     * True if entries were added or updated since the manifest was loaded.
+     */
+    private volatile boolean modified;
+
+    private ScriptManifest(final Path root) {
+        super();
+        this.root = root;
+        this.file = root.toAbsolutePath().resolveSibling(root.toAbsolutePath().getFileName() + EXTENSION);
+    }
+
+    /**
+     * Load the manifest of a resource path, an empty manifest is returned if none exists or if it cannot be read.
+     *
+     * @param root Resource path folder.
+     * @return The manifest for that folder.
+     */
+    static ScriptManifest load(final Path root) {
+        final ScriptManifest manifest = new ScriptManifest(root);
+        if (Files.isRegularFile(manifest.file)) {
+            try {
+                manifest.read(ByteBuffer.wrap(Files.readAllBytes(manifest.file)));
+            } catch (final IOException | BufferUnderflowException | ParserException e) {
+                LOGGER.log(System.Logger.Level.WARNING, "Ignoring unreadable manifest " + manifest.file, e);
+                manifest.entries.clear();
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Retrieve the encoded definitions of a script if it did not change since they were stored.
+     *
+     * @param script Script file.
+     * @param type   Script type.
+     * @return The encoded definitions, or null if the script is not in the manifest or changed.
+     */
+    ByteBuffer lookup(final Path script, final ScriptType type) {
+        final String key = this.key(script);
+        this.used.add(key);
+        final Entry entry = this.entries.get(key);
+        if (entry == null || entry.type != type) {
+            return null;
+        }
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(script, BasicFileAttributes.class);
+            if (attributes.size() != entry.size) {
+                return null;
+            }
+            final long time = attributes.lastModifiedTime().toMillis();
+            if (time != entry.modified) {
+                if (ScriptManifest.checksum(script) != entry.checksum) {
+                    return null;
+                }
+                this.entries.put(key, new Entry(type, entry.size, time, entry.checksum, entry.payload));
+                this.modified = true;
+            }
+        } catch (final IOException e) {
+            return null;
+        }
+        return ByteBuffer.wrap(entry.payload).asReadOnlyBuffer();
+    }
+
+    /**
+     * Read the state of a script, to be taken before parsing it: a script modified while it is parsed is then stored
+     * with its previous state and parsed again by the next load instead of being considered unchanged.
+     *
+     * @param script Script file.
+     * @return The script state, or null if it cannot be read.
+     */
+    Fingerprint fingerprint(final Path script) {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(script, BasicFileAttributes.class);
+            return new Fingerprint(attributes.size(), attributes.lastModifiedTime().toMillis(), ScriptManifest.checksum(script));
+        } catch (final IOException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Cannot record " + script + " in manifest", e);
+            return null;
+        }
+    }
+
+    /**
+     * Store the encoded definitions parsed from a script.
+     *
+     * @param script      Parsed script file.
+     * @param type        Script type.
+     * @param fingerprint State of the script taken before parsing it, nothing is stored if null.
+     * @param payload     Encoded definitions.
+     */
+    void put(final Path script, final ScriptType type, final Fingerprint fingerprint, final byte[] payload) {
+        final String key = this.key(script);
+        this.used.add(key);
+        if (fingerprint != null) {
+            this.entries.put(key, new Entry(type, fingerprint.size, fingerprint.modified, fingerprint.checksum, payload));
+            this.modified = true;
+        }
+    }
+
+    /**
+     * Write the manifest if it was modified or if entries of scripts not used during the load were dropped,
+     * failing to write it is logged and does not prevent the loading.
+     */
+    void save() {
+        if (this.entries.keySet().retainAll(this.used)) {
+            this.modified = true;
+        }
+        if (!this.modified) {
+            return;
+        }
+        try {
+            final Path temp = Files.createTempFile(this.file.getParent(), this.file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(DefinitionCodec.VERSION);
+                out.writeInt(this.entries.size());
+                for (final Map.Entry<String, Entry> e : this.entries.entrySet()) {
+                    final Entry entry = e.getValue();
+                    DefinitionCodec.writeString(out, e.getKey());
+                    out.writeByte(entry.type.ordinal());
+                    out.writeLong(entry.size);
+                    out.writeLong(entry.modified);
+                    out.writeLong(entry.checksum);
+                    out.writeInt(entry.payload.length);
+                    out.write(entry.payload);
+                }
+            }
+            Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING);
+            this.modified = false;
+        } catch (final IOException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Cannot write manifest " + this.file, e);
+        }
+    }
+
+    private void read(final ByteBuffer in) {
+        if (in.getInt() != MAGIC || in.getInt() != VERSION || in.getInt() != DefinitionCodec.VERSION) {
+            throw new ParserException("Unsupported manifest format.");
+        }
+        final int size = in.getInt();
+        for (int i = 0; i < size; i++) {
+            final String path = DefinitionCodec.readString(in);
+            final int type = in.get();
+            if (type < 0 || type >= ScriptType.values().length) {
+                throw new ParserException("Unknown script type in manifest.");
+            }
+            final long fileSize = in.getLong();
+            final long modifiedTime = in.getLong();
+            final long checksum = in.getLong();
+            final byte[] payload = new byte[in.getInt()];
+            in.get(payload);
+            this.entries.put(path, new Entry(ScriptType.values()[type], fileSize, modifiedTime, checksum, payload));
+        }
+    }
+
+    /**
+     * @return The number of scripts in the manifest.
+     */
+    int size() {
+        return this.entries.size();
+    }
+
+    private String key(final Path script) {
+        return this.root.relativize(script).toString().replace('\\', '/');
+    }
+
+    private static long checksum(final Path script) throws IOException {
+        final CRC32C crc = new CRC32C();
+        final byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(script)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Size, modification time and content checksum of a script.
+     */
+    static final class Fingerprint {
+
+        private final long size;
+
+        private final long modified;
+
+        private final long checksum;
+
+        private Fingerprint(final long size, final long modified, final long checksum) {
+            this.size = size;
+            this.modified = modified;
+            this.checksum = checksum;
+        }
+    }
+
+    /**
+     * State of a script when its definitions were stored.
+     */
+    private static final class Entry {
+
+        private final ScriptType type;
+
+        private final long size;
+
+        private final long modified;
+
+        private final long checksum;
+
+        /**
+         * Definitions encoded with the DefinitionCodec.
+         */
+        private final byte[] payload;
+
+        private Entry(final ScriptType type, final long size, final long modified, final long checksum, final byte[] payload) {
+            this.type = type;
+            this.size = size;
+            this.modified = modified;
+            this.checksum = checksum;
+            this.payload = payload;
+        }
+    }
+}
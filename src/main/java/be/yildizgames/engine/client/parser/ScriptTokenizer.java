@@ -0,0 +1,679 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Pull tokenizer for the XML subset used by the engine scripts: elements containing other elements or a text value,
+ * without attributes or DTD. Comments, processing instructions, CDATA sections, the predefined entities and the
+ * character references are supported.
+ * The UTF-8 bytes are read directly from a buffer, the element names are matched by byte comparison against a
+ * vocabulary and returned as the vocabulary constants, so no string is created for the element names. Strings are
+ * only created for the text values.
+ * Anything outside of the subset, or any malformed content, raises UnsupportedSyntax, the caller is then expected to
+ * parse the script again with the JDK parser, which gives the same result or reports the error.
+ *
+ * @author Grégory Van den Borre
+ */
+final class ScriptTokenizer {
+
+    /**
+     * Event returned at the end of the document.
+     */
+    static final int END_DOCUMENT = 0;
+
+    /**
+     * Event returned for an element start, the name is available with name().
+     */
+    static final int START_ELEMENT = 1;
+
+    /**
+     * Event returned for an element end.
+     */
+    static final int END_ELEMENT = 2;
+
+    /**
+     * Name returned for the elements not in the vocabulary.
+     */
+    static final String UNKNOWN = "";
+
+    /**
+     * Content to parse, read with absolute positions only.
+     */
+    private final ByteBuffer in;
+
+    /**
+     * End of the content.
+     */
+    private final int limit;
+
+    /**
+     * Element names to recognize.
+     */
+    private final Vocabulary vocabulary;
+
+    /**
+     * Current read position.
+     */
+    private int pos;
+
+    /**
+     * Start position of the name of each open element.
+     */
+    private int[] openStart = new int[16];
+
+    /**
+     * Name length of each open element.
+     */
+    private int[] openLength = new int[16];
+
+    /**
+     * Number of open elements.
+     */
+    private int depth;
+
+    /**
+     * True once the root element is closed.
+     */
+    private boolean rootClosed;
+
+    /**
+     * Name of the current element, from the vocabulary.
+     */
+    private String name = UNKNOWN;
+
+    /**
+     * True if the current element is an empty element tag, its end is returned by the next call to next().
+     */
+    private boolean pendingEnd;
+
+    /**
+     * True if text, comments, CDATA sections or processing instructions were skipped by the last call to next().
+     */
+    private boolean skipped;
+
+    /**
+     * Text being built when a value is made of several parts, reused.
+     */
+    private final StringBuilder text = new StringBuilder();
+
+    /**
+     * Copy of the bytes to decode when the buffer is not backed by an array, reused.
+     */
+    private byte[] scratch;
+
+    /**
+     * Decoder validating the UTF-8 sequences, created for the first non ASCII value.
+     */
+    private CharsetDecoder decoder;
+
+    /**
+     * Create a tokenizer.
+     *
+     * @param in         UTF-8 content to parse, from its position to its limit, the buffer position is not modified.
+     * @param vocabulary Element names to recognize.
+     */
+    ScriptTokenizer(final ByteBuffer in, final Vocabulary vocabulary) {
+        super();
+        this.in = in;
+        this.limit = in.limit();
+        this.vocabulary = vocabulary;
+        this.pos = in.position();
+        if (this.limit - this.pos >= 3 && in.get(this.pos) == (byte) 0xEF && in.get(this.pos + 1) == (byte) 0xBB && in.get(this.pos + 2) == (byte) 0xBF) {
+            this.pos += 3;
+        }
+    }
+
+    /**
+     * Move to the next element start or end, the text, comments, CDATA sections and processing instructions between
+     * elements are skipped.
+     *
+     * @return START_ELEMENT, END_ELEMENT or END_DOCUMENT.
+     * @throws UnsupportedSyntax If the content is not in the supported subset or is malformed.
+     */
+    int next() {
+        this.skipped = false;
+        if (this.pendingEnd) {
+            this.pendingEnd = false;
+            this.pop();
+            return END_ELEMENT;
+        }
+        while (true) {
+            if (this.pos >= this.limit) {
+                if (this.depth != 0 || !this.rootClosed) {
+                    throw UnsupportedSyntax.INSTANCE;
+                }
+                return END_DOCUMENT;
+            }
+            if (this.byteAt(this.pos) != '<') {
+                final int start = this.pos;
+                this.pos = this.indexOf('<', this.pos);
+                if (this.depth == 0 && !this.isWhitespace(start, this.pos)) {
+                    throw UnsupportedSyntax.INSTANCE;
+                }
+                this.skipped = true;
+                continue;
+            }
+            final byte c = this.byteAt(this.pos + 1);
+            if (c == '?') {
+                this.pos = this.indexOf("?>", this.pos + 2) + 2;
+                this.skipped |= this.depth > 0;
+            } else if (c == '!') {
+                this.skipDeclaration();
+                this.skipped |= this.depth > 0;
+            } else if (c == '/') {
+                this.pos += 2;
+                this.readEndTag();
+                return END_ELEMENT;
+            } else {
+                this.pos++;
+                this.readStartTag();
+                return START_ELEMENT;
+            }
+        }
+    }
+
+    /**
+     * @return The name of the current element, one of the vocabulary constants, or UNKNOWN.
+     */
+    String name() {
+        return this.name;
+    }
+
+    /**
+     * @return True if text, comments, CDATA sections or processing instructions were found before the element
+     * returned by the last call to next().
+     */
+    boolean hasSkippedContent() {
+        return this.skipped;
+    }
+
+    /**
+     * Read the text value of the current element, the tokenizer is then positioned on the element end.
+     *
+     * @return The text value.
+     * @throws UnsupportedSyntax If the element contains other elements or is not in the supported subset.
+     */
+    String readText() {
+        if (this.pendingEnd) {
+            this.next();
+            return "";
+        }
+        String single = null;
+        this.text.setLength(0);
+        while (true) {
+            if (this.pos >= this.limit) {
+                throw UnsupportedSyntax.INSTANCE;
+            }
+            final String part;
+            if (this.byteAt(this.pos) == '<') {
+                final byte c = this.byteAt(this.pos + 1);
+                if (c == '/') {
+                    this.next();
+                    if (single != null) {
+                        return single;
+                    }
+                    return this.text.toString();
+                } else if (c == '?') {
+                    this.pos = this.indexOf("?>", this.pos + 2) + 2;
+                    continue;
+                } else if (c == '!' && this.startsWith("<![CDATA[", this.pos)) {
+                    final int start = this.pos + 9;
+                    final int end = this.indexOf("]]>", start);
+                    this.pos = end + 3;
+                    part = this.decode(start, end, false);
+                } else if (c == '!' && this.startsWith("<!--", this.pos)) {
+                    this.pos = this.indexOf("-->", this.pos + 4) + 3;
+                    continue;
+                } else {
+                    throw UnsupportedSyntax.INSTANCE;
+                }
+            } else {
+                final int start = this.pos;
+                this.pos = this.indexOf('<', this.pos);
+                part = this.decode(start, this.pos, true);
+            }
+            if (single == null && this.text.length() == 0) {
+                single = part;
+            } else {
+                if (single != null) {
+                    this.text.append(single);
+                    single = null;
+                }
+                this.text.append(part);
+            }
+        }
+    }
+
+    /**
+     * Read the elements with a given name as records whose child elements are the properties, in document order.
+     * Elements with an other name are traversed, a record nested in a record is not supported.
+     *
+     * @param record  Name of the record elements, from the vocabulary.
+     * @param factory Create the definition for a record.
+     * @param setter  Set a property of a definition.
+     * @param <T>     Definition type.
+     * @return The definitions, in document order.
+     * @throws UnsupportedSyntax If the content is not in the supported subset.
+     */
+    <T> List<T> readRecords(final String record, final Supplier<T> factory, final PropertySetter<T> setter) {
+        return this.readRecords(record, factory, setter, Function.identity());
+    }
+
+    /**
+     * Read the records with a builder, each record is built once all its properties are set.
+     *
+     * @param record  Name of the record elements, from the vocabulary.
+     * @param factory Create the builder for a record.
+     * @param setter  Set a property on a builder.
+     * @param build   Build the definition once the record element is closed.
+     * @param <B>     Builder type.
+     * @param <T>     Definition type.
+     * @return The definitions, in document order.
+     * @throws UnsupportedSyntax If the content is not in the supported subset.
+     */
+    <B, T> List<T> readRecords(final String record, final Supplier<B> factory, final PropertySetter<B> setter, final Function<B, T> build) {
+        final List<T> result = new ArrayList<>();
+        int event;
+        while ((event = this.next()) != END_DOCUMENT) {
+            if (event == START_ELEMENT && record.equals(this.name)) {
+                final B def = factory.get();
+                while (this.next() == START_ELEMENT) {
+                    final String property = this.name;
+                    if (record.equals(property)) {
+                        throw UnsupportedSyntax.INSTANCE;
+                    }
+                    setter.set(def, property, this.readText());
+                }
+                result.add(build.apply(def));
+            }
+        }
+        return result;
+    }
+
+    private void readStartTag() {
+        if (this.rootClosed) {
+            throw UnsupportedSyntax.INSTANCE;
+        }
+        final int start = this.pos;
+        this.readName();
+        final int length = this.pos - start;
+        this.skipWhitespace();
+        if (this.byteAt(this.pos) == '>') {
+            this.pos++;
+        } else if (this.byteAt(this.pos) == '/' && this.byteAt(this.pos + 1) == '>') {
+            this.pos += 2;
+            this.pendingEnd = true;
+        } else {
+            throw UnsupportedSyntax.INSTANCE;
+        }
+        this.push(start, length);
+        this.name = this.vocabulary.lookup(this.in, start, length);
+    }
+
+    private void readEndTag() {
+        final int start = this.pos;
+        this.readName();
+        final int length = this.pos - start;
+        this.skipWhitespace();
+        if (this.depth == 0 || this.byteAt(this.pos) != '>' || !this.sameName(start, length)) {
+            throw UnsupportedSyntax.INSTANCE;
+        }
+        this.pos++;
+        this.name = this.vocabulary.lookup(this.in, start, length);
+        this.pop();
+    }
+
+    private void readName() {
+        final int start = this.pos;
+        while (this.pos < this.limit) {
+            final byte b = this.in.get(this.pos);
+            if (b == '>' || b == '/' || b == ' ' || b == '\t' || b == '\n' || b == '\r') {
+                break;
+            }
+            if (b == '<' || b == '&' || b == '=' || b == '"' || b == '\'') {
+                throw UnsupportedSyntax.INSTANCE;
+            }
+            this.pos++;
+        }
+        if (this.pos == start) {
+            throw UnsupportedSyntax.INSTANCE;
+        }
+    }
+
+    /**
+     * Skip a comment or a CDATA section found between elements, DTD declarations are not supported.
+     */
+    private void skipDeclaration() {
+        if (this.startsWith("<!--", this.pos)) {
+            this.pos = this.indexOf("-->", this.pos + 4) + 3;
+        } else if (this.depth > 0 && this.startsWith("<![CDATA[", this.pos)) {
+            this.pos = this.indexOf("]]>", this.pos + 9) + 3;
+        } else {
+            throw UnsupportedSyntax.INSTANCE;
+        }
+    }
+
+    private void push(final int start, final int length) {
+        if (this.depth == this.openStart.length) {
+            this.openStart = Arrays.copyOf(this.openStart, this.depth * 2);
+            this.openLength = Arrays.copyOf(this.openLength, this.depth * 2);
+        }
+        this.openStart[this.depth] = start;
+        this.openLength[this.depth] = length;
+        this.depth++;
+    }
+
+    private void pop() {
+        this.depth--;
+        if (this.depth == 0) {
+            this.rootClosed = true;
+        }
+    }
+
+    private boolean sameName(final int start, final int length) {
+        final int openStart = this.openStart[this.depth - 1];
+        if (this.openLength[this.depth - 1] != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (this.in.get(openStart + i) != this.in.get(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decode a text part, the line ends are normalized and the references replaced as done by an XML parser.
+     *
+     * @param start      First byte.
+     * @param end        Byte after the last one.
+     * @param references True to replace the entity and character references, false for a CDATA section.
+     * @return The decoded text.
+     */
+    private String decode(final int start, final int end, final boolean references) {
+        boolean ascii = true;
+        boolean special = false;
+        for (int i = start; i < end; i++) {
+            final byte b = this.in.get(i);
+            if (b < 0) {
+                ascii = false;
+            } else if (b == '\r' || (references && b == '&')) {
+                special = true;
+            }
+        }
+        final String raw;
+        if (ascii) {
+            raw = this.in.hasArray()
+                    ? new String(this.in.array(), this.in.arrayOffset() + start, end - start, StandardCharsets.ISO_8859_1)
+                    : new String(this.copy(start, end), 0, end - start, StandardCharsets.ISO_8859_1);
+        } else {
+            raw = this.decodeUtf8(start, end);
+        }
+        return special ? ScriptTokenizer.normalize(raw, references) : raw;
+    }
+
+    private String decodeUtf8(final int start, final int end) {
+        if (this.decoder == null) {
+            this.decoder = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT);
+        }
+        try {
+            final CharBuffer chars = this.decoder.reset().decode(this.in.duplicate().limit(end).position(start));
+            return chars.toString();
+        } catch (final CharacterCodingException e) {
+            throw UnsupportedSyntax.INSTANCE;
+        }
+    }
+
+    private byte[] copy(final int start, final int end) {
+        final int length = end - start;
+        if (this.scratch == null || this.scratch.length < length) {
+            this.scratch = new byte[Math.max(length, 64)];
+        }
+        for (int i = 0; i < length; i++) {
+            this.scratch[i] = this.in.get(start + i);
+        }
+        return this.scratch;
+    }
+
+    /**
+     * Normalize the line ends and replace the references in a text.
+     *
+     * @param raw        Text to normalize.
+     * @param references True to replace the entity and character references.
+     * @return The normalized text.
+     */
+    private static String normalize(final String raw, final boolean references) {
+        final StringBuilder sb = new StringBuilder(raw.length());
+        final int length = raw.length();
+        for (int i = 0; i < length; i++) {
+            final char c = raw.charAt(i);
+            if (c == '\r') {
+                sb.append('\n');
+                if (i + 1 < length && raw.charAt(i + 1) == '\n') {
+                    i++;
+                }
+            } else if (c == '&' && references) {
+                final int end = raw.indexOf(';', i);
+                if (end == -1) {
+                    throw UnsupportedSyntax.INSTANCE;
+                }
+                ScriptTokenizer.appendReference(sb, raw.substring(i + 1, end));
+                i = end;
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void appendReference(final StringBuilder sb, final String reference) {
+        switch (reference) {
+            case "lt":
+                sb.append('<');
+                break;
+            case "gt":
+                sb.append('>');
+                break;
+            case "amp":
+                sb.append('&');
+                break;
+            case "quot":
+                sb.append('"');
+                break;
+            case "apos":
+                sb.append('\'');
+                break;
+            default:
+                if (reference.length() < 2 || reference.charAt(0) != '#') {
+                    throw UnsupportedSyntax.INSTANCE;
+                }
+                try {
+                    final int code = reference.charAt(1) == 'x'
+                            ? Integer.parseInt(reference.substring(2), 16)
+                            : Integer.parseInt(reference.substring(1));
+                    if (!ScriptTokenizer.isXmlChar(code)) {
+                        throw UnsupportedSyntax.INSTANCE;
+                    }
+                    sb.appendCodePoint(code);
+                } catch (final IllegalArgumentException e) {
+                    throw UnsupportedSyntax.INSTANCE;
+                }
+                break;
+        }
+    }
+
+    private static boolean isXmlChar(final int code) {
+        return code == 0x9 || code == 0xA || code == 0xD
+                || (code >= 0x20 && code <= 0xD7FF)
+                || (code >= 0xE000 && code <= 0xFFFD)
+                || (code >= 0x10000 && code <= 0x10FFFF);
+    }
+
+    private byte byteAt(final int index) {
+        if (index >= this.limit) {
+            throw UnsupportedSyntax.INSTANCE;
+        }
+        return this.in.get(index);
+    }
+
+    private int indexOf(final char c, final int from) {
+        for (int i = from; i < this.limit; i++) {
+            if (this.in.get(i) == c) {
+                return i;
+            }
+        }
+        return this.limit;
+    }
+
+    private int indexOf(final String value, final int from) {
+        for (int i = from; i <= this.limit - value.length(); i++) {
+            if (this.startsWith(value, i)) {
+                return i;
+            }
+        }
+        throw UnsupportedSyntax.INSTANCE;
+    }
+
+    private boolean startsWith(final String value, final int at) {
+        if (at + value.length() > this.limit) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (this.in.get(at + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void skipWhitespace() {
+        while (this.pos < this.limit && ScriptTokenizer.isWhitespace(this.in.get(this.pos))) {
+            this.pos++;
+        }
+    }
+
+    private boolean isWhitespace(final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (!ScriptTokenizer.isWhitespace(this.in.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWhitespace(final byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    /**
+     * Set a property of a definition from an element text value.
+     *
+     * @param <T> Definition type.
+     */
+    @FunctionalInterface
+    interface PropertySetter<T> {
+
+        /**
+         * @param def      Definition to update.
+         * @param property Element name, from the vocabulary.
+         * @param value    Element text value.
+         */
+        void set(T def, String property, String value);
+    }
+
+    /**
+     * Element names of a script dialect, with their UTF-8 encoding to compare them without decoding the content.
+     */
+    static final class Vocabulary {
+
+        private final String[] names;
+
+        private final byte[][] encoded;
+
+        /**
+         * @param names Element names of the dialect.
+         */
+        Vocabulary(final String... names) {
+            super();
+            this.names = names.clone();
+            this.encoded = new byte[names.length][];
+            for (int i = 0; i < names.length; i++) {
+                this.encoded[i] = names[i].getBytes(StandardCharsets.UTF_8);
+            }
+        }
+
+        private String lookup(final ByteBuffer in, final int start, final int length) {
+            for (int i = 0; i < this.encoded.length; i++) {
+                final byte[] candidate = this.encoded[i];
+                if (candidate.length == length && ScriptTokenizer.matches(in, start, candidate)) {
+                    return this.names[i];
+                }
+            }
+            return UNKNOWN;
+        }
+    }
+
+    private static boolean matches(final ByteBuffer in, final int start, final byte[] candidate) {
+        for (int i = 0; i < candidate.length; i++) {
+            if (in.get(start + i) != candidate[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Raised when the content is outside of the supported subset, without stack trace as it is only used to fall back
+     * to the JDK parser.
+     */
+    static final class UnsupportedSyntax extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Shared instance, the exception has no state.
+         */
+        static final UnsupportedSyntax INSTANCE = new UnsupportedSyntax();
+
+        private UnsupportedSyntax() {
+            super("Unsupported script syntax.", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import java.nio.file.Path;
+
+/**
+ * Kind of script files found in a resource path, in the order they must be loaded.
+ *
+ * @author Grégory Van den Borre
+ */
+public enum ScriptType {
+
+    /**
+     * Material script, must be loaded before the views using them.
+     */
+    MATERIAL(".mat"),
+
+    /**
+     * Music play list script.
+     */
+    PLAYLIST(".pll"),
+
+    /**
+     * Font script, must be loaded before the views using them.
+     */
+    FONT(".fnt"),
+
+    /**
+     * View script, containing the containers and their widgets.
+     */
+    VIEW(".vew");
+
+    /**
+     * Extension of the script files of this type.
+     */
+    private final String extension;
+
+    ScriptType(final String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Retrieve the type of a script from its file name.
+     *
+     * @param file File to check.
+     * @return The matching type, or null if the file is not a script.
+     */
+    static ScriptType fromPath(final Path file) {
+        final String name = file.toString();
+        for (final ScriptType type : values()) {
+            if (name.endsWith(type.extension)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    String getExtension() {
+        return this.extension;
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+/**
+ * Read the script attribute values in place, from a range of a character sequence, without intermediate arrays or
+ * strings: numbers, enum constants, keywords and the separated forms as full-20, right#other or one&amp;zero.
+ * Numbers are read as by the JDK parsing methods, with the same results and the same NumberFormatException for an
+ * invalid value.
+ *
+ * @author Grégory Van den Borre
+ */
+final class ScriptValues {
+
+    /**
+     * Powers of ten exactly represented as float.
+     */
+    private static final float[] POWERS_OF_TEN = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+
+    /**
+     * Greater digit value exactly represented as float.
+     */
+    private static final int MAX_EXACT_FLOAT_DIGITS = 1 << 24;
+
+    private ScriptValues() {
+        super();
+    }
+
+    /**
+     * Read an int.
+     *
+     * @param value Value to read.
+     * @param start First character index.
+     * @param end   Index after the last character.
+     * @return The read number.
+     * @throws NumberFormatException If the range is not a valid int.
+     */
+    static int parseInt(final CharSequence value, final int start, final int end) {
+        return Integer.parseInt(value, start, end, 10);
+    }
+
+    /**
+     * Read a float, decimal values with up to 7 significant digits are computed without allocation, others are
+     * read by Float.parseFloat.
+     *
+     * @param value Value to read.
+     * @param start First character index.
+     * @param end   Index after the last character.
+     * @return The read number, the same as Float.parseFloat would return.
+     * @throws NumberFormatException If the range is not a valid float.
+     */
+    static float parseFloat(final CharSequence value, final int start, final int end) {
+        int i = start;
+        final boolean negative = i < end && value.charAt(i) == '-';
+        if (i < end && (negative || value.charAt(i) == '+')) {
+            i++;
+        }
+        int digits = 0;
+        int fractionDigits = 0;
+        int mantissa = 0;
+        boolean dot = false;
+        for (; i < end; i++) {
+            final char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (mantissa >= MAX_EXACT_FLOAT_DIGITS / 10) {
+                    return ScriptValues.parseFloatSlow(value, start, end);
+                }
+                mantissa = mantissa * 10 + c - '0';
+                digits++;
+                if (dot) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                return ScriptValues.parseFloatSlow(value, start, end);
+            }
+        }
+        if (digits == 0 || fractionDigits >= POWERS_OF_TEN.length) {
+            return ScriptValues.parseFloatSlow(value, start, end);
+        }
+        // both operands are exact, the division is correctly rounded as the decimal conversion
+        final float result = mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -result : result;
+    }
+
+    private static float parseFloatSlow(final CharSequence value, final int start, final int end) {
+        return Float.parseFloat(value.subSequence(start, end).toString());
+    }
+
+    /**
+     * Find a character.
+     *
+     * @param value Value to search.
+     * @param c     Character to find.
+     * @param start First character index.
+     * @param end   Index after the last character.
+     * @return The character index, -1 if not found in the range.
+     */
+    static int indexOf(final CharSequence value, final char c, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Check if a range holds exactly a keyword.
+     *
+     * @param value   Value to check.
+     * @param start   First character index.
+     * @param end     Index after the last character.
+     * @param keyword Expected keyword.
+     * @return True if the range and the keyword have the same characters.
+     */
+    static boolean is(final CharSequence value, final int start, final int end, final String keyword) {
+        if (end - start != keyword.length()) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) != keyword.charAt(i - start)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retrieve the enum constant whose name matches a range, ignoring the case.
+     *
+     * @param constants Constants to search, kept by the caller as values() creates a new array on each call.
+     * @param value     Value to read.
+     * @param start     First character index.
+     * @param end       Index after the last character.
+     * @param <E>       Enum type.
+     * @return The matching constant.
+     * @throws IllegalArgumentException If no constant matches.
+     */
+    static <E extends Enum<E>> E parseEnum(final E[] constants, final CharSequence value, final int start, final int end) {
+        for (final E constant : constants) {
+            final String name = constant.name();
+            if (name.length() == end - start && ScriptValues.equalsIgnoreCase(name, value, start)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("No constant for " + value.subSequence(start, end));
+    }
+
+    private static boolean equalsIgnoreCase(final String name, final CharSequence value, final int start) {
+        for (int i = 0; i < name.length(); i++) {
+            final char a = name.charAt(i);
+            final char b = value.charAt(start + i);
+            if (a != b && Character.toUpperCase(a) != Character.toUpperCase(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
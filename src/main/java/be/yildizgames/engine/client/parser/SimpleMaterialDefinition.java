@@ -29,153 +29,120 @@ import be.yildizgames.module.graphic.material.MaterialPass.BlendMode;
 import be.yildizgames.module.graphic.material.MaterialPass.SceneBlend;
 import be.yildizgames.module.graphic.material.MaterialPass.Transparency;
 
+import java.util.Objects;
+
 /**
  * Data definition for a material.
+ * Immutable, built with a Builder while parsing, it can be shared between threads and used as a key.
  *
  * @author Grégory Van den Borre
  */
 public final class SimpleMaterialDefinition {
 
+    /**
+     * Scene blend constants, to read the script values without copying the array on each call.
+     */
+    private static final SceneBlend[] SCENE_BLENDS = SceneBlend.values();
+
     /**
      * Material transparent capability.
      */
-    private Transparency transparency;
+    private final Transparency transparency;
 
     /**
      * Path to the texture file used with the material.
      */
-    private String path;
+    private final String path;
 
     /**
      * Path to the glow mask file used with the material, if any.
      */
-    private String glowFile;
+    private final String glowFile;
 
     /**
      * Material name, must be unique.
      */
-    private String name;
+    private final String name;
 
     /**
      * <code>true</code> if the material rendering is affected by the lightning.
      */
-    private boolean affectedByLight;
+    private final boolean affectedByLight;
 
     /**
      * Material first pass blend mode.
      */
-    private BlendMode blend;
+    private final BlendMode blend;
 
     /**
      * Scene blend value.
      */
-    private SceneBlend sceneBlend1;
+    private final SceneBlend sceneBlend1;
 
     /**
      * Second scene blend value.
      */
-    private SceneBlend sceneBlend2;
+    private final SceneBlend sceneBlend2;
 
     /**
      * Path for second texture.
      */
-    private String path2;
+    private final String path2;
 
     /**
-     * Simple constructor, initialize with empty values.
+     * Path to the texture file as written in the script, before the screen size substitution.
      */
-    SimpleMaterialDefinition() {
-        super();
-        this.transparency = Transparency.NONE;
-        this.blend = BlendMode.NONE;
-        this.sceneBlend1 = SceneBlend.NONE;
-        this.sceneBlend2 = SceneBlend.NONE;
-        this.path = "";
-        this.path2 = "";
-        this.glowFile = "";
-        this.name = "";
-        this.affectedByLight = true;
-    }
+    private final String pathTemplate;
 
     /**
-     * Set scene blend values, separated by '&'.
-     *
-     * @param value Value for the scene blend.
+     * Path for second texture as written in the script, before the screen size substitution.
      */
-    void setSceneBlend(final String value) {
-        String[] values = value.split("&");
-        this.sceneBlend1 = SceneBlend.valueOf(values[0].toUpperCase());
-        this.sceneBlend2 = SceneBlend.valueOf(values[1].toUpperCase());
-    }
+    private final String path2Template;
 
-    /**
-     * Set the transparency value.
-     *
-     * @param transparencyMode New Transparent capability for the material.
-     * @throw IllegalArgumentException If the capability cannot be
-     * recognized(should be "alpha" or "color" or "none").
-     */
-    void setTransparency(final String transparencyMode) {
-        switch (transparencyMode) {
-            case "alpha":
-                this.transparency = Transparency.ALPHA;
-                break;
-            case "color":
-                this.transparency = Transparency.COLOR;
-                break;
-            case "none":
-                this.transparency = Transparency.NONE;
-                break;
-            default:
-                throw new IllegalArgumentException(transparencyMode + " is not a valid transparency value, "
-                        + "only 'alpha', 'color' or 'none' are accepted.");
-        }
+    private SimpleMaterialDefinition(final Builder builder) {
+        super();
+        this.transparency = builder.transparency;
+        this.path = builder.path;
+        this.glowFile = builder.glowFile;
+        this.name = builder.name;
+        this.affectedByLight = builder.affectedByLight;
+        this.blend = builder.blend;
+        this.sceneBlend1 = builder.sceneBlend1;
+        this.sceneBlend2 = builder.sceneBlend2;
+        this.path2 = builder.path2;
+        this.pathTemplate = builder.pathTemplate;
+        this.path2Template = builder.path2Template;
     }
 
-    /**
-     * @param affected <code>true</code> if the material should be affected by the
-     *                 lightning, only "true" and "false" values accepted.
-     */
-    void setAffectedByLight(final String affected) {
-        switch (affected) {
-            case "true":
-                this.affectedByLight = true;
-                break;
-            case "false":
-                this.affectedByLight = false;
-                break;
-            default:
-                throw new IllegalArgumentException(affected + " is not a valid  value, " + "only 'true' or 'false' are accepted.");
-        }
+    private SimpleMaterialDefinition(final SimpleMaterialDefinition source, final String path, final String path2) {
+        super();
+        this.transparency = source.transparency;
+        this.path = path;
+        this.glowFile = source.glowFile;
+        this.name = source.name;
+        this.affectedByLight = source.affectedByLight;
+        this.blend = source.blend;
+        this.sceneBlend1 = source.sceneBlend1;
+        this.sceneBlend2 = source.sceneBlend2;
+        this.path2 = path2;
+        this.pathTemplate = source.pathTemplate;
+        this.path2Template = source.path2Template;
     }
 
     /**
-     * Set the material first pass blend mode.
+     * Render the paths again from the templates as written in the script, for other variable values, a different
+     * screen size for example, without parsing the script again.
      *
-     * @param blendMode Blend type, accepted values are "add", "subtract", "none",
-     *                  "min," "max".
+     * @param context Values of the variables.
+     * @return The definition with the rendered paths, this definition if the paths are unchanged.
      */
-    void setBlend(final String blendMode) {
-        switch (blendMode) {
-            case "add":
-                this.blend = BlendMode.ADD;
-                break;
-            case "subtract":
-                this.blend = BlendMode.SUBTRACT;
-                break;
-            case "none":
-                this.blend = BlendMode.NONE;
-                break;
-            case "min":
-                this.blend = BlendMode.MIN;
-                break;
-            case "max":
-                this.blend = BlendMode.MAX;
-                break;
-            default:
-                throw new IllegalArgumentException("unknown value");
+    SimpleMaterialDefinition resolve(final PathContext context) {
+        final String newPath = PathTemplate.compile(this.pathTemplate).render(context);
+        final String newPath2 = PathTemplate.compile(this.path2Template).render(context);
+        if (newPath.equals(this.path) && newPath2.equals(this.path2)) {
+            return this;
         }
-
+        return new SimpleMaterialDefinition(this, newPath, newPath2);
     }
 
     public Transparency getTransparency() {
@@ -214,20 +181,230 @@ public final class SimpleMaterialDefinition {
         return path2;
     }
 
-    public void setPath(String path) {
-        this.path = path;
+    String getPathTemplate() {
+        return pathTemplate;
     }
 
-    public void setGlowFile(String glowFile) {
-        this.glowFile = glowFile;
+    String getPath2Template() {
+        return path2Template;
     }
 
-    public void setName(String name) {
-        this.name = name;
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final SimpleMaterialDefinition that = (SimpleMaterialDefinition) o;
+        return affectedByLight == that.affectedByLight
+                && transparency == that.transparency
+                && blend == that.blend
+                && sceneBlend1 == that.sceneBlend1
+                && sceneBlend2 == that.sceneBlend2
+                && Objects.equals(name, that.name)
+                && Objects.equals(path, that.path)
+                && Objects.equals(path2, that.path2)
+                && Objects.equals(pathTemplate, that.pathTemplate)
+                && Objects.equals(path2Template, that.path2Template)
+                && Objects.equals(glowFile, that.glowFile);
     }
 
-    public void setPath2(String path2) {
-        this.path2 = path2;
+    @Override
+    public int hashCode() {
+        return Objects.hash(transparency, path, glowFile, name, affectedByLight, blend, sceneBlend1, sceneBlend2, path2,
+                pathTemplate, path2Template);
     }
 
+    /**
+     * Collect the material values while parsing, initialized with the default values: no transparency, no blending,
+     * affected by the light and empty paths.
+     */
+    static final class Builder {
+
+        private Transparency transparency = Transparency.NONE;
+
+        private String path = "";
+
+        private String glowFile = "";
+
+        private String name = "";
+
+        private boolean affectedByLight = true;
+
+        private BlendMode blend = BlendMode.NONE;
+
+        private SceneBlend sceneBlend1 = SceneBlend.NONE;
+
+        private SceneBlend sceneBlend2 = SceneBlend.NONE;
+
+        private String path2 = "";
+
+        private String pathTemplate = "";
+
+        private String path2Template = "";
+
+        /**
+         * Set the texture path from the script value.
+         *
+         * @param template Path as written in the script, can contain variables as the screen size.
+         * @param context  Values of the variables.
+         */
+        Builder setPath(final String template, final PathContext context) {
+            this.pathTemplate = template;
+            this.path = PathTemplate.compile(template).render(context);
+            return this;
+        }
+
+        /**
+         * Set the second texture path from the script value.
+         *
+         * @param template Path as written in the script, can contain variables as the screen size.
+         * @param context  Values of the variables.
+         */
+        Builder setPath2(final String template, final PathContext context) {
+            this.path2Template = template;
+            this.path2 = PathTemplate.compile(template).render(context);
+            return this;
+        }
+
+        /**
+         * Set scene blend values, separated by '&'.
+         *
+         * @param value Value for the scene blend.
+         */
+        Builder setSceneBlend(final String value) {
+            final int separator = value.indexOf('&');
+            if (separator < 0) {
+                throw new IllegalArgumentException(value + " is not a valid scene blend, two values separated by '&' are expected.");
+            }
+            final int next = ScriptValues.indexOf(value, '&', separator + 1, value.length());
+            this.sceneBlend1 = ScriptValues.parseEnum(SCENE_BLENDS, value, 0, separator);
+            this.sceneBlend2 = ScriptValues.parseEnum(SCENE_BLENDS, value, separator + 1, next < 0 ? value.length() : next);
+            return this;
+        }
+
+        /**
+         * Set the transparency value.
+         *
+         * @param transparencyMode New Transparent capability for the material.
+         * @throw IllegalArgumentException If the capability cannot be
+         * recognized(should be "alpha" or "color" or "none").
+         */
+        Builder setTransparency(final String transparencyMode) {
+            switch (transparencyMode) {
+                case "alpha":
+                    this.transparency = Transparency.ALPHA;
+                    break;
+                case "color":
+                    this.transparency = Transparency.COLOR;
+                    break;
+                case "none":
+                    this.transparency = Transparency.NONE;
+                    break;
+                default:
+                    throw new IllegalArgumentException(transparencyMode + " is not a valid transparency value, "
+                            + "only 'alpha', 'color' or 'none' are accepted.");
+            }
+            return this;
+        }
+
+        /**
+         * @param affected <code>true</code> if the material should be affected by the
+         *                 lightning, only "true" and "false" values accepted.
+         */
+        Builder setAffectedByLight(final String affected) {
+            switch (affected) {
+                case "true":
+                    this.affectedByLight = true;
+                    break;
+                case "false":
+                    this.affectedByLight = false;
+                    break;
+                default:
+                    throw new IllegalArgumentException(affected + " is not a valid  value, " + "only 'true' or 'false' are accepted.");
+            }
+            return this;
+        }
+
+        /**
+         * Set the material first pass blend mode.
+         *
+         * @param blendMode Blend type, accepted values are "add", "subtract", "none",
+         *                  "min," "max".
+         */
+        Builder setBlend(final String blendMode) {
+            switch (blendMode) {
+                case "add":
+                    this.blend = BlendMode.ADD;
+                    break;
+                case "subtract":
+                    this.blend = BlendMode.SUBTRACT;
+                    break;
+                case "none":
+                    this.blend = BlendMode.NONE;
+                    break;
+                case "min":
+                    this.blend = BlendMode.MIN;
+                    break;
+                case "max":
+                    this.blend = BlendMode.MAX;
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown value");
+            }
+            return this;
+        }
+
+        Builder setTransparency(final Transparency transparency) {
+            this.transparency = transparency;
+            return this;
+        }
+
+        Builder setAffectedByLight(final boolean affected) {
+            this.affectedByLight = affected;
+            return this;
+        }
+
+        Builder setBlend(final BlendMode blendMode) {
+            this.blend = blendMode;
+            return this;
+        }
+
+        Builder setSceneBlend(final SceneBlend first, final SceneBlend second) {
+            this.sceneBlend1 = first;
+            this.sceneBlend2 = second;
+            return this;
+        }
+
+        Builder setPath(final String path) {
+            this.path = path;
+            this.pathTemplate = path;
+            return this;
+        }
+
+        Builder setGlowFile(final String glowFile) {
+            this.glowFile = glowFile;
+            return this;
+        }
+
+        Builder setName(final String name) {
+            this.name = name;
+            return this;
+        }
+
+        Builder setPath2(final String path2) {
+            this.path2 = path2;
+            this.path2Template = path2;
+            return this;
+        }
+
+        /**
+         * @return The definition with the values set so far.
+         */
+        SimpleMaterialDefinition build() {
+            return new SimpleMaterialDefinition(this);
+        }
+    }
 }
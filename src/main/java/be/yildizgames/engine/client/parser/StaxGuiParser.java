@@ -0,0 +1,218 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming XML parser building the GuiContainer and their children definitions in a single forward pass,
+ * without building a document. Only the elements of the widget being read are kept in memory.
+ * The container values are applied as soon as they are read, the values of a widget once its element is closed.
+ * The relative positions are resolved once the whole script is read, as for the document parser.
+ *
+ * @author Grégory Van den Borre
+ */
+final class StaxGuiParser implements GuiParser {
+
+    /**
+     * Contains the screen size data.
+     */
+    private final ScreenSize screen;
+
+    /**
+     * Named definitions of the views parsed by this parser, to compute the relative positions.
+     */
+    private final LayoutScope scope;
+
+    /**
+     * Simple constructor.
+     *
+     * @param screen Screen size data.
+     */
+    StaxGuiParser(final ScreenSize screen) {
+        this(screen, new LayoutScope());
+    }
+
+    /**
+     * Full constructor.
+     *
+     * @param screen Screen size data.
+     * @param scope  Scope to resolve the relative positions in, can be shared with other parsers of the same load.
+     */
+    StaxGuiParser(final ScreenSize screen, final LayoutScope scope) {
+        super();
+        this.screen = screen;
+        this.scope = scope;
+    }
+
+    @Override
+    public List<ContainerDefinition> parse(final Path xmlFile) throws ParserException {
+        return this.resolve(XmlDocuments.stream(xmlFile, this::read));
+    }
+
+    @Override
+    public List<ContainerDefinition> parse(final ByteBuffer content) throws ParserException {
+        return this.resolve(XmlDocuments.stream(content, this::read));
+    }
+
+    /**
+     * Register the parsed views in the parser scope to resolve their relative positions.
+     *
+     * @param views Parsed views.
+     * @return The views.
+     * @throws ParserException If relative positions refer to each other in a cycle.
+     */
+    private List<ContainerDefinition> resolve(final List<ContainerDefinition> views) {
+        this.scope.add(views);
+        return views;
+    }
+
+    private List<ContainerDefinition> read(final XMLStreamReader xml) throws XMLStreamException {
+        final List<ContainerDefinition> resultList = new ArrayList<>();
+        final WidgetValues widget = new WidgetValues();
+        while (xml.hasNext()) {
+            if (xml.next() == XMLStreamConstants.START_ELEMENT && XmlGuiParser.CONTAINER.equals(xml.getLocalName())) {
+                resultList.add(this.readContainer(xml, widget));
+            }
+        }
+        return resultList;
+    }
+
+    /**
+     * Read a container element.
+     *
+     * @param xml    Stream positioned on the container start element, positioned on its end element when returning.
+     * @param widget Holder for the widget values, reused for each widget.
+     * @return The container definition.
+     * @throws XMLStreamException If the stream is not a valid XML document.
+     */
+    private ContainerDefinition readContainer(final XMLStreamReader xml, final WidgetValues widget) throws XMLStreamException {
+        final ContainerDefinition def = new ContainerDefinition(this.screen);
+        while (StaxGuiParser.nextElement(xml)) {
+            final String name = xml.getLocalName();
+            switch (name) {
+                case XmlGuiParser.CHILDREN:
+                    while (StaxGuiParser.nextElement(xml)) {
+                        this.readWidget(xml, def, widget);
+                    }
+                    break;
+                case XmlGuiParser.NODE_Z:
+                    def.setZ(StaxGuiParser.readText(xml));
+                    break;
+                case XmlGuiParser.MATERIAL:
+                    def.setMaterial(StaxGuiParser.readText(xml));
+                    break;
+                default:
+                    XmlGuiParser.setCommonData(def, name, StaxGuiParser.readText(xml));
+                    break;
+            }
+        }
+        return def;
+    }
+
+    /**
+     * Read a widget element and add its definition to the container, unknown widgets are ignored.
+     *
+     * @param xml       Stream positioned on the widget start element, positioned on its end element when returning.
+     * @param container Container to add the widget to.
+     * @param widget    Holder for the widget values.
+     * @throws XMLStreamException If the stream is not a valid XML document.
+     */
+    private void readWidget(final XMLStreamReader xml, final ContainerDefinition container, final WidgetValues widget) throws XMLStreamException {
+        final String type = xml.getLocalName();
+        widget.clear();
+        while (StaxGuiParser.nextElement(xml)) {
+            widget.add(xml.getLocalName(), StaxGuiParser.readText(xml));
+        }
+        widget.build(type, container, this.screen);
+    }
+
+    /**
+     * Move to the next child element of the current element.
+     *
+     * @param xml Stream positioned on a start element or on the end element of a previous child.
+     * @return True if positioned on the start element of the next child, false if positioned on the end element of
+     * the current element.
+     * @throws XMLStreamException If the stream is not a valid XML document.
+     */
+    private static boolean nextElement(final XMLStreamReader xml) throws XMLStreamException {
+        while (true) {
+            switch (xml.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    return true;
+                case XMLStreamConstants.END_ELEMENT:
+                    return false;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Read the text content of the current element, including the text of its descendants.
+     *
+     * @param xml Stream positioned on a start element, positioned on its end element when returning.
+     * @return The element text content.
+     * @throws XMLStreamException If the stream is not a valid XML document.
+     */
+    private static String readText(final XMLStreamReader xml) throws XMLStreamException {
+        String single = "";
+        StringBuilder text = null;
+        int level = 1;
+        while (level > 0) {
+            switch (xml.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    level++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    level--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (text == null && single.isEmpty()) {
+                        single = xml.getText();
+                    } else {
+                        if (text == null) {
+                            text = new StringBuilder(single);
+                        }
+                        text.append(xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return text == null ? single : text.toString();
+    }
+}
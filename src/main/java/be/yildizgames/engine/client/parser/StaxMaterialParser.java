@@ -0,0 +1,183 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streaming XML parser to build SimpleMaterialDefinition in a single forward pass, without building a document.
+ * The definitions are the same as the ones built by XmlMaterialParser for the same file.
+ *
+ * @author Grégory Van den Borre
+ */
+final class StaxMaterialParser implements MaterialParser {
+
+    /**
+     * Element containing a material definition.
+     */
+    private static final String MATERIAL = "material";
+
+    /**
+     * Values of the variables in the file paths, computed once from the screen size.
+     */
+    private final PathContext paths;
+
+    /**
+     * Full constructor.
+     *
+     * @param screenSize Screen size.
+     */
+    StaxMaterialParser(final ScreenSize screenSize) {
+        super();
+        this.paths = PathContext.of(screenSize);
+    }
+
+    @Override
+    public List<SimpleMaterialDefinition> parse(final Path xmlFile) {
+        final List<SimpleMaterialDefinition> result = new ArrayList<>();
+        this.parse(xmlFile, result::add);
+        return result;
+    }
+
+    @Override
+    public List<SimpleMaterialDefinition> parse(final ByteBuffer content) {
+        final List<SimpleMaterialDefinition> result = new ArrayList<>();
+        this.parse(content, result::add);
+        return result;
+    }
+
+    /**
+     * Read the material definitions from a file, each material is given to the consumer as soon as its end
+     * element is read, before the rest of the file.
+     *
+     * @param xmlFile  XML file.
+     * @param consumer Receive the definitions, in the file order.
+     */
+    @Override
+    public void parse(final Path xmlFile, final Consumer<? super SimpleMaterialDefinition> consumer) {
+        XmlDocuments.stream(xmlFile, xml -> this.read(xml, consumer));
+    }
+
+    @Override
+    public void parse(final ByteBuffer content, final Consumer<? super SimpleMaterialDefinition> consumer) {
+        XmlDocuments.stream(content, xml -> this.read(xml, consumer));
+    }
+
+    private Void read(final XMLStreamReader xml, final Consumer<? super SimpleMaterialDefinition> consumer) throws XMLStreamException {
+        // materials not given yet, in the start element order as in the DOM parser, given once the outermost is closed.
+        final List<SimpleMaterialDefinition.Builder> pending = new ArrayList<>();
+        // materials being read, the innermost first, materials are not expected to be nested but are in the DOM parser.
+        final Deque<OpenMaterial> open = new ArrayDeque<>();
+        int depth = 0;
+        while (xml.hasNext()) {
+            switch (xml.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    final OpenMaterial current = open.peek();
+                    if (current != null && depth == current.depth + 1) {
+                        current.property = xml.getLocalName();
+                    }
+                    if (MATERIAL.equals(xml.getLocalName())) {
+                        final SimpleMaterialDefinition.Builder def = new SimpleMaterialDefinition.Builder();
+                        pending.add(def);
+                        open.push(new OpenMaterial(def, depth));
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    for (final OpenMaterial m : open) {
+                        if (m.property != null) {
+                            m.text.append(xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+                        }
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    if (!open.isEmpty() && open.peek().depth == depth) {
+                        open.pop();
+                    }
+                    for (final OpenMaterial m : open) {
+                        if (m.property != null && depth == m.depth + 1) {
+                            XmlMaterialParser.setProperty(m.definition, m.property, m.text.toString(), this.paths);
+                            m.property = null;
+                            m.text.setLength(0);
+                        }
+                    }
+                    depth--;
+                    if (open.isEmpty() && !pending.isEmpty()) {
+                        pending.forEach(b -> consumer.accept(b.build()));
+                        pending.clear();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Material element being read.
+     */
+    private static final class OpenMaterial {
+
+        /**
+         * Builder of the definition being filled.
+         */
+        private final SimpleMaterialDefinition.Builder definition;
+
+        /**
+         * Depth of the material element.
+         */
+        private final int depth;
+
+        /**
+         * Text content of the property element being read.
+         */
+        private final StringBuilder text = new StringBuilder();
+
+        /**
+         * Name of the property element being read, null if none.
+         */
+        private String property;
+
+        private OpenMaterial(final SimpleMaterialDefinition.Builder definition, final int depth) {
+            super();
+            this.definition = definition;
+            this.depth = depth;
+        }
+    }
+}
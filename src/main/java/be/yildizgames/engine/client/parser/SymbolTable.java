@@ -0,0 +1,112 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shared table of the names used in the GUI views, widget, material and font names, each distinct string is stored
+ * once and referred to by an int id.
+ * Interning is synchronized, reading a symbol by its id is lock free so views can be read from the render thread while
+ * other views are loaded.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class SymbolTable {
+
+    /**
+     * Id used for a missing value.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * Ids by symbol, guarded by this table.
+     */
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    /**
+     * Symbols by id, replaced by a larger copy when full, published once the new symbol is written.
+     */
+    private volatile String[] symbols = new String[64];
+
+    /**
+     * Number of symbols, guarded by this table.
+     */
+    private int size;
+
+    /**
+     * Retrieve the id of a symbol, adding it if not yet known.
+     *
+     * @param symbol Symbol to intern, can be null.
+     * @return The symbol id, NONE for null.
+     */
+    public synchronized int intern(final String symbol) {
+        if (symbol == null) {
+            return NONE;
+        }
+        final Integer id = this.ids.get(symbol);
+        if (id != null) {
+            return id;
+        }
+        String[] array = this.symbols;
+        if (this.size == array.length) {
+            array = Arrays.copyOf(array, array.length * 2);
+        }
+        array[this.size] = symbol;
+        this.symbols = array;
+        this.ids.put(symbol, this.size);
+        return this.size++;
+    }
+
+    /**
+     * Retrieve the id of a symbol without adding it.
+     *
+     * @param symbol Symbol to find.
+     * @return The symbol id, NONE if not interned.
+     */
+    public synchronized int find(final String symbol) {
+        final Integer id = this.ids.get(symbol);
+        return id == null ? NONE : id;
+    }
+
+    /**
+     * Retrieve a symbol.
+     *
+     * @param id Symbol id, as returned by intern.
+     * @return The symbol, null for NONE.
+     */
+    public String get(final int id) {
+        return id == NONE ? null : this.symbols[id];
+    }
+
+    /**
+     * @return The number of distinct symbols.
+     */
+    public synchronized int size() {
+        return this.size;
+    }
+}
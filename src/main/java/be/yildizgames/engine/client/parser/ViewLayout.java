@@ -0,0 +1,265 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import java.util.List;
+
+/**
+ * Compact read only form of a parsed view, for views with thousands of widgets.
+ * The widget values are stored in columns indexed by the widget index: the container is at index 0, its children
+ * follow in the order they were added. Coordinates are primitive columns, names, materials and fonts are ids in a
+ * SymbolTable shared between the views, so no object is kept per widget and the accessors do not allocate.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class ViewLayout {
+
+    private static final WidgetType[] TYPES = WidgetType.values();
+
+    /**
+     * Table holding the names, materials and fonts.
+     */
+    private final SymbolTable symbols;
+
+    /**
+     * Container Z position.
+     */
+    private final int z;
+
+    private final byte[] types;
+
+    private final int[] left;
+
+    private final int[] top;
+
+    private final int[] width;
+
+    private final int[] height;
+
+    private final int[] names;
+
+    private final int[] materials;
+
+    private final int[] materialHighlights;
+
+    private final int[] fonts;
+
+    private ViewLayout(final SymbolTable symbols, final int z, final int size) {
+        super();
+        this.symbols = symbols;
+        this.z = z;
+        this.types = new byte[size];
+        this.left = new int[size];
+        this.top = new int[size];
+        this.width = new int[size];
+        this.height = new int[size];
+        this.names = new int[size];
+        this.materials = new int[size];
+        this.materialHighlights = new int[size];
+        this.fonts = new int[size];
+    }
+
+    /**
+     * Build the compact form of a view, the definitions are no longer needed once done.
+     *
+     * @param view    Parsed view.
+     * @param symbols Table to store the names, materials and fonts.
+     * @return The view layout.
+     * @throws IllegalArgumentException If the view contains a widget type without layout support.
+     */
+    public static ViewLayout of(final ContainerDefinition view, final SymbolTable symbols) {
+        final List<GuiCommonDefinition> children = view.getChildren();
+        final ViewLayout layout = new ViewLayout(symbols, view.getZ(), children.size() + 1);
+        layout.set(0, WidgetType.CONTAINER, view, view.getMaterialName(), null, null);
+        for (int i = 0; i < children.size(); i++) {
+            final GuiCommonDefinition child = children.get(i);
+            final int index = i + 1;
+            if (child instanceof ImageDefinition) {
+                layout.set(index, WidgetType.IMAGE, child, ((ImageDefinition) child).getMaterialName(), null, null);
+            } else if (child instanceof TextLineDefinition) {
+                layout.set(index, WidgetType.TEXT_LINE, child, null, null, ((TextLineDefinition) child).getFont());
+            } else if (child instanceof ButtonDefinition) {
+                final ButtonDefinition button = (ButtonDefinition) child;
+                layout.set(index, WidgetType.BUTTON, child, button.getMaterial(), button.getMaterialHighlight(), button.getFont());
+            } else if (child instanceof InputBoxDefinition) {
+                final InputBoxDefinition input = (InputBoxDefinition) child;
+                layout.set(index, WidgetType.INPUT_BOX, child, input.getMaterialName(), input.getMaterialHighlightName(), input.getFontName());
+            } else if (child instanceof TextAreaDefinition) {
+                final TextAreaDefinition area = (TextAreaDefinition) child;
+                layout.set(index, WidgetType.TEXT_AREA, child, area.getMaterial(), null, area.getFont());
+            } else {
+                throw new IllegalArgumentException("Unsupported widget " + child.getName() + " in " + view.getName()
+                        + ": " + child.getClass().getSimpleName());
+            }
+        }
+        return layout;
+    }
+
+    private void set(final int index, final WidgetType type, final GuiCommonDefinition def, final String material, final String highlight, final String font) {
+        this.types[index] = (byte) type.ordinal();
+        this.names[index] = this.symbols.intern(def.getName());
+        this.materials[index] = this.symbols.intern(material);
+        this.materialHighlights[index] = this.symbols.intern(highlight);
+        this.fonts[index] = this.symbols.intern(font);
+        this.copyCoordinates(index, def);
+    }
+
+    private void copyCoordinates(final int index, final GuiCommonDefinition def) {
+        this.left[index] = def.getLeft();
+        this.top[index] = def.getTop();
+        this.width[index] = def.getWidth();
+        this.height[index] = def.getHeight();
+    }
+
+    /**
+     * Copy the coordinates again from the view this layout was built from, once relaid out for a new screen size.
+     *
+     * @param view View this layout was built from.
+     * @throws IllegalArgumentException If the view does not have the same widgets.
+     */
+    public void update(final ContainerDefinition view) {
+        final List<GuiCommonDefinition> children = view.getChildren();
+        if (children.size() + 1 != this.size() || this.names[0] != this.symbols.find(view.getName())) {
+            throw new IllegalArgumentException("The layout was not built from " + view.getName());
+        }
+        this.copyCoordinates(0, view);
+        for (int i = 0; i < children.size(); i++) {
+            this.copyCoordinates(i + 1, children.get(i));
+        }
+    }
+
+    /**
+     * @return The number of widgets, the container included.
+     */
+    public int size() {
+        return this.types.length;
+    }
+
+    /**
+     * Find a widget by its name.
+     *
+     * @param name Widget name.
+     * @return The widget index, -1 if not in this view.
+     */
+    public int indexOf(final String name) {
+        final int id = this.symbols.find(name);
+        if (id != SymbolTable.NONE) {
+            for (int i = 0; i < this.names.length; i++) {
+                if (this.names[i] == id) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    public int getZ() {
+        return this.z;
+    }
+
+    public WidgetType getType(final int index) {
+        return TYPES[this.types[index]];
+    }
+
+    public int getLeft(final int index) {
+        return this.left[index];
+    }
+
+    public int getTop(final int index) {
+        return this.top[index];
+    }
+
+    public int getWidth(final int index) {
+        return this.width[index];
+    }
+
+    public int getHeight(final int index) {
+        return this.height[index];
+    }
+
+    public String getName(final int index) {
+        return this.symbols.get(this.names[index]);
+    }
+
+    /**
+     * @param index Widget index.
+     * @return The background material name, null if the widget type has none.
+     */
+    public String getMaterial(final int index) {
+        return this.symbols.get(this.materials[index]);
+    }
+
+    /**
+     * @param index Widget index.
+     * @return The highlight material name, null if the widget type has none.
+     */
+    public String getMaterialHighlight(final int index) {
+        return this.symbols.get(this.materialHighlights[index]);
+    }
+
+    /**
+     * @param index Widget index.
+     * @return The font name, null if the widget type has none.
+     */
+    public String getFont(final int index) {
+        return this.symbols.get(this.fonts[index]);
+    }
+
+    /**
+     * Kind of widget stored in a layout.
+     */
+    public enum WidgetType {
+
+        /**
+         * The view container, always at index 0.
+         */
+        CONTAINER,
+
+        /**
+         * Image, with a material.
+         */
+        IMAGE,
+
+        /**
+         * Text line, with a font.
+         */
+        TEXT_LINE,
+
+        /**
+         * Button, with a material, a highlight material and a font.
+         */
+        BUTTON,
+
+        /**
+         * Input box, with a material, a highlight material and a font.
+         */
+        INPUT_BOX,
+
+        /**
+         * Text area, with a material and a font.
+         */
+        TEXT_AREA
+    }
+}
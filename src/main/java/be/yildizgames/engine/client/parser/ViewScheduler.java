@@ -0,0 +1,305 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.graphic.material.Material;
+import be.yildizgames.module.window.ScreenSize;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Release the parsed views for building as soon as the materials and fonts they use are loaded.
+ * The dependencies are the material and font names referenced by the container and its widgets, and the widgets
+ * of other views their relative positions refer to, resolved when those views are parsed. A view waiting for a
+ * resource never loaded or for a widget never defined is released when flushed.
+ * Not thread safe, all calls must be done from the engine executor.
+ *
+ * @author Grégory Van den Borre
+ */
+final class ViewScheduler {
+
+    private static final System.Logger LOGGER = System.getLogger(ViewScheduler.class.getName());
+
+    /**
+     * Views waiting for a material, by material name.
+     */
+    private final Map<String, List<PendingView>> materialWaiters = new HashMap<>();
+
+    /**
+     * Views waiting for a font, by font name.
+     */
+    private final Map<String, List<PendingView>> fontWaiters = new HashMap<>();
+
+    /**
+     * Views waiting for a relative position to be resolved.
+     */
+    private final List<PendingView> layoutWaiters = new ArrayList<>();
+
+    /**
+     * Views not yet released, in registration order.
+     */
+    private final Set<PendingView> pending = new LinkedHashSet<>();
+
+    /**
+     * Number of views not yet released, per file.
+     */
+    private final Map<Path, Integer> remainingPerFile = new HashMap<>();
+
+    /**
+     * Names of the materials already loaded.
+     */
+    private final Set<String> loadedMaterials;
+
+    /**
+     * Names of the fonts already loaded.
+     */
+    private final Set<String> loadedFonts;
+
+    /**
+     * Build a released view.
+     */
+    private final Consumer<ContainerDefinition> builder;
+
+    /**
+     * Notified once all views of a file are released.
+     */
+    private final Consumer<Path> fileDone;
+
+    /**
+     * Create a new scheduler.
+     *
+     * @param loadedMaterials Names of the materials already loaded, kept up to date by the caller.
+     * @param loadedFonts     Names of the fonts already loaded, kept up to date by the caller.
+     * @param builder         Build a released view.
+     * @param fileDone        Notified once all views of a file are released.
+     */
+    ViewScheduler(final Set<String> loadedMaterials, final Set<String> loadedFonts, final Consumer<ContainerDefinition> builder, final Consumer<Path> fileDone) {
+        super();
+        this.loadedMaterials = loadedMaterials;
+        this.loadedFonts = loadedFonts;
+        this.builder = builder;
+        this.fileDone = fileDone;
+    }
+
+    /**
+     * Register the views parsed from a file, the views whose dependencies are already loaded are released directly.
+     *
+     * @param file  Parsed file.
+     * @param views Views parsed from the file.
+     */
+    void add(final Path file, final List<ContainerDefinition> views) {
+        this.checkLayouts();
+        this.remainingPerFile.put(file, views.size());
+        if (views.isEmpty()) {
+            this.fileDone.accept(file);
+        }
+        for (final ContainerDefinition view : views) {
+            final PendingView p = new PendingView(file, view);
+            final Set<String> materials = new LinkedHashSet<>();
+            final Set<String> fonts = new LinkedHashSet<>();
+            ViewScheduler.collectDependencies(view, materials, fonts);
+            materials.removeAll(this.loadedMaterials);
+            fonts.removeAll(this.loadedFonts);
+            p.missing = materials.size() + fonts.size();
+            if (!view.isLayoutResolved()) {
+                p.missing++;
+                this.layoutWaiters.add(p);
+            }
+            materials.forEach(m -> this.materialWaiters.computeIfAbsent(m, k -> new ArrayList<>()).add(p));
+            fonts.forEach(f -> this.fontWaiters.computeIfAbsent(f, k -> new ArrayList<>()).add(p));
+            this.pending.add(p);
+            if (p.missing == 0) {
+                this.release(p);
+            }
+        }
+    }
+
+    /**
+     * Notify a material has been loaded, release the views waiting only for it.
+     *
+     * @param name Material name.
+     */
+    void materialLoaded(final String name) {
+        this.resolve(this.materialWaiters.remove(name));
+    }
+
+    /**
+     * Notify a font has been loaded, release the views waiting only for it.
+     *
+     * @param name Font name.
+     */
+    void fontLoaded(final String name) {
+        this.resolve(this.fontWaiters.remove(name));
+    }
+
+    /**
+     * Release all the views still waiting, in registration order, to be called once every resource is loaded.
+     */
+    void flush() {
+        this.materialWaiters.clear();
+        this.fontWaiters.clear();
+        this.checkLayouts();
+        this.layoutWaiters.forEach(p -> LOGGER.log(System.Logger.Level.WARNING, "Unresolved relative position in {0}", p.file));
+        this.layoutWaiters.clear();
+        new ArrayList<>(this.pending).forEach(this::release);
+    }
+
+    /**
+     * Release the views whose relative positions have been resolved by the parsing of other views.
+     */
+    private void checkLayouts() {
+        final List<PendingView> resolved = new ArrayList<>();
+        this.layoutWaiters.removeIf(p -> p.view.isLayoutResolved() && resolved.add(p));
+        this.resolve(resolved);
+    }
+
+    private void resolve(final List<PendingView> waiters) {
+        if (waiters == null) {
+            return;
+        }
+        for (final PendingView p : waiters) {
+            p.missing--;
+            if (p.missing == 0) {
+                this.release(p);
+            }
+        }
+    }
+
+    private void release(final PendingView p) {
+        if (!this.pending.remove(p)) {
+            return;
+        }
+        this.builder.accept(p.view);
+        final int remaining = this.remainingPerFile.merge(p.file, -1, Integer::sum);
+        if (remaining == 0) {
+            this.remainingPerFile.remove(p.file);
+            this.fileDone.accept(p.file);
+        }
+    }
+
+    /**
+     * Compute again the coordinates of views for a new screen size, from their layout expressions, and build them again.
+     * All the views are relaid out before the first is built, so a position relative to a widget of another view uses
+     * its new coordinates.
+     *
+     * @param views   Views to relayout.
+     * @param screen  New screen size.
+     * @param builder Build a view again.
+     */
+    static void relayout(final Collection<ContainerDefinition> views, final ScreenSize screen, final Consumer<ContainerDefinition> builder) {
+        final List<ContainerDefinition> copy = List.copyOf(views);
+        for (final ContainerDefinition view : copy) {
+            view.relayout(screen);
+        }
+        copy.forEach(builder);
+    }
+
+    /**
+     * Select the views using at least one of the given materials.
+     *
+     * @param views     Views to check.
+     * @param materials Material names.
+     * @return The views using one of the materials, in the given order.
+     */
+    static List<ContainerDefinition> using(final Collection<ContainerDefinition> views, final Set<String> materials) {
+        final List<ContainerDefinition> result = new ArrayList<>();
+        final Set<String> used = new HashSet<>();
+        final Set<String> fonts = new HashSet<>();
+        for (final ContainerDefinition view : views) {
+            used.clear();
+            ViewScheduler.collectDependencies(view, used, fonts);
+            if (!Collections.disjoint(used, materials)) {
+                result.add(view);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retrieve the material and font names used by a view.
+     *
+     * @param view      View to check.
+     * @param materials Filled with the material names.
+     * @param fonts     Filled with the font names.
+     */
+    static void collectDependencies(final ContainerDefinition view, final Set<String> materials, final Set<String> fonts) {
+        materials.add(view.getMaterialName());
+        view.getImageList().forEach(d -> materials.add(d.getMaterialName()));
+        view.getTextLineList().forEach(d -> fonts.add(d.getFont()));
+        view.getButtonList().forEach(d -> {
+            materials.add(d.getMaterial());
+            materials.add(d.getMaterialHighlight());
+            fonts.add(d.getFont());
+        });
+        view.getInputBoxList().forEach(d -> {
+            materials.add(d.getMaterialName());
+            materials.add(d.getMaterialHighlightName());
+            fonts.add(d.getFontName());
+        });
+        view.getTextAreaList().forEach(d -> {
+            materials.add(d.getMaterial());
+            fonts.add(d.getFont());
+        });
+        materials.remove(Material.EMPTY_NAME);
+        materials.remove("");
+        fonts.remove("");
+    }
+
+    /**
+     * A view waiting for its dependencies.
+     */
+    private static final class PendingView {
+
+        /**
+         * File the view was parsed from.
+         */
+        private final Path file;
+
+        /**
+         * View to build.
+         */
+        private final ContainerDefinition view;
+
+        /**
+         * Number of dependencies not yet loaded.
+         */
+        private int missing;
+
+        private PendingView(final Path file, final ContainerDefinition view) {
+            this.file = file;
+            this.view = view;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Values of a widget element read from a view script, in document order, used by the parsers not building a
+ * document to build the widget definition once the element is fully read. An instance is reused for each widget.
+ *
+ * @author Grégory Van den Borre
+ */
+final class WidgetValues {
+
+    private final List<String> names = new ArrayList<>();
+
+    private final List<String> values = new ArrayList<>();
+
+    void clear() {
+        this.names.clear();
+        this.values.clear();
+    }
+
+    void add(final String name, final String value) {
+        this.names.add(name);
+        this.values.add(value);
+    }
+
+    /**
+     * Check that the widget only contains the given elements.
+     *
+     * @param allowed Allowed element names.
+     * @return True if no other element was found.
+     */
+    boolean containsOnly(final String... allowed) {
+        final List<String> allowedNames = List.of(allowed);
+        for (final String name : this.names) {
+            if (!allowedNames.contains(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Build the definition of a widget and add it to its container, unknown widget types are ignored.
+     * The common data are applied first, then the widget specific values, as done by the document parser.
+     * Buttons accept the common data in addition of the material, highlight material and font.
+     *
+     * @param type      Widget element name.
+     * @param container Container to add the widget to.
+     * @param screen    Screen size data.
+     * @throws ParserException If a value is invalid or if a button contains an other element.
+     */
+    void build(final String type, final ContainerDefinition container, final ScreenSize screen) {
+        switch (type) {
+            case XmlGuiParser.IMAGE: {
+                final ImageDefinition imageDef = new ImageDefinition(screen);
+                this.applyCommonData(imageDef);
+                this.forEach(XmlGuiParser.MATERIAL, imageDef::setMaterial);
+                container.addImage(imageDef);
+                break;
+            }
+            case XmlGuiParser.TEXT_LINE: {
+                final TextLineDefinition textLineDef = new TextLineDefinition(screen);
+                this.applyCommonData(textLineDef);
+                this.forEach(XmlGuiParser.FONT, textLineDef::setFont);
+                container.addTextLine(textLineDef);
+                break;
+            }
+            case XmlGuiParser.BUTTON: {
+                for (final String name : this.names) {
+                    if (!XmlGuiParser.MATERIAL.equals(name) && !XmlGuiParser.MATERIAL_H.equals(name)
+                            && !XmlGuiParser.FONT.equals(name) && !XmlGuiParser.isCommonData(name)) {
+                        throw new ParserException("Invalid node: " + name);
+                    }
+                }
+                final ButtonDefinition buttonDef = new ButtonDefinition(this.get(XmlGuiParser.MATERIAL),
+                        this.get(XmlGuiParser.MATERIAL_H), this.get(XmlGuiParser.FONT), screen);
+                this.applyCommonData(buttonDef);
+                container.addButton(buttonDef);
+                break;
+            }
+            case XmlGuiParser.INPUT_BOX: {
+                final InputBoxDefinition inputDef = new InputBoxDefinition(this.get(XmlGuiParser.MATERIAL),
+                        this.get(XmlGuiParser.MATERIAL_H), this.get(XmlGuiParser.FONT), screen);
+                this.applyCommonData(inputDef);
+                container.addInputBox(inputDef);
+                break;
+            }
+            case XmlGuiParser.TEXT_AREA: {
+                final TextAreaDefinition textAreaDef = new TextAreaDefinition(screen);
+                this.applyCommonData(textAreaDef);
+                for (int i = 0; i < this.names.size(); i++) {
+                    if (XmlGuiParser.MATERIAL.equals(this.names.get(i))) {
+                        textAreaDef.setMaterial(this.values.get(i));
+                    } else if (XmlGuiParser.FONT.equals(this.names.get(i))) {
+                        textAreaDef.setFont(this.values.get(i));
+                    }
+                }
+                container.addTextArea(textAreaDef);
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    /**
+     * @param name Element name.
+     * @return The value of the last element with that name, an empty string if none.
+     */
+    private String get(final String name) {
+        final int index = this.names.lastIndexOf(name);
+        return index == -1 ? "" : this.values.get(index);
+    }
+
+    /**
+     * Apply a value for each element with that name, in document order.
+     *
+     * @param name   Element name.
+     * @param setter Setter to call.
+     */
+    private void forEach(final String name, final Consumer<String> setter) {
+        for (int i = 0; i < this.names.size(); i++) {
+            if (this.names.get(i).equals(name)) {
+                setter.accept(this.values.get(i));
+            }
+        }
+    }
+
+    private void applyCommonData(final GuiCommonDefinition def) {
+        for (int i = 0; i < this.names.size(); i++) {
+            XmlGuiParser.setCommonData(def, this.names.get(i), this.values.get(i));
+        }
+    }
+}
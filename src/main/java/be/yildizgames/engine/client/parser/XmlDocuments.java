@@ -0,0 +1,299 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+/**
+ * Read XML documents through the file system provider of their path, so scripts can be read from any file system,
+ * a zip archive for example, without being extracted first.
+ * The document builders and stream factories are costly to create compared to the parsing of a small script, they
+ * are pooled and reused: each parse takes an instance from the pool, or creates one if the pool is empty, and gives it
+ * back once done, so an instance is never used by two threads at the same time. Builders are reset between uses.
+ *
+ * @author Grégory Van den Borre
+ */
+final class XmlDocuments {
+
+    private static final System.Logger LOGGER = System.getLogger(XmlDocuments.class.getName());
+
+    /**
+     * Factory for the document builders, guarded by itself as factories are not thread safe.
+     */
+    private static final DocumentBuilderFactory FACTORY = XmlDocuments.createFactory();
+
+    /**
+     * Document builders not currently in use.
+     */
+    private static final Queue<DocumentBuilder> BUILDERS = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Streaming reader factories not currently in use.
+     */
+    private static final Queue<XMLInputFactory> INPUT_FACTORIES = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Source name used in the error messages for the content not read from a file.
+     */
+    private static final String SCRIPT = "script content";
+
+    private XmlDocuments() {
+        super();
+    }
+
+    /**
+     * Parse an XML file.
+     *
+     * @param file File to parse.
+     * @return The parsed document.
+     * @throws ParserException If the file cannot be read or is not a valid XML document.
+     */
+    static Document read(final Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return XmlDocuments.read(in, file.toUri().toString(), file);
+        } catch (final IOException e) {
+            throw new ParserException("Cannot parse " + file, e);
+        }
+    }
+
+    /**
+     * Parse an XML content.
+     *
+     * @param content Content to parse, from its position to its limit, the buffer position is not modified.
+     * @return The parsed document.
+     * @throws ParserException If the content is not a valid XML document.
+     */
+    static Document read(final ByteBuffer content) {
+        return XmlDocuments.read(new BufferInputStream(content), null, SCRIPT);
+    }
+
+    private static Document read(final InputStream in, final String systemId, final Object source) {
+        DocumentBuilder builder = BUILDERS.poll();
+        if (builder == null) {
+            builder = XmlDocuments.newBuilder();
+        }
+        try {
+            return systemId == null ? builder.parse(in) : builder.parse(in, systemId);
+        } catch (final IOException | SAXException e) {
+            throw new ParserException("Cannot parse " + source, e);
+        } finally {
+            builder.reset();
+            BUILDERS.offer(builder);
+        }
+    }
+
+    /**
+     * Read an XML file in a single forward pass, without building a document.
+     *
+     * @param file   File to read.
+     * @param reader Consume the stream events and build the result.
+     * @param <T>    Result type.
+     * @return The built result.
+     * @throws ParserException If the file cannot be read or is not a valid XML document.
+     */
+    static <T> T stream(final Path file, final StreamReader<T> reader) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return XmlDocuments.stream(in, file.toUri().toString(), file, reader);
+        } catch (final IOException e) {
+            throw new ParserException("Cannot parse " + file, e);
+        }
+    }
+
+    /**
+     * Read an XML content in a single forward pass, without building a document.
+     *
+     * @param content Content to read, from its position to its limit, the buffer position is not modified.
+     * @param reader  Consume the stream events and build the result.
+     * @param <T>     Result type.
+     * @return The built result.
+     * @throws ParserException If the content is not a valid XML document.
+     */
+    static <T> T stream(final ByteBuffer content, final StreamReader<T> reader) {
+        return XmlDocuments.stream(new BufferInputStream(content), null, SCRIPT, reader);
+    }
+
+    private static <T> T stream(final InputStream in, final String systemId, final Object source, final StreamReader<T> reader) {
+        XMLInputFactory factory = INPUT_FACTORIES.poll();
+        if (factory == null) {
+            factory = XmlDocuments.createInputFactory();
+        }
+        try {
+            final XMLStreamReader xml = systemId == null
+                    ? factory.createXMLStreamReader(in)
+                    : factory.createXMLStreamReader(systemId, in);
+            try {
+                return reader.read(xml);
+            } finally {
+                xml.close();
+            }
+        } catch (final XMLStreamException e) {
+            throw new ParserException("Cannot parse " + source, e);
+        } finally {
+            INPUT_FACTORIES.offer(factory);
+        }
+    }
+
+    /**
+     * Read a script with the ScriptTokenizer.
+     *
+     * @param file       File to read.
+     * @param vocabulary Element names of the script dialect.
+     * @param reader     Build the result from the tokens.
+     * @param <T>        Result type.
+     * @return The built result, null if the script is not in the subset supported by the tokenizer.
+     * @throws ParserException If the file cannot be read or if the reader rejects a value.
+     */
+    static <T> T tokenize(final Path file, final ScriptTokenizer.Vocabulary vocabulary, final Function<ScriptTokenizer, T> reader) {
+        final ByteBuffer content;
+        try {
+            content = ByteBuffer.wrap(Files.readAllBytes(file));
+        } catch (final IOException e) {
+            throw new ParserException("Cannot parse " + file, e);
+        }
+        return XmlDocuments.tokenize(content, file, vocabulary, reader);
+    }
+
+    /**
+     * Read a script content with the ScriptTokenizer.
+     *
+     * @param content    Content to read, from its position to its limit, the buffer position is not modified.
+     * @param vocabulary Element names of the script dialect.
+     * @param reader     Build the result from the tokens.
+     * @param <T>        Result type.
+     * @return The built result, null if the script is not in the subset supported by the tokenizer.
+     * @throws ParserException If the reader rejects a value.
+     */
+    static <T> T tokenize(final ByteBuffer content, final ScriptTokenizer.Vocabulary vocabulary, final Function<ScriptTokenizer, T> reader) {
+        return XmlDocuments.tokenize(content, SCRIPT, vocabulary, reader);
+    }
+
+    private static <T> T tokenize(final ByteBuffer content, final Object source, final ScriptTokenizer.Vocabulary vocabulary, final Function<ScriptTokenizer, T> reader) {
+        try {
+            return reader.apply(new ScriptTokenizer(content, vocabulary));
+        } catch (final ScriptTokenizer.UnsupportedSyntax e) {
+            LOGGER.log(System.Logger.Level.DEBUG, "{0} is not in the tokenizer subset, using the JDK parser", source);
+            return null;
+        }
+    }
+
+    private static DocumentBuilder newBuilder() {
+        synchronized (FACTORY) {
+            try {
+                return FACTORY.newDocumentBuilder();
+            } catch (final ParserConfigurationException e) {
+                throw new ParserException("Cannot create the XML parser.", e);
+            }
+        }
+    }
+
+    private static DocumentBuilderFactory createFactory() {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+        return factory;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * Input stream reading a buffer from its position to its limit, without modifying the buffer.
+     */
+    private static final class BufferInputStream extends InputStream {
+
+        /**
+         * Independent view of the buffer to read.
+         */
+        private final ByteBuffer buffer;
+
+        private BufferInputStream(final ByteBuffer buffer) {
+            super();
+            this.buffer = buffer.duplicate();
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(len, this.buffer.remaining());
+            this.buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+    }
+
+    /**
+     * Build a result from the events of an XML stream.
+     *
+     * @param <T> Result type.
+     */
+    @FunctionalInterface
+    interface StreamReader<T> {
+
+        /**
+         * Consume the events of the stream.
+         *
+         * @param xml Stream positioned at the document start.
+         * @return The built result.
+         * @throws XMLStreamException If the stream is not a valid XML document.
+         */
+        T read(XMLStreamReader xml) throws XMLStreamException;
+    }
+}
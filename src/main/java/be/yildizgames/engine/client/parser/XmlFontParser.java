@@ -25,14 +25,15 @@
 
 package be.yildizgames.engine.client.parser;
 
-import be.yildizgames.common.file.xml.XMLParser;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * XML parser to build FontDefinition from the XML document.
@@ -41,11 +42,36 @@ import java.util.List;
  */
 final class XmlFontParser implements FontParser {
 
+    /**
+     * Element containing a font definition.
+     */
+    private static final String FONT = "font";
+
+    /**
+     * Element names of the font scripts.
+     */
+    private static final ScriptTokenizer.Vocabulary NAMES = new ScriptTokenizer.Vocabulary(FONT, "name", "file", "size");
+
+    /**
+     * True to read the scripts with the ScriptTokenizer, and with the JDK parser only if not supported.
+     */
+    private final boolean fast;
+
     /**
      * Simple constructor.
      */
     XmlFontParser() {
+        this(false);
+    }
+
+    /**
+     * Full constructor.
+     *
+     * @param fast True to read the scripts with the ScriptTokenizer when possible.
+     */
+    XmlFontParser(final boolean fast) {
         super();
+        this.fast = fast;
     }
 
 
@@ -59,26 +85,101 @@ final class XmlFontParser implements FontParser {
     @Override
     public List<FontDefinition> parse(final Path xmlFile) {
         final List<FontDefinition> result = new ArrayList<>();
-        final Document doc = XMLParser.getDocument(xmlFile);
-        final NodeList fontList = doc.getElementsByTagName("font");
+        this.parse(xmlFile, result::add);
+        return result;
+    }
+
+    /**
+     * Read the font definitions from a script file, each definition is given to the consumer once complete.
+     * The scripts read with the ScriptTokenizer are read entirely before the first definition is given, so the JDK
+     * parser can still be used if the script is not supported.
+     *
+     * @param xmlFile  XML file.
+     * @param consumer Receive the definitions, in the script order.
+     */
+    @Override
+    public void parse(final Path xmlFile, final Consumer<? super FontDefinition> consumer) {
+        if (this.fast) {
+            final List<FontDefinition> result = XmlDocuments.tokenize(xmlFile, NAMES,
+                    t -> t.readRecords(FONT, FontDefinition.Builder::new, XmlFontParser::setProperty, FontDefinition.Builder::build));
+            if (result != null) {
+                result.forEach(consumer);
+                return;
+            }
+        }
+        this.build(XmlDocuments.read(xmlFile), consumer);
+    }
+
+    /**
+     * Build a list of font definitions from a script content, the content
+     * must be formed following the same schema as the files.
+     *
+     * @param content Script content, from its position to its limit, the buffer position is not modified.
+     * @return The list of font definitions.
+     */
+    @Override
+    public List<FontDefinition> parse(final ByteBuffer content) {
+        final List<FontDefinition> result = new ArrayList<>();
+        this.parse(content, result::add);
+        return result;
+    }
+
+    /**
+     * Read the font definitions from a script content, each definition is given to the consumer once complete.
+     * The scripts read with the ScriptTokenizer are read entirely before the first definition is given, so the JDK
+     * parser can still be used if the script is not supported.
+     *
+     * @param content  Script content, from its position to its limit, the buffer position is not modified.
+     * @param consumer Receive the definitions, in the script order.
+     */
+    @Override
+    public void parse(final ByteBuffer content, final Consumer<? super FontDefinition> consumer) {
+        if (this.fast) {
+            final List<FontDefinition> result = XmlDocuments.tokenize(content, NAMES,
+                    t -> t.readRecords(FONT, FontDefinition.Builder::new, XmlFontParser::setProperty, FontDefinition.Builder::build));
+            if (result != null) {
+                result.forEach(consumer);
+                return;
+            }
+        }
+        this.build(XmlDocuments.read(content), consumer);
+    }
+
+    /**
+     * Build the font definitions from the parsed document.
+     *
+     * @param doc      Parsed document.
+     * @param consumer Receive the definitions, in the document order.
+     */
+    private void build(final Document doc, final Consumer<? super FontDefinition> consumer) {
+        final NodeList fontList = doc.getElementsByTagName(FONT);
         for (int i = 0; i < fontList.getLength(); i++) {
             final Node font = fontList.item(i);
             final NodeList itemList = font.getChildNodes();
-            final FontDefinition def = new FontDefinition();
+            final FontDefinition.Builder def = new FontDefinition.Builder();
             for (int j = 0; j < itemList.getLength(); j++) {
                 final Node item = itemList.item(j);
-                final String itemName = item.getNodeName();
-                if ("name".equals(itemName)) {
-                    def.setName(item.getTextContent());
-                } else if ("file".equals(itemName)) {
-                    def.setPath(item.getTextContent());
-                } else if ("size".equals(itemName)) {
-                    def.setSize(item.getTextContent());
-                }
+                XmlFontParser.setProperty(def, item.getNodeName(), item.getTextContent());
             }
-            result.add(def);
+            consumer.accept(def.build());
+        }
+    }
+
+    /**
+     * Set a font property from an XML element, unknown elements are ignored.
+     *
+     * @param def      Builder of the definition to update.
+     * @param itemName Element name.
+     * @param value    Element text content.
+     */
+    private static void setProperty(final FontDefinition.Builder def, final String itemName, final String value) {
+        if ("name".equals(itemName)) {
+            def.setName(value);
+        } else if ("file".equals(itemName)) {
+            def.setPath(value);
+        } else if ("size".equals(itemName)) {
+            def.setSize(value);
         }
-        return result;
     }
 
 }
@@ -25,14 +25,12 @@
 
 package be.yildizgames.engine.client.parser;
 
-import be.yildizgames.common.file.xml.XMLParser;
-import be.yildizgames.module.graphic.Font;
-import be.yildizgames.module.graphic.material.Material;
 import be.yildizgames.module.window.ScreenSize;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -48,71 +46,110 @@ final class XmlGuiParser implements GuiParser {
     /**
      * Tag name for a GuiContainer.
      */
-    private static final String CONTAINER = "container";
+    static final String CONTAINER = "container";
 
     /**
      * Node name for the container Z attribute.
      */
-    private static final String NODE_Z = "z";
+    static final String NODE_Z = "z";
 
     /**
      * Node name for a material attribute.
      */
-    private static final String MATERIAL = "material";
+    static final String MATERIAL = "material";
 
     /**
      * Node name for a material highlight attribute.
      */
-    private static final String MATERIAL_H = "materialH";
+    static final String MATERIAL_H = "materialH";
 
     /**
      * Node name for a font attribute.
      */
-    private static final String FONT = "font";
+    static final String FONT = "font";
 
     /**
      * Node name for a container list of children.
      */
-    private static final String CHILDREN = "children";
+    static final String CHILDREN = "children";
 
     /**
      * Node name for a container image child.
      */
-    private static final String IMAGE = "image";
+    static final String IMAGE = "image";
 
     /**
      * Node name for a container input box child.
      */
-    private static final String INPUT_BOX = "input";
+    static final String INPUT_BOX = "input";
 
     /**
      * Node name for a container text line child.
      */
-    private static final String TEXT_LINE = "textline";
+    static final String TEXT_LINE = "textline";
 
     /**
      * Node name for a container text area child.
      */
-    private static final String TEXT_AREA = "textarea";
+    static final String TEXT_AREA = "textarea";
 
     /**
      * Node name for a container button child.
      */
-    private static final String BUTTON = "button";
+    static final String BUTTON = "button";
+
+    /**
+     * Element names of the view scripts.
+     */
+    private static final ScriptTokenizer.Vocabulary NAMES = new ScriptTokenizer.Vocabulary(CONTAINER, NODE_Z, MATERIAL,
+            MATERIAL_H, FONT, CHILDREN, IMAGE, INPUT_BOX, TEXT_LINE, TEXT_AREA, BUTTON, "name", "x", "y", "width", "height");
 
     /**
      * Contains the screen size data.
      */
     private ScreenSize screen;
 
+    /**
+     * Named definitions of the views parsed by this parser, to compute the relative positions.
+     */
+    private final LayoutScope scope;
+
+    /**
+     * True to read the scripts with the ScriptTokenizer, and with the JDK parser only if not supported.
+     */
+    private final boolean fast;
+
     /**
      * Simple constructor.
      *
      * @param screen Screen size data.
      */
     XmlGuiParser(final ScreenSize screen) {
+        this(screen, false);
+    }
+
+    /**
+     * Constructor with the reader to use.
+     *
+     * @param screen Screen size data.
+     * @param fast   True to read the scripts with the ScriptTokenizer when possible.
+     */
+    XmlGuiParser(final ScreenSize screen, final boolean fast) {
+        this(screen, fast, new LayoutScope());
+    }
+
+    /**
+     * Full constructor.
+     *
+     * @param screen Screen size data.
+     * @param fast   True to read the scripts with the ScriptTokenizer when possible.
+     * @param scope  Scope to resolve the relative positions in, can be shared with other parsers of the same load.
+     */
+    XmlGuiParser(final ScreenSize screen, final boolean fast, final LayoutScope scope) {
         super();
         this.screen = screen;
+        this.fast = fast;
+        this.scope = scope;
     }
 
     /**
@@ -126,26 +163,57 @@ final class XmlGuiParser implements GuiParser {
     private static void retrieveCommonData(final NodeList list, final GuiCommonDefinition def) throws ParserException {
         for (int i = 0; i < list.getLength(); i++) {
             final Node item = list.item(i);
-            final String value = item.getTextContent();
-            switch (item.getNodeName()) {
-                case "name":
-                    def.setName(value);
-                    break;
-                case "x":
-                    def.setLeft(value);
-                    break;
-                case "y":
-                    def.setTop(value);
-                    break;
-                case "width":
-                    def.setWidth(value);
-                    break;
-                case "height":
-                    def.setHeight(value);
-                    break;
-                default:
-                    break;
-            }
+            XmlGuiParser.setCommonData(def, item.getNodeName(), item.getTextContent());
+        }
+    }
+
+    /**
+     * Set one of the common data for all GUI elements.
+     *
+     * @param def      Definition to fill the data.
+     * @param property Element name.
+     * @param value    Element text content.
+     * @return True if the element is a common data, false if it was ignored.
+     * @throws ParserException If the value is invalid.
+     */
+    static boolean setCommonData(final GuiCommonDefinition def, final String property, final String value) throws ParserException {
+        switch (property) {
+            case "name":
+                def.setName(value);
+                return true;
+            case "x":
+                def.setLeft(value);
+                return true;
+            case "y":
+                def.setTop(value);
+                return true;
+            case "width":
+                def.setWidth(value);
+                return true;
+            case "height":
+                def.setHeight(value);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Check if an element is one of the common data for all GUI elements.
+     *
+     * @param property Element name.
+     * @return True if the element is a common data.
+     */
+    static boolean isCommonData(final String property) {
+        switch (property) {
+            case "name":
+            case "x":
+            case "y":
+            case "width":
+            case "height":
+                return true;
+            default:
+                return false;
         }
     }
 
@@ -158,8 +226,54 @@ final class XmlGuiParser implements GuiParser {
      */
     @Override
     public List<ContainerDefinition> parse(final Path xmlFile) throws ParserException {
+        if (this.fast) {
+            final List<ContainerDefinition> result = XmlDocuments.tokenize(xmlFile, NAMES, this::read);
+            if (result != null) {
+                return this.resolve(result);
+            }
+        }
+        return this.resolve(this.build(XmlDocuments.read(xmlFile)));
+    }
+
+    /**
+     * Build a list of container definitions from a script content, the content
+     * must be formed following the same schema as the files.
+     *
+     * @param content Script content, from its position to its limit, the buffer position is not modified.
+     * @return The list of container definitions.
+     */
+    @Override
+    public List<ContainerDefinition> parse(final ByteBuffer content) throws ParserException {
+        if (this.fast) {
+            final List<ContainerDefinition> result = XmlDocuments.tokenize(content, NAMES, this::read);
+            if (result != null) {
+                return this.resolve(result);
+            }
+        }
+        return this.resolve(this.build(XmlDocuments.read(content)));
+    }
+
+    /**
+     * Register the parsed views in the parser scope, once the whole script is read, so the relative positions can
+     * refer to widgets defined later in the script or in an other script parsed by this parser.
+     *
+     * @param views Parsed views.
+     * @return The views.
+     * @throws ParserException If relative positions refer to each other in a cycle.
+     */
+    private List<ContainerDefinition> resolve(final List<ContainerDefinition> views) {
+        this.scope.add(views);
+        return views;
+    }
+
+    /**
+     * Build the container definitions from the parsed document.
+     *
+     * @param doc Parsed document.
+     * @return The list of container definitions.
+     */
+    private List<ContainerDefinition> build(final Document doc) throws ParserException {
         final List<ContainerDefinition> resultList = new ArrayList<>();
-        final Document doc = XMLParser.getDocument(xmlFile);
         final NodeList viewList = doc.getElementsByTagName(XmlGuiParser.CONTAINER);
         for (int i = 0; i < viewList.getLength(); i++) {
             final Node view = viewList.item(i);
@@ -183,7 +297,7 @@ final class XmlGuiParser implements GuiParser {
                             final String childName = child.getNodeName();
                             switch (childName) {
                                 case XmlGuiParser.IMAGE: {
-                                    final ImageDefinition imageDef = new ImageDefinition(screen);
+                                    final ImageDefinition imageDef = new ImageDefinition(this.screen);
                                     final NodeList childItemList = child.getChildNodes();
                                     XmlGuiParser.retrieveCommonData(childItemList, imageDef);
                                     int length = childItemList.getLength();
@@ -263,14 +377,13 @@ final class XmlGuiParser implements GuiParser {
                                                 break;
                                         }
                                     }
-                                    final InputBoxDefinition inputDef = new InputBoxDefinition(Material.get(material), Material.get(highlight),
-                                            Font.get(font), this.screen);
+                                    final InputBoxDefinition inputDef = new InputBoxDefinition(material, highlight, font, this.screen);
                                     XmlGuiParser.retrieveCommonData(childItemList, inputDef);
                                     def.addInputBox(inputDef);
                                     break;
                                 }
                                 case XmlGuiParser.TEXT_AREA: {
-                                    final TextAreaDefinition textAreaDef = new TextAreaDefinition(screen);
+                                    final TextAreaDefinition textAreaDef = new TextAreaDefinition(this.screen);
                                     final NodeList childItemList = child.getChildNodes();
                                     XmlGuiParser.retrieveCommonData(childItemList, textAreaDef);
                                     int length = childItemList.getLength();
@@ -296,4 +409,86 @@ final class XmlGuiParser implements GuiParser {
         return resultList;
     }
 
+    /**
+     * Build the container definitions from the ScriptTokenizer tokens, with the same result as the document parsing.
+     * The cases where the document parsing order matters, a container common data after its children for example,
+     * are not supported by the tokenizer and fall back to the document parsing.
+     *
+     * @param tokens Script tokens.
+     * @return A list of container definitions.
+     */
+    private List<ContainerDefinition> read(final ScriptTokenizer tokens) {
+        final List<ContainerDefinition> resultList = new ArrayList<>();
+        final WidgetValues widget = new WidgetValues();
+        int event;
+        while ((event = tokens.next()) != ScriptTokenizer.END_DOCUMENT) {
+            if (event == ScriptTokenizer.START_ELEMENT && CONTAINER.equals(tokens.name())) {
+                resultList.add(this.readContainer(tokens, widget));
+            }
+        }
+        return resultList;
+    }
+
+    private ContainerDefinition readContainer(final ScriptTokenizer tokens, final WidgetValues widget) {
+        final ContainerDefinition def = new ContainerDefinition(this.screen);
+        boolean childrenRead = false;
+        while (tokens.next() == ScriptTokenizer.START_ELEMENT) {
+            final String itemName = tokens.name();
+            switch (itemName) {
+                case CHILDREN:
+                    childrenRead = true;
+                    this.readChildren(tokens, def, widget);
+                    break;
+                case NODE_Z:
+                    def.setZ(tokens.readText());
+                    break;
+                case MATERIAL:
+                    def.setMaterial(tokens.readText());
+                    break;
+                case CONTAINER:
+                    throw ScriptTokenizer.UnsupportedSyntax.INSTANCE;
+                default:
+                    final String value = tokens.readText();
+                    if (XmlGuiParser.isCommonData(itemName)) {
+                        if (childrenRead) {
+                            throw ScriptTokenizer.UnsupportedSyntax.INSTANCE;
+                        }
+                        XmlGuiParser.setCommonData(def, itemName, value);
+                    }
+                    break;
+            }
+        }
+        return def;
+    }
+
+    private void readChildren(final ScriptTokenizer tokens, final ContainerDefinition def, final WidgetValues widget) {
+        while (tokens.next() == ScriptTokenizer.START_ELEMENT) {
+            final String childName = tokens.name();
+            switch (childName) {
+                case IMAGE:
+                case TEXT_LINE:
+                case BUTTON:
+                case INPUT_BOX:
+                case TEXT_AREA:
+                    widget.clear();
+                    while (tokens.next() == ScriptTokenizer.START_ELEMENT) {
+                        // the document parser rejects any other node in a button, let it report the error.
+                        if (CONTAINER.equals(tokens.name()) || (BUTTON.equals(childName) && tokens.hasSkippedContent())) {
+                            throw ScriptTokenizer.UnsupportedSyntax.INSTANCE;
+                        }
+                        widget.add(tokens.name(), tokens.readText());
+                    }
+                    if (BUTTON.equals(childName) && (tokens.hasSkippedContent() || !widget.containsOnly(MATERIAL, MATERIAL_H, FONT))) {
+                        throw ScriptTokenizer.UnsupportedSyntax.INSTANCE;
+                    }
+                    widget.build(childName, def, this.screen);
+                    break;
+                case CONTAINER:
+                    throw ScriptTokenizer.UnsupportedSyntax.INSTANCE;
+                default:
+                    tokens.readText();
+                    break;
+            }
+        }
+    }
 }
@@ -25,11 +25,11 @@
 
 package be.yildizgames.engine.client.parser;
 
-import be.yildizgames.common.file.xml.XMLParser;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -41,11 +41,37 @@ import java.util.List;
  */
 final class XmlLightParser {
 
+    /**
+     * Element containing a light definition.
+     */
+    private static final String LIGHT = "light";
+
+    /**
+     * Element names of the light scripts.
+     */
+    private static final ScriptTokenizer.Vocabulary NAMES = new ScriptTokenizer.Vocabulary(LIGHT,
+            "name", "type", "x", "y", "z", "lightMaterial", "haloMaterial", "burstMaterial");
+
+    /**
+     * True to read the scripts with the ScriptTokenizer, and with the JDK parser only if not supported.
+     */
+    private final boolean fast;
+
     /**
      * Simple constructor.
      */
     XmlLightParser() {
+        this(false);
+    }
+
+    /**
+     * Full constructor.
+     *
+     * @param fast True to read the scripts with the ScriptTokenizer when possible.
+     */
+    XmlLightParser(final boolean fast) {
         super();
+        this.fast = fast;
     }
 
     /**
@@ -56,48 +82,91 @@ final class XmlLightParser {
      * @return The list of light definition.
      */
     public List<LightDefinition> parse(final Path xmlFile) {
+        if (this.fast) {
+            final List<LightDefinition> result = XmlDocuments.tokenize(xmlFile, NAMES,
+                    t -> t.readRecords(LIGHT, LightDefinition::new, XmlLightParser::setProperty));
+            if (result != null) {
+                return result;
+            }
+        }
+        return this.build(XmlDocuments.read(xmlFile));
+    }
+
+    /**
+     * Build a list of light definitions from a script content, the content
+     * must be formed following the same schema as the files.
+     *
+     * @param content Script content, from its position to its limit, the buffer position is not modified.
+     * @return The list of light definitions.
+     */
+    public List<LightDefinition> parse(final ByteBuffer content) {
+        if (this.fast) {
+            final List<LightDefinition> result = XmlDocuments.tokenize(content, NAMES,
+                    t -> t.readRecords(LIGHT, LightDefinition::new, XmlLightParser::setProperty));
+            if (result != null) {
+                return result;
+            }
+        }
+        return this.build(XmlDocuments.read(content));
+    }
+
+    /**
+     * Build the light definitions from the parsed document.
+     *
+     * @param doc Parsed document.
+     * @return The list of light definitions.
+     */
+    private List<LightDefinition> build(final Document doc) {
         final List<LightDefinition> result = new ArrayList<>();
-        final Document doc = XMLParser.getDocument(xmlFile);
-        final NodeList lightList = doc.getElementsByTagName("light");
+        final NodeList lightList = doc.getElementsByTagName(LIGHT);
         for (int i = 0; i < lightList.getLength(); i++) {
             final Node light = lightList.item(i);
             final NodeList itemList = light.getChildNodes();
             final LightDefinition def = new LightDefinition();
             for (int j = 0; j < itemList.getLength(); j++) {
                 final Node item = itemList.item(j);
-                final String value = item.getTextContent();
-                switch (item.getNodeName()) {
-                    case "name":
-                        def.setName(value);
-                        break;
-                    case "type":
-                        def.setType(value);
-                        break;
-                    case "x":
-                        def.setX(value);
-                        break;
-                    case "y":
-                        def.setY(value);
-                        break;
-                    case "z":
-                        def.setZ(value);
-                        break;
-                    case "lightMaterial":
-                        def.setLightMaterial(value);
-                        break;
-                    case "haloMaterial":
-                        def.setHaloMaterial(value);
-                        break;
-                    case "burstMaterial":
-                        def.setBurstMaterial(value);
-                        break;
-                    default:
-                        break;
-                }
+                XmlLightParser.setProperty(def, item.getNodeName(), item.getTextContent());
             }
             result.add(def);
         }
         return result;
     }
 
+    /**
+     * Set a light property from an XML element, unknown elements are ignored.
+     *
+     * @param def      Definition to update.
+     * @param property Element name.
+     * @param value    Element text content.
+     */
+    private static void setProperty(final LightDefinition def, final String property, final String value) {
+        switch (property) {
+            case "name":
+                def.setName(value);
+                break;
+            case "type":
+                def.setType(value);
+                break;
+            case "x":
+                def.setX(value);
+                break;
+            case "y":
+                def.setY(value);
+                break;
+            case "z":
+                def.setZ(value);
+                break;
+            case "lightMaterial":
+                def.setLightMaterial(value);
+                break;
+            case "haloMaterial":
+                def.setHaloMaterial(value);
+                break;
+            case "burstMaterial":
+                def.setBurstMaterial(value);
+                break;
+            default:
+                break;
+        }
+    }
 }
@@ -25,15 +25,16 @@
 
 package be.yildizgames.engine.client.parser;
 
-import be.yildizgames.common.file.xml.XMLParser;
 import be.yildizgames.module.window.ScreenSize;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * XML parser to build SimpleMaterialDefinition from the XML document.
@@ -43,9 +44,25 @@ import java.util.List;
 final class XmlMaterialParser implements MaterialParser {
 
     /**
-     * Screen size value.
+     * Element containing a material definition.
      */
-    private final ScreenSize screenSize;
+    private static final String MATERIAL = "material";
+
+    /**
+     * Element names of the material scripts.
+     */
+    private static final ScriptTokenizer.Vocabulary NAMES = new ScriptTokenizer.Vocabulary(MATERIAL,
+            "name", "file", "file2", "transparency", "glowFile", "light", "blend", "sceneBlend");
+
+    /**
+     * Values of the variables in the file paths, computed once from the screen size.
+     */
+    private final PathContext paths;
+
+    /**
+     * True to read the scripts with the ScriptTokenizer, and with the JDK parser only if not supported.
+     */
+    private final boolean fast;
 
     /**
      * Full constructor.
@@ -53,8 +70,19 @@ final class XmlMaterialParser implements MaterialParser {
      * @param screenSize Screen size.
      */
     XmlMaterialParser(final ScreenSize screenSize) {
+        this(screenSize, false);
+    }
+
+    /**
+     * Full constructor.
+     *
+     * @param screenSize Screen size.
+     * @param fast       True to read the scripts with the ScriptTokenizer when possible.
+     */
+    XmlMaterialParser(final ScreenSize screenSize, final boolean fast) {
         super();
-        this.screenSize = screenSize;
+        this.paths = PathContext.of(screenSize);
+        this.fast = fast;
     }
 
     /**
@@ -66,51 +94,126 @@ final class XmlMaterialParser implements MaterialParser {
      */
     @Override
     public List<SimpleMaterialDefinition> parse(final Path xmlFile) {
-        final List<SimpleMaterialDefinition> resultList = new ArrayList<>();
-        final Document doc = XMLParser.getDocument(xmlFile);
+        final List<SimpleMaterialDefinition> result = new ArrayList<>();
+        this.parse(xmlFile, result::add);
+        return result;
+    }
+
+    /**
+     * Read the material definitions from a script file, each definition is given to the consumer once complete.
+     * The scripts read with the ScriptTokenizer are read entirely before the first definition is given, so the JDK
+     * parser can still be used if the script is not supported.
+     *
+     * @param xmlFile  XML file.
+     * @param consumer Receive the definitions, in the script order.
+     */
+    @Override
+    public void parse(final Path xmlFile, final Consumer<? super SimpleMaterialDefinition> consumer) {
+        if (this.fast) {
+            final List<SimpleMaterialDefinition> result = XmlDocuments.tokenize(xmlFile, NAMES, t -> t.readRecords(MATERIAL,
+                    SimpleMaterialDefinition.Builder::new, (d, p, v) -> XmlMaterialParser.setProperty(d, p, v, this.paths),
+                    SimpleMaterialDefinition.Builder::build));
+            if (result != null) {
+                result.forEach(consumer);
+                return;
+            }
+        }
+        this.build(XmlDocuments.read(xmlFile), consumer);
+    }
+
+    /**
+     * Build a list of material definitions from a script content, the content
+     * must be formed following the same schema as the files.
+     *
+     * @param content Script content, from its position to its limit, the buffer position is not modified.
+     * @return The list of material definitions.
+     */
+    @Override
+    public List<SimpleMaterialDefinition> parse(final ByteBuffer content) {
+        final List<SimpleMaterialDefinition> result = new ArrayList<>();
+        this.parse(content, result::add);
+        return result;
+    }
+
+    /**
+     * Read the material definitions from a script content, each definition is given to the consumer once complete.
+     * The scripts read with the ScriptTokenizer are read entirely before the first definition is given, so the JDK
+     * parser can still be used if the script is not supported.
+     *
+     * @param content  Script content, from its position to its limit, the buffer position is not modified.
+     * @param consumer Receive the definitions, in the script order.
+     */
+    @Override
+    public void parse(final ByteBuffer content, final Consumer<? super SimpleMaterialDefinition> consumer) {
+        if (this.fast) {
+            final List<SimpleMaterialDefinition> result = XmlDocuments.tokenize(content, NAMES, t -> t.readRecords(MATERIAL,
+                    SimpleMaterialDefinition.Builder::new, (d, p, v) -> XmlMaterialParser.setProperty(d, p, v, this.paths),
+                    SimpleMaterialDefinition.Builder::build));
+            if (result != null) {
+                result.forEach(consumer);
+                return;
+            }
+        }
+        this.build(XmlDocuments.read(content), consumer);
+    }
+
+    /**
+     * Build the material definitions from the parsed document.
+     *
+     * @param doc      Parsed document.
+     * @param consumer Receive the definitions, in the document order.
+     */
+    private void build(final Document doc, final Consumer<? super SimpleMaterialDefinition> consumer) {
 
-        final NodeList materialList = doc.getElementsByTagName("material");
+        final NodeList materialList = doc.getElementsByTagName(MATERIAL);
         for (int i = 0; i < materialList.getLength(); i++) {
             final Node material = materialList.item(i);
             final NodeList itemList = material.getChildNodes();
-            final SimpleMaterialDefinition matDefinition = new SimpleMaterialDefinition();
+            final SimpleMaterialDefinition.Builder matDefinition = new SimpleMaterialDefinition.Builder();
             for (int j = 0; j < itemList.getLength(); j++) {
                 final Node item = itemList.item(j);
-                final String value = item.getTextContent();
-                switch (item.getNodeName()) {
-                    case "name":
-                        matDefinition.setName(value);
-                        break;
-                    case "file":
-                        matDefinition.setPath(value.replace("$screenWidth", String.valueOf(this.screenSize.width)).replace("$screenHeight",
-                                String.valueOf(this.screenSize.height)));
-                        break;
-                    case "file2":
-                        matDefinition.setPath2(value.replace("$screenWidth", String.valueOf(this.screenSize.width)).replace("$screenHeight",
-                                String.valueOf(this.screenSize.height)));
-                        break;
-                    case "transparency":
-                        matDefinition.setTransparency(value);
-                        break;
-                    case "glowFile":
-                        matDefinition.setGlowFile(value);
-                        break;
-                    case "light":
-                        matDefinition.setAffectedByLight(value);
-                        break;
-                    case "blend":
-                        matDefinition.setBlend(value);
-                        break;
-                    case "sceneBlend":
-                        matDefinition.setSceneBlend(value);
-                        break;
-                    default:
-                        break;
-                }
+                XmlMaterialParser.setProperty(matDefinition, item.getNodeName(), item.getTextContent(), this.paths);
             }
-            resultList.add(matDefinition);
+            consumer.accept(matDefinition.build());
         }
-        return resultList;
     }
 
+    /**
+     * Set a material property from an XML element, unknown elements are ignored.
+     *
+     * @param matDefinition Builder of the definition to update.
+     * @param property      Element name.
+     * @param value         Element text content.
+     * @param paths         Values of the variables in the file paths.
+     */
+    static void setProperty(final SimpleMaterialDefinition.Builder matDefinition, final String property, final String value, final PathContext paths) {
+        switch (property) {
+            case "name":
+                matDefinition.setName(value);
+                break;
+            case "file":
+                matDefinition.setPath(value, paths);
+                break;
+            case "file2":
+                matDefinition.setPath2(value, paths);
+                break;
+            case "transparency":
+                matDefinition.setTransparency(value);
+                break;
+            case "glowFile":
+                matDefinition.setGlowFile(value);
+                break;
+            case "light":
+                matDefinition.setAffectedByLight(value);
+                break;
+            case "blend":
+                matDefinition.setBlend(value);
+                break;
+            case "sceneBlend":
+                matDefinition.setSceneBlend(value);
+                break;
+            default:
+                break;
+        }
+    }
 }
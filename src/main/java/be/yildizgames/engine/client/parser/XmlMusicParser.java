@@ -25,14 +25,15 @@
 
 package be.yildizgames.engine.client.parser;
 
-import be.yildizgames.common.file.xml.XMLParser;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Parse a XML file to extract data to build a list of Playlist definition and
@@ -42,11 +43,51 @@ import java.util.List;
  */
 final class XmlMusicParser implements MusicParser {
 
+    /**
+     * Element containing a play list definition.
+     */
+    private static final String PLAYLIST = "playlist";
+
+    /**
+     * Element containing a music definition in a play list.
+     */
+    private static final String MUSIC = "music";
+
+    /**
+     * Element containing a name.
+     */
+    private static final String NAME = "name";
+
+    /**
+     * Element containing a file.
+     */
+    private static final String FILE = "file";
+
+    /**
+     * Element names of the play list scripts.
+     */
+    private static final ScriptTokenizer.Vocabulary NAMES = new ScriptTokenizer.Vocabulary(PLAYLIST, MUSIC, NAME, FILE);
+
+    /**
+     * True to read the scripts with the ScriptTokenizer, and with the JDK parser only if not supported.
+     */
+    private final boolean fast;
+
     /**
      * Simple constructor.
      */
     XmlMusicParser() {
+        this(false);
+    }
+
+    /**
+     * Full constructor.
+     *
+     * @param fast True to read the scripts with the ScriptTokenizer when possible.
+     */
+    XmlMusicParser(final boolean fast) {
         super();
+        this.fast = fast;
     }
 
     /**
@@ -57,38 +98,145 @@ final class XmlMusicParser implements MusicParser {
      */
     @Override
     public List<PlayListDefinition> parse(final Path xmlFile) {
-        final List<PlayListDefinition> playListDefinitionList = new ArrayList<>();
-        final Document doc = XMLParser.getDocument(xmlFile);
+        final List<PlayListDefinition> result = new ArrayList<>();
+        this.parse(xmlFile, result::add);
+        return result;
+    }
 
-        final NodeList playListList = doc.getElementsByTagName("playlist");
+    /**
+     * Read the play list definitions from a script file, each definition is given to the consumer once complete.
+     * The scripts read with the ScriptTokenizer are read entirely before the first definition is given, so the JDK
+     * parser can still be used if the script is not supported.
+     *
+     * @param xmlFile  XML file.
+     * @param consumer Receive the definitions, in the script order.
+     */
+    @Override
+    public void parse(final Path xmlFile, final Consumer<? super PlayListDefinition> consumer) {
+        if (this.fast) {
+            final List<PlayListDefinition> result = XmlDocuments.tokenize(xmlFile, NAMES, XmlMusicParser::read);
+            if (result != null) {
+                result.forEach(consumer);
+                return;
+            }
+        }
+        this.build(XmlDocuments.read(xmlFile), consumer);
+    }
+
+    /**
+     * Build a list of play list definitions from a script content, the content
+     * must be formed following the same schema as the files.
+     *
+     * @param content Script content, from its position to its limit, the buffer position is not modified.
+     * @return The list of play list definitions.
+     */
+    @Override
+    public List<PlayListDefinition> parse(final ByteBuffer content) {
+        final List<PlayListDefinition> result = new ArrayList<>();
+        this.parse(content, result::add);
+        return result;
+    }
+
+    /**
+     * Read the play list definitions from a script content, each definition is given to the consumer once complete.
+     * The scripts read with the ScriptTokenizer are read entirely before the first definition is given, so the JDK
+     * parser can still be used if the script is not supported.
+     *
+     * @param content  Script content, from its position to its limit, the buffer position is not modified.
+     * @param consumer Receive the definitions, in the script order.
+     */
+    @Override
+    public void parse(final ByteBuffer content, final Consumer<? super PlayListDefinition> consumer) {
+        if (this.fast) {
+            final List<PlayListDefinition> result = XmlDocuments.tokenize(content, NAMES, XmlMusicParser::read);
+            if (result != null) {
+                result.forEach(consumer);
+                return;
+            }
+        }
+        this.build(XmlDocuments.read(content), consumer);
+    }
+
+    /**
+     * Build the play list definitions from the parsed document.
+     *
+     * @param doc      Parsed document.
+     * @param consumer Receive the definitions, in the document order.
+     */
+    private void build(final Document doc, final Consumer<? super PlayListDefinition> consumer) {
+
+        final NodeList playListList = doc.getElementsByTagName(PLAYLIST);
 
         for (int i = 0; i < playListList.getLength(); i++) {
             final Node playList = playListList.item(i);
             final NodeList itemList = playList.getChildNodes();
-            final PlayListDefinition playListDefinition = new PlayListDefinition();
+            final PlayListDefinition.Builder playListDefinition = new PlayListDefinition.Builder();
             for (int j = 0; j < itemList.getLength(); j++) {
                 final Node item = itemList.item(j);
                 final String itemName = item.getNodeName();
-                if ("name".equals(itemName)) {
+                if (NAME.equals(itemName)) {
                     playListDefinition.setName(item.getTextContent());
-                } else if ("music".equals(itemName)) {
-                    final MusicDefinition musicDef = new MusicDefinition();
+                } else if (MUSIC.equals(itemName)) {
+                    final MusicDefinition.Builder musicDef = new MusicDefinition.Builder();
                     final NodeList musicItemList = item.getChildNodes();
                     for (int k = 0; k < musicItemList.getLength(); k++) {
                         final Node musicItem = musicItemList.item(k);
                         final String musicItemName = musicItem.getNodeName();
-                        if ("name".equals(musicItemName)) {
+                        if (NAME.equals(musicItemName)) {
                             musicDef.setName(musicItem.getTextContent());
-                        } else if ("file".equals(musicItemName)) {
+                        } else if (FILE.equals(musicItemName)) {
                             musicDef.setFile(musicItem.getTextContent());
                         }
                     }
-                    playListDefinition.addMusic(musicDef);
+                    playListDefinition.addMusic(musicDef.build());
                 }
             }
-            playListDefinitionList.add(playListDefinition);
+            consumer.accept(playListDefinition.build());
         }
-        return playListDefinitionList;
     }
 
+    /**
+     * Build the play list definitions from the ScriptTokenizer tokens, with the same result as the document parsing.
+     *
+     * @param tokens Script tokens.
+     * @return A list of PlayList definitions.
+     */
+    private static List<PlayListDefinition> read(final ScriptTokenizer tokens) {
+        final List<PlayListDefinition> playListDefinitionList = new ArrayList<>();
+        int event;
+        while ((event = tokens.next()) != ScriptTokenizer.END_DOCUMENT) {
+            if (event != ScriptTokenizer.START_ELEMENT || !PLAYLIST.equals(tokens.name())) {
+                continue;
+            }
+            final PlayListDefinition.Builder playListDefinition = new PlayListDefinition.Builder();
+            while (tokens.next() == ScriptTokenizer.START_ELEMENT) {
+                final String itemName = tokens.name();
+                if (MUSIC.equals(itemName)) {
+                    final MusicDefinition.Builder musicDef = new MusicDefinition.Builder();
+                    while (tokens.next() == ScriptTokenizer.START_ELEMENT) {
+                        final String musicItemName = tokens.name();
+                        if (PLAYLIST.equals(musicItemName)) {
+                            throw ScriptTokenizer.UnsupportedSyntax.INSTANCE;
+                        }
+                        final String value = tokens.readText();
+                        if (NAME.equals(musicItemName)) {
+                            musicDef.setName(value);
+                        } else if (FILE.equals(musicItemName)) {
+                            musicDef.setFile(value);
+                        }
+                    }
+                    playListDefinition.addMusic(musicDef.build());
+                } else if (PLAYLIST.equals(itemName)) {
+                    throw ScriptTokenizer.UnsupportedSyntax.INSTANCE;
+                } else {
+                    final String value = tokens.readText();
+                    if (NAME.equals(itemName)) {
+                        playListDefinition.setName(value);
+                    }
+                }
+            }
+            playListDefinitionList.add(playListDefinition.build());
+        }
+        return playListDefinitionList;
+    }
 }
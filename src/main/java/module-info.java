@@ -29,9 +29,7 @@ module be.yildizgames.engine.client.addon.parser.xml {
     requires be.yildizgames.common.gameobject;
     requires be.yildizgames.common.model;
     requires be.yildizgames.common.shape;
-    requires be.yildizgames.common.file;
     requires be.yildizgames.module.audio;
     requires java.xml;
-    requires be.yildizgames.common.file.xml;
     requires be.yildizgames.module.window;
 }
@@ -0,0 +1,87 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class BinaryDefinitionFileTest {
+
+    @TempDir
+    Path folder;
+
+    private Path compiledFont() throws IOException {
+        FontDefinition def = new FontDefinition.Builder().setName("arial").setPath("arial.ttf").setSize("12").build();
+        Path file = folder.resolve("compiled.fnt");
+        BinaryDefinitionFile.write(file, ScriptType.FONT, List.of(def));
+        return file;
+    }
+
+    @Nested
+    public class Read {
+
+        @Test
+        public void happyFlow() throws IOException {
+            Path file = compiledFont();
+            List<FontDefinition> result = new ParserFactory(ParserFactory.ParserType.BINARY).createFontParser().parse(file);
+            assertEquals(1, result.size());
+            assertEquals("arial", result.get(0).getName());
+            assertEquals("arial.ttf", result.get(0).getPath());
+            assertEquals(12, result.get(0).getSize());
+        }
+
+        @Test
+        public void wrongType() throws IOException {
+            Path file = compiledFont();
+            assertThrows(ParserException.class, () -> BinaryDefinitionFile.read(file, ScriptType.MATERIAL, new ScreenSize(800, 600)));
+        }
+
+        @Test
+        public void notCompiled() throws IOException {
+            Path file = Files.createFile(folder.resolve("script.fnt"));
+            Files.writeString(file, "<fonts/>");
+            assertThrows(ParserException.class, () -> BinaryDefinitionFile.read(file, ScriptType.FONT, null));
+        }
+
+        @Test
+        public void empty() throws IOException {
+            Path file = Files.createFile(folder.resolve("script.fnt"));
+            assertThrows(ParserException.class, () -> BinaryDefinitionFile.read(file, ScriptType.FONT, null));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class CallerRunsQueueTest {
+
+    @Nested
+    public class RunUntilDone {
+
+        @Test
+        public void tasksRunOnCaller() {
+            CallerRunsQueue queue = new CallerRunsQueue();
+            List<String> threads = new ArrayList<>();
+            CompletableFuture<Void> future = CompletableFuture
+                    .runAsync(() -> {}, ForkJoinPool.commonPool())
+                    .thenRunAsync(() -> threads.add(Thread.currentThread().getName()), queue)
+                    .thenRunAsync(() -> threads.add(Thread.currentThread().getName()), queue);
+            queue.runUntilDone(future);
+            assertTrue(future.isDone());
+            assertEquals(List.of(Thread.currentThread().getName(), Thread.currentThread().getName()), threads);
+        }
+
+        @Test
+        public void failure() {
+            CallerRunsQueue queue = new CallerRunsQueue();
+            CompletableFuture<Void> future = CompletableFuture
+                    .runAsync(() -> {
+                        throw new ParserException("invalid script");
+                    }, ForkJoinPool.commonPool())
+                    .thenRunAsync(() -> {}, queue);
+            queue.runUntilDone(future);
+            assertTrue(future.isCompletedExceptionally());
+            CompletionException e = assertThrows(CompletionException.class, future::join);
+            assertTrue(e.getCause() instanceof ParserException);
+        }
+
+        @Test
+        public void interrupted() {
+            CallerRunsQueue queue = new CallerRunsQueue();
+            Thread.currentThread().interrupt();
+            try {
+                assertThrows(ParserException.class, () -> queue.runUntilDone(new CompletableFuture<>()));
+                assertTrue(Thread.currentThread().isInterrupted());
+            } finally {
+                Thread.interrupted();
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.graphic.material.MaterialPass;
+import be.yildizgames.module.window.ScreenSize;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class DefinitionCodecTest {
+
+    private static final ScreenSize SCREEN = new ScreenSize(800, 600);
+
+    private static <T> List<T> roundTrip(ScriptType type, List<?> definitions, ScreenSize screen) {
+        return DefinitionCodec.decode(type, ByteBuffer.wrap(DefinitionCodec.encode(type, definitions)), screen);
+    }
+
+    @Nested
+    public class Font {
+
+        @Test
+        public void happyFlow() {
+            FontDefinition def = new FontDefinition.Builder().setName("arial").setPath("arial.ttf").setSize("12").build();
+            List<FontDefinition> result = roundTrip(ScriptType.FONT, List.of(def), SCREEN);
+            assertEquals(List.of(def), result);
+            assertEquals("arial", result.get(0).getName());
+            assertEquals("arial.ttf", result.get(0).getPath());
+            assertEquals(12, result.get(0).getSize());
+        }
+    }
+
+    @Nested
+    public class Playlist {
+
+        @Test
+        public void happyFlow() {
+            MusicDefinition music = new MusicDefinition.Builder().setName("m1").setFile("m1.ogg").build();
+            PlayListDefinition def = new PlayListDefinition.Builder().setName("menu").addMusic(music).build();
+            List<PlayListDefinition> result = roundTrip(ScriptType.PLAYLIST, List.of(def), SCREEN);
+            assertEquals(def, result.get(0));
+            assertEquals("menu", result.get(0).getName());
+            assertEquals("m1", result.get(0).getMusicList().get(0).getName());
+            assertEquals("m1.ogg", result.get(0).getMusicList().get(0).getFile());
+        }
+    }
+
+    @Nested
+    public class Material {
+
+        @Test
+        public void screenSizeIsAppliedWhenDecoding() {
+            SimpleMaterialDefinition def = new SimpleMaterialDefinition.Builder()
+                    .setName("bg")
+                    .setPath("bg_$screenWidth.png", PathContext.of(SCREEN))
+                    .setBlend("add")
+                    .setSceneBlend(MaterialPass.SceneBlend.NONE, MaterialPass.SceneBlend.NONE)
+                    .build();
+            List<SimpleMaterialDefinition> result = roundTrip(ScriptType.MATERIAL, List.of(def), new ScreenSize(1024, 768));
+            assertEquals("bg", result.get(0).getName());
+            assertEquals("bg_1024.png", result.get(0).getPath());
+            assertEquals(MaterialPass.BlendMode.ADD, result.get(0).getBlend());
+        }
+    }
+
+    @Nested
+    public class View {
+
+        @Test
+        public void layoutIsComputedWhenDecoding() {
+            ContainerDefinition def = new ContainerDefinition(SCREEN);
+            def.setName("codecView");
+            def.setLeft("right");
+            def.setWidth("full-100");
+            def.setHeight("50");
+            def.setTop("bottom");
+            ContainerDefinition result = DefinitionCodecTest.<ContainerDefinition>roundTrip(ScriptType.VIEW, List.of(def), new ScreenSize(1000, 500)).get(0);
+            assertEquals("codecView", result.getName());
+            assertEquals(900, result.getCoordinates().width);
+            assertEquals(100, result.getCoordinates().left);
+            assertEquals(450, result.getCoordinates().top);
+        }
+    }
+
+    @Nested
+    public class Decode {
+
+        @Test
+        public void truncated() {
+            assertThrows(ParserException.class, () -> DefinitionCodec.decode(ScriptType.FONT, ByteBuffer.wrap(new byte[]{0, 0, 0, 1}), SCREEN));
+        }
+    }
+}
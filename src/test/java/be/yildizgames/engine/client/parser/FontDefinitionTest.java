@@ -29,6 +29,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
@@ -38,11 +39,11 @@ public class FontDefinitionTest {
 
 
     @Nested
-    public class Constructor {
+    public class Build {
 
         @Test
         public void happyFlow() {
-            FontDefinition def = new FontDefinition();
+            FontDefinition def = new FontDefinition.Builder().build();
             assertEquals("", def.getName());
             assertEquals("", def.getPath());
             assertEquals( 0, def.getSize());
@@ -54,20 +55,19 @@ public class FontDefinitionTest {
 
         @Test
         public void happyFlow() {
-            FontDefinition def = new FontDefinition();
-            def.setSize("3");
+            FontDefinition def = new FontDefinition.Builder().setSize("3").build();
             assertEquals(3, def.getSize());
         }
 
         @Test
         public void fromNull() {
-            FontDefinition def = new FontDefinition();
+            FontDefinition.Builder def = new FontDefinition.Builder();
             assertThrows(IllegalArgumentException.class, () -> def.setSize(null));
         }
 
         @Test
         public void fromInvalid() {
-            FontDefinition def = new FontDefinition();
+            FontDefinition.Builder def = new FontDefinition.Builder();
             assertThrows(IllegalArgumentException.class, () -> def.setSize("3.1"));
         }
     }
@@ -77,14 +77,13 @@ public class FontDefinitionTest {
 
         @Test
         public void happyFlow() {
-            FontDefinition def = new FontDefinition();
-            def.setPath("abc");
+            FontDefinition def = new FontDefinition.Builder().setPath("abc").build();
             assertEquals("abc", def.getPath());
         }
 
         @Test
         public void fromNull() {
-            FontDefinition def = new FontDefinition();
+            FontDefinition.Builder def = new FontDefinition.Builder();
             assertThrows(IllegalArgumentException.class, () -> def.setPath(null));
         }
     }
@@ -94,16 +93,33 @@ public class FontDefinitionTest {
 
         @Test
         public void happyFlow() {
-            FontDefinition def = new FontDefinition();
-            def.setName("abc");
+            FontDefinition def = new FontDefinition.Builder().setName("abc").build();
             assertEquals("abc", def.getName());
         }
 
         @Test
         public void fromNull() {
-            FontDefinition def = new FontDefinition();
+            FontDefinition.Builder def = new FontDefinition.Builder();
             assertThrows(IllegalArgumentException.class, () -> def.setName(null));
         }
     }
 
+    @Nested
+    public class Equals {
+
+        @Test
+        public void sameValues() {
+            FontDefinition a = new FontDefinition.Builder().setName("abc").setPath("abc.ttf").setSize(3).build();
+            FontDefinition b = new FontDefinition.Builder().setName("abc").setPath("abc.ttf").setSize(3).build();
+            assertEquals(a, b);
+            assertEquals(a.hashCode(), b.hashCode());
+        }
+
+        @Test
+        public void differentValues() {
+            FontDefinition a = new FontDefinition.Builder().setName("abc").setSize(3).build();
+            assertNotEquals(a, new FontDefinition.Builder().setName("abc").setSize(4).build());
+            assertNotEquals(a, new FontDefinition.Builder().setName("abd").setSize(3).build());
+        }
+    }
 }
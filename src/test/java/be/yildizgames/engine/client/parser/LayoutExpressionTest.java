@@ -0,0 +1,123 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.coordinate.Coordinates;
+import be.yildizgames.module.window.ScreenSize;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class LayoutExpressionTest {
+
+    @TempDir
+    Path folder;
+
+    private static final String VIEW = "<views><container><name>main</name><x>center</x><y>bottom</y>"
+            + "<width>full-20</width><height>100</height><children>"
+            + "<image><name>img</name><x>right</x><y>top</y><width>50</width><height>full</height></image>"
+            + "<textline><name>tl</name><x>left#img</x><y>5</y><width>30</width><height>10</height></textline>"
+            + "</children></container></views>";
+
+    private static void assertCoordinates(int width, int height, int left, int top, GuiCommonDefinition def) {
+        Coordinates c = def.getCoordinates();
+        assertEquals(width, c.width);
+        assertEquals(height, c.height);
+        assertEquals(left, c.left);
+        assertEquals(top, c.top);
+    }
+
+    private static void assertSameCoordinates(GuiCommonDefinition expected, GuiCommonDefinition def) {
+        Coordinates c = expected.getCoordinates();
+        assertCoordinates(c.width, c.height, c.left, c.top, def);
+    }
+
+    @Nested
+    public class Evaluate {
+
+        @Test
+        public void size() {
+            assertEquals(780, LayoutExpression.size("full-20", "width").evaluate(800, 0, 0, null));
+            assertEquals(600, LayoutExpression.size("full", "height").evaluate(600, 0, 0, null));
+            assertEquals(12, LayoutExpression.size("12", "width").evaluate(800, 0, 0, null));
+            assertEquals(800, LayoutExpression.size("full-", "width").evaluate(800, 0, 0, null));
+        }
+
+        @Test
+        public void position() {
+            assertTrue(LayoutExpression.left("right").needLength());
+            assertEquals(700, LayoutExpression.left("right").evaluate(800, 100, 0, null));
+            assertEquals(350, LayoutExpression.left("center").evaluate(800, 100, 0, null));
+            assertEquals(7, LayoutExpression.left("center#other").evaluate(800, 100, 7, null));
+            assertEquals("other", LayoutExpression.left("right#other").getReference());
+            assertEquals("other", LayoutExpression.left("left#other#more").getReference());
+            assertEquals(700, LayoutExpression.left("right#").evaluate(800, 100, 0, null));
+            assertFalse(LayoutExpression.top("top").needLength());
+            assertEquals(500, LayoutExpression.top("bottom").evaluate(600, 100, 0, null));
+        }
+
+        @Test
+        public void invalid() {
+            assertThrows(ParserException.class, () -> LayoutExpression.size("abc", "width"));
+            assertThrows(ParserException.class, () -> LayoutExpression.left("abc"));
+            assertThrows(ParserException.class, () -> LayoutExpression.top("abc"));
+        }
+    }
+
+    @Nested
+    public class Relayout {
+
+        @Test
+        public void sameAsParsing() throws IOException {
+            Path file = Files.createTempFile(folder, "view", ".vew");
+            Files.writeString(file, VIEW);
+            ScreenSize small = new ScreenSize(800, 600);
+            ScreenSize large = new ScreenSize(1920, 1080);
+            ContainerDefinition def = new XmlGuiParser(small).parse(file).get(0);
+            assertCoordinates(780, 100, 10, 500, def);
+            assertCoordinates(50, 600, 750, 0, def.getChildren().get(0));
+            def.relayout(large);
+            ContainerDefinition expected = new XmlGuiParser(large).parse(file).get(0);
+            assertCoordinates(1900, 100, 10, 980, def);
+            assertSameCoordinates(expected, def);
+            for (int i = 0; i < expected.getChildren().size(); i++) {
+                assertSameCoordinates(expected.getChildren().get(i), def.getChildren().get(i));
+            }
+            assertCoordinates(30, 10, 1870 - 50, 5, def.getChildren().get(1));
+        }
+    }
+}
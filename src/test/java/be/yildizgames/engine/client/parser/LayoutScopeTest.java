@@ -0,0 +1,194 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class LayoutScopeTest {
+
+    private static final ScreenSize SCREEN = new ScreenSize(800, 600);
+
+    @TempDir
+    Path folder;
+
+    private Path script(String content) throws IOException {
+        Path file = Files.createTempFile(folder, "view", ".vew");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static ContainerDefinition view(String name, String left) {
+        ContainerDefinition def = new ContainerDefinition(SCREEN);
+        def.setName(name);
+        def.setWidth("20");
+        def.setHeight("10");
+        def.setLeft(left);
+        def.setTop("0");
+        return def;
+    }
+
+    @Nested
+    public class Add {
+
+        @Test
+        public void forwardReference() {
+            LayoutScope scope = new LayoutScope();
+            ContainerDefinition second = view("second", "right#first");
+            ContainerDefinition first = view("first", "10");
+            assertFalse(second.isLayoutResolved());
+            scope.add(List.of(second, first));
+            assertTrue(second.isLayoutResolved());
+            assertEquals(30, second.getCoordinates().left);
+            scope.complete();
+        }
+
+        @Test
+        public void unknownStaysPending() {
+            LayoutScope scope = new LayoutScope();
+            ContainerDefinition third = view("third", "right#second");
+            scope.add(List.of(view("second", "right#first"), third));
+            assertFalse(third.isLayoutResolved());
+            assertThrows(ParserException.class, scope::complete);
+            scope.add(List.of(view("first", "10")));
+            assertEquals(50, third.getCoordinates().left);
+            scope.complete();
+        }
+
+        @Test
+        public void cycle() {
+            LayoutScope scope = new LayoutScope();
+            List<ContainerDefinition> views = List.of(view("a", "right#b"), view("b", "left#c"), view("c", "right#a"), view("d", "right#a"));
+            assertThrows(ParserException.class, () -> scope.add(views));
+            scope.complete();
+        }
+
+        @Test
+        public void longChain() {
+            LayoutScope scope = new LayoutScope();
+            int size = 5000;
+            List<ContainerDefinition> views = new ArrayList<>();
+            for (int i = size - 1; i > 0; i--) {
+                views.add(view("w" + i, "right#w" + (i - 1)));
+            }
+            views.add(view("w0", "0"));
+            scope.add(views);
+            assertEquals(20 * (size - 1), views.get(0).getCoordinates().left);
+        }
+    }
+
+    @Nested
+    public class RelativePosition {
+
+        @Test
+        public void otherView() throws IOException {
+            Path first = script("<views><container><name>first</name><x>10</x><y>0</y><width>20</width><height>10</height></container></views>");
+            Path second = script("<views><container><name>second</name><x>right#first</x><y>0</y><width>20</width><height>10</height></container></views>");
+            XmlGuiParser parser = new XmlGuiParser(SCREEN);
+            parser.parse(first);
+            List<ContainerDefinition> result = parser.parse(second);
+            assertEquals(30, result.get(0).getCoordinates().left);
+        }
+
+        @Test
+        public void otherViewParsedLater() throws IOException {
+            Path first = script("<views><container><name>laterFirst</name><x>10</x><y>0</y><width>20</width><height>10</height></container></views>");
+            Path second = script("<views><container><name>laterSecond</name><x>right#laterFirst</x><y>0</y><width>20</width><height>10</height></container></views>");
+            StaxGuiParser parser = new StaxGuiParser(SCREEN);
+            ContainerDefinition result = parser.parse(second).get(0);
+            assertFalse(result.isLayoutResolved());
+            parser.parse(first);
+            assertTrue(result.isLayoutResolved());
+            assertEquals(30, result.getCoordinates().left);
+        }
+
+        @Test
+        public void sameViewDefinedAfter() throws IOException {
+            Path file = script("<views><container><name>forward</name><x>0</x><y>0</y><width>100</width><height>100</height><children>"
+                    + "<image><name>forwardA</name><x>right#forwardB</x><y>0</y><width>10</width><height>10</height></image>"
+                    + "<image><name>forwardB</name><x>5</x><y>0</y><width>10</width><height>10</height></image>"
+                    + "</children></container></views>");
+            ContainerDefinition result = new XmlGuiParser(SCREEN).parse(file).get(0);
+            assertTrue(result.isLayoutResolved());
+            assertEquals(15, result.getImageList().get(0).getCoordinates().left);
+        }
+
+        @Test
+        public void otherScriptInPack() throws IOException {
+            ContainerDefinition first = view("packFirst", "10");
+            ContainerDefinition second = view("packSecond", "right#packFirst");
+            Path file = Files.createTempFile(folder, "views", ResourcePack.EXTENSION);
+            ResourcePack.write(file, List.of(
+                    new ResourcePack.Script(ScriptType.VIEW, "b.vew", List.of(second)),
+                    new ResourcePack.Script(ScriptType.VIEW, "a.vew", List.of(first))));
+            ResourcePack pack = ResourcePack.open(file);
+            GuiParser parser = BinaryDefinitionFile.guiParser(SCREEN, new LayoutScope(), f -> pack.read(ScriptType.VIEW, f, SCREEN));
+            ContainerDefinition result = parser.parse(pack.getScripts().get(0)).get(0);
+            assertFalse(result.isLayoutResolved());
+            parser.parse(pack.getScripts().get(1));
+            assertTrue(result.isLayoutResolved());
+            assertEquals(30, result.getCoordinates().left);
+        }
+
+        @Test
+        public void decodedAndParsedInSameScope() throws IOException {
+            Path first = script("<views><container><name>decodedFirst</name><x>10</x><y>0</y><width>20</width><height>10</height></container></views>");
+            byte[] payload = DefinitionCodec.encode(ScriptType.VIEW, List.of(view("decodedSecond", "right#decodedFirst")));
+            LayoutScope scope = new LayoutScope();
+            List<ContainerDefinition> decoded = DefinitionCodec.decode(ScriptType.VIEW, ByteBuffer.wrap(payload), SCREEN);
+            scope.add(decoded);
+            assertThrows(ParserException.class, scope::complete);
+            new ParserFactory(ParserFactory.ParserType.XML_STREAM).createGuiParser(SCREEN, scope).parse(first);
+            assertEquals(30, decoded.get(0).getCoordinates().left);
+            scope.complete();
+        }
+
+        @Test
+        public void notSharedBetweenParsers() throws IOException {
+            Path first = script("<views><container><name>first</name><x>10</x><y>0</y><width>20</width><height>10</height></container></views>");
+            Path second = script("<views><container><name>second</name><x>right#first</x><y>0</y><width>20</width><height>10</height></container></views>");
+            new XmlGuiParser(SCREEN).parse(first);
+            assertFalse(new XmlGuiParser(SCREEN).parse(second).get(0).isLayoutResolved());
+            assertFalse(new StaxGuiParser(SCREEN).parse(second).get(0).isLayoutResolved());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class MaterialVariantsTest {
+
+    private static final ScreenSize LOW = new ScreenSize(800, 600);
+
+    private static final ScreenSize HIGH = new ScreenSize(1920, 1080);
+
+    private static SimpleMaterialDefinition givenAMaterial(String name, String path) {
+        return new SimpleMaterialDefinition.Builder().setName(name).setPath(path, PathContext.of(LOW)).setBlend("add").build();
+    }
+
+    @Nested
+    public class Expand {
+
+        @Test
+        public void happyFlow() {
+            SimpleMaterialDefinition bg = givenAMaterial("bg", "bg_$screenWidthx$screenHeight.png");
+            MaterialVariants variants = MaterialVariants.expand(List.of(bg), List.of(LOW, HIGH));
+            assertEquals("bg_800x600.png", variants.get(LOW).get(0).getPath());
+            SimpleMaterialDefinition high = variants.get(HIGH).get(0);
+            assertEquals("bg_1920x1080.png", high.getPath());
+            assertEquals("bg", high.getName());
+            assertEquals(bg.getBlend(), high.getBlend());
+            assertEquals(bg.getPathTemplate(), high.getPathTemplate());
+        }
+
+        @Test
+        public void unchangedPathShared() {
+            SimpleMaterialDefinition bg = givenAMaterial("bg", "bg_$screenWidth.png");
+            SimpleMaterialDefinition plain = givenAMaterial("plain", "plain.png");
+            MaterialVariants variants = MaterialVariants.expand(List.of(bg, plain), List.of(LOW, HIGH));
+            assertSame(bg, variants.get(LOW).get(0));
+            assertSame(plain, variants.get(HIGH).get(1));
+        }
+
+        @Test
+        public void noDefinition() {
+            assertTrue(MaterialVariants.expand(List.of(), List.of(LOW)).get(LOW).isEmpty());
+        }
+    }
+
+    @Nested
+    public class Get {
+
+        @Test
+        public void otherInstanceSameSize() {
+            MaterialVariants variants = MaterialVariants.expand(List.of(givenAMaterial("bg", "bg_$screenWidth.png")), List.of(LOW, HIGH));
+            assertEquals("bg_1920.png", variants.get(new ScreenSize(1920, 1080)).get(0).getPath());
+            assertTrue(variants.contains(new ScreenSize(800, 600)));
+        }
+
+        @Test
+        public void notConfigured() {
+            MaterialVariants variants = MaterialVariants.expand(List.of(givenAMaterial("bg", "bg_$screenWidth.png")), List.of(LOW));
+            assertFalse(variants.contains(HIGH));
+            assertThrows(IllegalArgumentException.class, () -> variants.get(HIGH));
+        }
+    }
+}
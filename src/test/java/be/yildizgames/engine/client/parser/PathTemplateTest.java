@@ -0,0 +1,95 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class PathTemplateTest {
+
+    private static final PathContext CONTEXT = PathContext.of(new ScreenSize(800, 600));
+
+    @Nested
+    public class Render {
+
+        @Test
+        public void screenSize() {
+            assertEquals("bg_800x600.png", PathTemplate.compile("bg_$screenWidthx$screenHeight.png").render(CONTEXT));
+            assertEquals("800/600", PathTemplate.compile("$screenWidth/$screenHeight").render(CONTEXT));
+        }
+
+        @Test
+        public void sameAsReplace() {
+            String[] patterns = {"a.png", "$screenWidth", "$$screenWidth$", "$screen$screenHeight", "x$unknown$screenWidthy"};
+            for (String pattern : patterns) {
+                assertEquals(pattern.replace("$screenWidth", "800").replace("$screenHeight", "600"),
+                        PathTemplate.compile(pattern).render(CONTEXT), pattern);
+            }
+        }
+
+        @Test
+        public void withoutVariableSameInstance() {
+            String pattern = "plain.png";
+            assertSame(pattern, PathTemplate.compile(pattern).render(CONTEXT));
+        }
+
+        @Test
+        public void unknownVariable() {
+            assertEquals("$quality/bg_800.png", PathTemplate.compile("$quality/bg_$screenWidth.png").render(CONTEXT));
+        }
+    }
+
+    @Nested
+    public class Compile {
+
+        @Test
+        public void cached() {
+            assertSame(PathTemplate.compile("cached_$screenWidth.png"), PathTemplate.compile("cached_$screenWidth.png"));
+        }
+
+        @Test
+        public void withoutVariableNotCached() {
+            assertNotSame(PathTemplate.compile("notCached.png"), PathTemplate.compile("notCached.png"));
+            assertEquals("notCached.png", PathTemplate.compile("notCached.png").render(CONTEXT));
+        }
+
+        @Test
+        public void bounded() {
+            for (int i = 0; i < PathTemplate.CACHE_SIZE + 10; i++) {
+                assertEquals("bounded" + i + "_800.png", PathTemplate.compile("bounded" + i + "_$screenWidth.png").render(CONTEXT));
+            }
+            assertTrue(PathTemplate.cacheSize() <= PathTemplate.CACHE_SIZE);
+        }
+    }
+}
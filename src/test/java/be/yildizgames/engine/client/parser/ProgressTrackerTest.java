@@ -0,0 +1,112 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class ProgressTrackerTest {
+
+    private final List<LoadingProgress> events = Collections.synchronizedList(new ArrayList<>());
+
+    private static final Path FOLDER = Paths.get("res");
+
+    private static ResourceIndex givenIndex() {
+        return ResourceIndex.of(List.of(Paths.get("res/a.mat"), Paths.get("res/b.mat"), Paths.get("res/c.fnt")));
+    }
+
+    @Nested
+    public class Discovered {
+
+        @Test
+        public void totalPerType() {
+            new ProgressTracker(events::add).discovered(givenIndex(), FOLDER);
+            assertEquals(ScriptType.values().length, events.size());
+            LoadingProgress material = events.get(ScriptType.MATERIAL.ordinal());
+            assertEquals(LoadingProgress.Stage.DISCOVERED, material.getStage());
+            assertEquals(2, material.getTotal());
+            assertEquals(2, material.getCompleted());
+            assertEquals(FOLDER, material.getFile());
+            assertEquals(0, events.get(ScriptType.VIEW.ordinal()).getTotal());
+        }
+    }
+
+    @Nested
+    public class Progress {
+
+        @Test
+        public void orderAndCompletion() {
+            ProgressTracker tracker = new ProgressTracker(events::add);
+            tracker.discovered(givenIndex(), FOLDER);
+            events.clear();
+            tracker.parsed(ScriptType.MATERIAL, Paths.get("res/a.mat"));
+            tracker.parsed(ScriptType.MATERIAL, Paths.get("res/b.mat"));
+            tracker.applied(ScriptType.MATERIAL, Paths.get("res/a.mat"));
+            tracker.applied(ScriptType.MATERIAL, Paths.get("res/b.mat"));
+            tracker.parsed(ScriptType.FONT, Paths.get("res/c.fnt"));
+            assertEquals("MATERIAL PARSED 1/2 " + Paths.get("res/a.mat"), events.get(0).toString());
+            assertEquals("MATERIAL PARSED 2/2 " + Paths.get("res/b.mat"), events.get(1).toString());
+            assertEquals("MATERIAL APPLIED 1/2 " + Paths.get("res/a.mat"), events.get(2).toString());
+            assertEquals("MATERIAL APPLIED 2/2 " + Paths.get("res/b.mat"), events.get(3).toString());
+            assertEquals("FONT PARSED 1/1 " + Paths.get("res/c.fnt"), events.get(4).toString());
+        }
+
+        @Test
+        public void concurrentReports() throws InterruptedException {
+            ProgressTracker tracker = new ProgressTracker(events::add);
+            int threads = 4;
+            int reports = 500;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    for (int i = 0; i < reports; i++) {
+                        tracker.applied(ScriptType.VIEW, FOLDER);
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            assertEquals(threads * reports, events.size());
+            for (int i = 0; i < events.size(); i++) {
+                assertEquals(i + 1, events.get(i).getCompleted());
+            }
+        }
+    }
+}
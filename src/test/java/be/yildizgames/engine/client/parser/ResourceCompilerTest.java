@@ -0,0 +1,108 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class ResourceCompilerTest {
+
+    private static final String FIRST = "<views><container><name>compiledFirst</name><x>10</x><y>0</y><width>20</width><height>10</height></container></views>";
+
+    @TempDir
+    Path folder;
+
+    private Path givenTree(String second) throws IOException {
+        Path root = Files.createDirectories(folder.resolve("res/sub"));
+        Files.writeString(root.resolve("b.vew"), second);
+        Files.writeString(folder.resolve("res/a.vew"), FIRST);
+        return folder.resolve("res");
+    }
+
+    @Nested
+    public class Compile {
+
+        @Test
+        public void referenceInOtherScript() throws IOException {
+            Path root = givenTree("<views><container><name>compiledSecond</name><x>right#compiledFirst</x><y>0</y>"
+                    + "<width>20</width><height>10</height></container></views>");
+            Path pack = folder.resolve("res.pack");
+            assertEquals(2, new ResourceCompiler(new ScreenSize(800, 600)).compile(root, pack));
+            assertEquals(2, ResourcePack.open(pack).getScripts().size());
+        }
+
+        @Test
+        public void unknownReference() throws IOException {
+            Path root = givenTree("<views><container><name>compiledSecond</name><x>right#compiledNone</x><y>0</y>"
+                    + "<width>20</width><height>10</height></container></views>");
+            Path pack = folder.resolve("res.pack");
+            ParserException e = assertThrows(ParserException.class, () -> new ResourceCompiler(new ScreenSize(800, 600)).compile(root, pack));
+            assertTrue(e.getMessage().contains("compiledNone"));
+            assertFalse(Files.exists(pack));
+        }
+    }
+
+    @Nested
+    public class CompileScripts {
+
+        @Test
+        public void layoutIndependentOfScreen() throws IOException {
+            Path root = Files.createDirectories(folder.resolve("res/sub"));
+            Files.writeString(root.resolve("view.vew"),
+                    "<views><container><name>c</name><x>0</x><y>0</y><width>full-1</width><height>full-10</height></container></views>");
+            Path target = folder.resolve("compiled");
+            assertEquals(1, new ResourceCompiler(new ScreenSize(800, 600)).compileScripts(folder.resolve("res"), target));
+            List<ContainerDefinition> result = new ParserFactory(ParserFactory.ParserType.BINARY)
+                    .createGuiParser(new ScreenSize(1024, 768)).parse(target.resolve("sub/view.vew"));
+            assertEquals(1023, result.get(0).getCoordinates().width);
+            assertEquals(758, result.get(0).getCoordinates().height);
+        }
+
+        @Test
+        public void invalidForScreen() throws IOException {
+            Path root = Files.createDirectories(folder.resolve("res"));
+            Files.writeString(root.resolve("view.vew"),
+                    "<views><container><name>c</name><x>0</x><y>0</y><width>full-800</width><height>10</height></container></views>");
+            Path target = folder.resolve("compiled");
+            assertThrows(ParserException.class, () -> new ResourceCompiler(new ScreenSize(800, 600)).compileScripts(root, target));
+            assertFalse(Files.exists(target));
+        }
+    }
+}
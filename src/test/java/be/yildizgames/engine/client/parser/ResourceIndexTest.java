@@ -0,0 +1,66 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class ResourceIndexTest {
+
+    @TempDir
+    Path folder;
+
+    @Nested
+    public class Scan {
+
+        @Test
+        public void happyFlow() throws IOException {
+            Path root = Files.createTempDirectory(folder, "index");
+            Path sub = Files.createDirectory(root.resolve("sub"));
+            Path material = Files.createFile(root.resolve("a.mat"));
+            Path font = Files.createFile(sub.resolve("b.fnt"));
+            Path view = Files.createFile(sub.resolve("c.vew"));
+            Files.createFile(sub.resolve("d.txt"));
+            ResourceIndex index = ResourceIndex.scan(root);
+            assertEquals(List.of(material), index.getFiles(ScriptType.MATERIAL));
+            assertEquals(List.of(font), index.getFiles(ScriptType.FONT));
+            assertEquals(List.of(view), index.getFiles(ScriptType.VIEW));
+            assertTrue(index.getFiles(ScriptType.PLAYLIST).isEmpty());
+            assertEquals(6, index.getVisitedEntries());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class ResourcePackTest {
+
+    @TempDir
+    Path folder;
+
+    private static FontDefinition font(String name) {
+        FontDefinition def = new FontDefinition.Builder().setName(name).setPath(name + ".ttf").setSize("10").build();
+        return def;
+    }
+
+    @Nested
+    public class Open {
+
+        @Test
+        public void happyFlow() throws IOException {
+            Path file = folder.resolve("res.pack");
+            PlayListDefinition playlist = new PlayListDefinition.Builder().setName("menu").build();
+            ResourcePack.write(file, List.of(
+                    new ResourcePack.Script(ScriptType.FONT, "a.fnt", List.of(font("a"))),
+                    new ResourcePack.Script(ScriptType.PLAYLIST, "sub/b.pll", List.of(playlist)),
+                    new ResourcePack.Script(ScriptType.FONT, "sub/c.fnt", List.of(font("c1"), font("c2")))));
+            ResourcePack pack = ResourcePack.open(file);
+            assertEquals(List.of(file.resolve("a.fnt"), file.resolve("sub/b.pll"), file.resolve("sub/c.fnt")), pack.getScripts());
+            List<FontDefinition> fonts = pack.read(ScriptType.FONT, file.resolve("sub/c.fnt"), null);
+            assertEquals(2, fonts.size());
+            assertEquals("c2", fonts.get(1).getName());
+            List<PlayListDefinition> playlists = pack.read(ScriptType.PLAYLIST, file.resolve("sub/b.pll"), null);
+            assertEquals("menu", playlists.get(0).getName());
+        }
+
+        @Test
+        public void notInPack() throws IOException {
+            Path file = folder.resolve("res.pack");
+            ResourcePack.write(file, List.of(new ResourcePack.Script(ScriptType.FONT, "a.fnt", List.of(font("a")))));
+            ResourcePack pack = ResourcePack.open(file);
+            assertThrows(ParserException.class, () -> pack.read(ScriptType.FONT, file.resolve("b.fnt"), null));
+            assertThrows(ParserException.class, () -> pack.read(ScriptType.MATERIAL, file.resolve("a.fnt"), null));
+        }
+
+        @Test
+        public void notAPack() throws IOException {
+            Path file = folder.resolve("res.pack");
+            Files.writeString(file, "not a pack");
+            assertThrows(ParserException.class, () -> ResourcePack.open(file));
+        }
+
+        @Test
+        public void unknownType() throws IOException {
+            for (byte type : new byte[]{-1, 99}) {
+                Path file = corrupted(16, ByteBuffer.allocate(1).put(type).array());
+                assertThrows(ParserException.class, () -> ResourcePack.open(file));
+            }
+        }
+
+        @Test
+        public void offsetOutOfFile() throws IOException {
+            for (long offset : new long[]{-1, Integer.MAX_VALUE + 10L, Long.MAX_VALUE - 1}) {
+                Path file = corrupted(26, ByteBuffer.allocate(8).putLong(offset).array());
+                assertThrows(ParserException.class, () -> ResourcePack.open(file));
+            }
+        }
+
+        @Test
+        public void invalidCount() throws IOException {
+            Path file = corrupted(12, ByteBuffer.allocate(4).putInt(Integer.MAX_VALUE).array());
+            assertThrows(ParserException.class, () -> ResourcePack.open(file));
+        }
+
+        /**
+         * Write a pack with a single font script, then overwrite some of its bytes.
+         */
+        private Path corrupted(int position, byte[] bytes) throws IOException {
+            Path file = folder.resolve("res.pack");
+            ResourcePack.write(file, List.of(new ResourcePack.Script(ScriptType.FONT, "a.fnt", List.of(font("a")))));
+            byte[] content = Files.readAllBytes(file);
+            System.arraycopy(bytes, 0, content, position, bytes.length);
+            Files.write(file, content);
+            return file;
+        }
+    }
+}
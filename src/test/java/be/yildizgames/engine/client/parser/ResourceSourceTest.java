@@ -0,0 +1,163 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class ResourceSourceTest {
+
+    private static final String MATERIAL = "<materials><material><name>a</name><file>a.png</file></material></materials>";
+
+    @TempDir
+    Path folder;
+
+    private Path jar() throws IOException {
+        Path jar = folder.resolve("res.jar");
+        try (FileSystem fs = FileSystems.newFileSystem(jar, Map.of("create", "true"))) {
+            Files.createDirectories(fs.getPath("/res/sub"));
+            Files.writeString(fs.getPath("/res/sub/a.mat"), MATERIAL);
+        }
+        return jar;
+    }
+
+    @Nested
+    public class Open {
+
+        @Test
+        public void folder() throws IOException {
+            try (ResourceSource source = ResourceSource.open(folder)) {
+                assertTrue(source.isWritableFolder());
+                assertFalse(source.isClasspath());
+            }
+        }
+    }
+
+    @Nested
+    public class OpenClasspath {
+
+        @Test
+        public void inJar() throws IOException {
+            Path jar = jar();
+            try (URLClassLoader loader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, null);
+                 ResourceSource source = ResourceSource.open(loader, "res")) {
+                assertFalse(source.isFolder());
+                List<Path> files = source.index().getFiles(ScriptType.MATERIAL);
+                assertEquals(1, files.size());
+                assertEquals("a", new XmlMaterialParser(new ScreenSize(800, 600)).parse(files.get(0)).get(0).getName());
+            }
+            // the jar opened by the source is closed with it.
+            try (FileSystem fs = FileSystems.newFileSystem(jar, (ClassLoader) null)) {
+                assertTrue(Files.exists(fs.getPath("/res/sub/a.mat")));
+            }
+        }
+
+        @Test
+        public void onDisk() throws IOException {
+            Files.createDirectories(folder.resolve("res"));
+            Files.writeString(folder.resolve("res/a.mat"), MATERIAL);
+            try (URLClassLoader loader = new URLClassLoader(new URL[]{folder.toUri().toURL()}, null);
+                 ResourceSource source = ResourceSource.open(loader, "res")) {
+                assertTrue(source.isFolder());
+                assertTrue(source.isClasspath());
+                assertFalse(source.isWritableFolder());
+                assertEquals(1, source.index().getFiles(ScriptType.MATERIAL).size());
+            }
+        }
+
+        @Test
+        public void notExisting() throws IOException {
+            try (URLClassLoader loader = new URLClassLoader(new URL[]{jar().toUri().toURL()}, null)) {
+                assertThrows(IllegalArgumentException.class, () -> ResourceSource.open(loader, "other"));
+                assertThrows(IllegalArgumentException.class, () -> ResourceSource.open(loader, "res/sub/a.mat"));
+            }
+        }
+    }
+
+    @Nested
+    public class ParseStream {
+
+        @Test
+        public void inputStream() {
+            List<SimpleMaterialDefinition> result = new XmlMaterialParser(new ScreenSize(800, 600))
+                    .parse(new ByteArrayInputStream(MATERIAL.getBytes(StandardCharsets.UTF_8)));
+            assertEquals("a.png", result.get(0).getPath());
+        }
+
+        @Test
+        public void channel() {
+            List<SimpleMaterialDefinition> result = new StaxMaterialParser(new ScreenSize(800, 600))
+                    .parse(Channels.newChannel(new ByteArrayInputStream(MATERIAL.getBytes(StandardCharsets.UTF_8))));
+            assertEquals("a", result.get(0).getName());
+        }
+
+        @Test
+        public void customParser() throws IOException {
+            FontParser parser = new FontParser() {
+                @Override
+                public List<FontDefinition> parse(Path file) {
+                    try {
+                        return this.parse(ByteBuffer.wrap(Files.readAllBytes(file)));
+                    } catch (IOException e) {
+                        throw new ParserException(e.getMessage(), e);
+                    }
+                }
+
+                @Override
+                public List<FontDefinition> parse(ByteBuffer content) {
+                    String name = StandardCharsets.UTF_8.decode(content.duplicate()).toString();
+                    return List.of(new FontDefinition.Builder().setName(name).setPath(name + ".ttf").setSize("10").build());
+                }
+            };
+            byte[] script = "arial".getBytes(StandardCharsets.UTF_8);
+            assertEquals("arial", parser.parse(new ByteArrayInputStream(script)).get(0).getName());
+            assertEquals("arial", parser.parse(Channels.newChannel(new ByteArrayInputStream(script))).get(0).getName());
+        }
+    }
+}
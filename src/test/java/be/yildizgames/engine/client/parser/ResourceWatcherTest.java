@@ -0,0 +1,102 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class ResourceWatcherTest {
+
+    @TempDir
+    Path folder;
+
+    private final List<Path> reloaded = new ArrayList<>();
+
+    /**
+     * Poll until a file is reloaded, the file system events are not delivered synchronously.
+     */
+    private void pollUntilReloaded(ResourceWatcher watcher) throws InterruptedException {
+        for (int i = 0; i < 100 && this.reloaded.isEmpty(); i++) {
+            watcher.poll();
+            Thread.sleep(50);
+        }
+    }
+
+    @Nested
+    public class Poll {
+
+        @Test
+        public void modifiedScript() throws IOException, InterruptedException {
+            Path script = Files.writeString(folder.resolve("a.mat"), "<materials/>");
+            try (ResourceWatcher watcher = new ResourceWatcher(List.of(folder), reloaded::add)) {
+                Files.writeString(script, "<materials></materials>");
+                pollUntilReloaded(watcher);
+                assertEquals(List.of(script), reloaded);
+            }
+        }
+
+        @Test
+        public void createdInNewFolder() throws IOException, InterruptedException {
+            try (ResourceWatcher watcher = new ResourceWatcher(List.of(folder), reloaded::add)) {
+                Path sub = Files.createDirectory(folder.resolve("sub"));
+                Path script = Files.writeString(sub.resolve("b.fnt"), "<fonts/>");
+                pollUntilReloaded(watcher);
+                assertEquals(List.of(script), reloaded);
+            }
+        }
+
+        @Test
+        public void notScriptIgnored() throws IOException, InterruptedException {
+            try (ResourceWatcher watcher = new ResourceWatcher(List.of(folder), reloaded::add)) {
+                Files.writeString(folder.resolve("readme.txt"), "text");
+                Path script = Files.writeString(folder.resolve("c.vew"), "<views/>");
+                pollUntilReloaded(watcher);
+                assertEquals(List.of(script), reloaded);
+            }
+        }
+
+        @Test
+        public void closed() throws IOException {
+            ResourceWatcher watcher = new ResourceWatcher(List.of(folder), reloaded::add);
+            watcher.close();
+            Files.writeString(folder.resolve("d.mat"), "<materials/>");
+            assertEquals(0, watcher.poll());
+            assertTrue(reloaded.isEmpty());
+        }
+    }
+}
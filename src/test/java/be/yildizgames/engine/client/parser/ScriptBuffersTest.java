@@ -0,0 +1,161 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class ScriptBuffersTest {
+
+    private static final ScreenSize SCREEN = new ScreenSize(800, 600);
+
+    @TempDir
+    Path folder;
+
+    private Path script(String content) throws IOException {
+        Path file = Files.createTempFile(folder, "material", ".mat");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static String materials(int count) {
+        StringBuilder sb = new StringBuilder("<materials>");
+        for (int i = 0; i < count; i++) {
+            sb.append("<material><name>m").append(i).append("</name><file>m_$screenWidth.png</file></material>");
+        }
+        return sb.append("</materials>").toString();
+    }
+
+    @Nested
+    public class Read {
+
+        @Test
+        public void smallFile() throws IOException {
+            Path file = script("abc");
+            ByteBuffer[] received = new ByteBuffer[1];
+            String result = ScriptBuffers.read(file, b -> {
+                received[0] = b;
+                return StandardCharsets.UTF_8.decode(b.duplicate()).toString();
+            });
+            assertEquals("abc", result);
+            assertFalse(received[0].isDirect());
+        }
+
+        @Test
+        public void bufferReused() throws IOException {
+            Path file = script("abc");
+            ByteBuffer[] received = new ByteBuffer[2];
+            ScriptBuffers.read(file, b -> received[0] = b);
+            ScriptBuffers.read(file, b -> received[1] = b);
+            assertSame(received[0], received[1]);
+            assertEquals(0, received[1].position());
+        }
+
+        @Test
+        public void largeFileMapped() throws IOException {
+            Path file = script(materials(2000));
+            assertTrue(Files.size(file) >= ScriptBuffers.MAP_THRESHOLD);
+            ByteBuffer[] received = new ByteBuffer[1];
+            List<SimpleMaterialDefinition> result = ScriptBuffers.read(file, b -> {
+                received[0] = b;
+                return new XmlMaterialParser(SCREEN).parse(b);
+            });
+            assertTrue(received[0].isDirect());
+            assertEquals(2000, result.size());
+            assertEquals("m_800.png", result.get(1999).getPath());
+        }
+
+        @Test
+        public void notExisting() {
+            Path file = Path.of("not-existing.mat");
+            assertThrows(ParserException.class, () -> ScriptBuffers.read(file, b -> b));
+        }
+    }
+
+    @Nested
+    public class Parse {
+
+        @Test
+        public void sameAsFile() throws IOException {
+            Path file = script(materials(3));
+            for (ParserFactory.ParserType type : List.of(ParserFactory.ParserType.XML, ParserFactory.ParserType.XML_STREAM, ParserFactory.ParserType.XML_FAST)) {
+                MaterialParser parser = new ParserFactory(type).createMaterialParser(SCREEN);
+                List<SimpleMaterialDefinition> expected = parser.parse(file);
+                List<SimpleMaterialDefinition> result = ScriptBuffers.read(file, parser::parse);
+                assertEquals(3, result.size());
+                for (int i = 0; i < 3; i++) {
+                    assertEquals(expected.get(i).getName(), result.get(i).getName());
+                    assertEquals(expected.get(i).getPath(), result.get(i).getPath());
+                }
+            }
+        }
+
+        @Test
+        public void positionNotModified() throws IOException {
+            ByteBuffer content = ByteBuffer.wrap(materials(1).getBytes(StandardCharsets.UTF_8));
+            new XmlMaterialParser(SCREEN).parse(content);
+            new StaxMaterialParser(SCREEN).parse(content);
+            new XmlMaterialParser(SCREEN, true).parse(content);
+            assertEquals(0, content.position());
+        }
+
+        @Test
+        public void binary() throws IOException {
+            SimpleMaterialDefinition def = new SimpleMaterialDefinition.Builder().setName("bg").setPath("bg.png").build();
+            Path file = script("");
+            BinaryDefinitionFile.write(file, ScriptType.MATERIAL, List.of(def));
+            ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file));
+            MaterialParser parser = new ParserFactory(ParserFactory.ParserType.BINARY).createMaterialParser(SCREEN);
+            assertEquals(List.of(def), parser.parse(content));
+            assertEquals(0, content.position());
+            assertEquals(List.of(def), parser.parse(new ByteArrayInputStream(Files.readAllBytes(file))));
+        }
+
+        @Test
+        public void binaryNotCompiled() {
+            MaterialParser parser = new ParserFactory(ParserFactory.ParserType.BINARY).createMaterialParser(SCREEN);
+            assertThrows(ParserException.class, () -> parser.parse(ByteBuffer.allocate(0)));
+        }
+    }
+}
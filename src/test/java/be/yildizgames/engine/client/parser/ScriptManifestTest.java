@@ -0,0 +1,119 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class ScriptManifestTest {
+
+    private static final byte[] PAYLOAD = {0, 0, 0, 0};
+
+    @TempDir
+    Path folder;
+
+    private Path givenScripts() throws IOException {
+        Path root = Files.createDirectory(folder.resolve("res"));
+        Files.writeString(root.resolve("a.fnt"), "<fonts/>");
+        Files.writeString(root.resolve("b.fnt"), "<fonts></fonts>");
+        ScriptManifest manifest = ScriptManifest.load(root);
+        manifest.put(root.resolve("a.fnt"), ScriptType.FONT, manifest.fingerprint(root.resolve("a.fnt")), PAYLOAD);
+        manifest.put(root.resolve("b.fnt"), ScriptType.FONT, manifest.fingerprint(root.resolve("b.fnt")), PAYLOAD);
+        manifest.save();
+        return root;
+    }
+
+    @Nested
+    public class Lookup {
+
+        @Test
+        public void unchanged() throws IOException {
+            Path root = givenScripts();
+            assertNotNull(ScriptManifest.load(root).lookup(root.resolve("a.fnt"), ScriptType.FONT));
+        }
+
+        @Test
+        public void modified() throws IOException {
+            Path root = givenScripts();
+            Files.writeString(root.resolve("a.fnt"), "<fonts> </fonts>");
+            assertNull(ScriptManifest.load(root).lookup(root.resolve("a.fnt"), ScriptType.FONT));
+        }
+    }
+
+    @Nested
+    public class Put {
+
+        @Test
+        public void modifiedWhileParsing() throws IOException {
+            Path root = Files.createDirectory(folder.resolve("res"));
+            Path script = Files.writeString(root.resolve("a.fnt"), "<fonts/>");
+            ScriptManifest manifest = ScriptManifest.load(root);
+            ScriptManifest.Fingerprint fingerprint = manifest.fingerprint(script);
+            Files.writeString(script, "<fonts></fonts>");
+            manifest.put(script, ScriptType.FONT, fingerprint, PAYLOAD);
+            manifest.save();
+            assertNull(ScriptManifest.load(root).lookup(script, ScriptType.FONT));
+        }
+    }
+
+    @Nested
+    public class Save {
+
+        @Test
+        public void deletedScriptDropped() throws IOException {
+            Path root = givenScripts();
+            Files.delete(root.resolve("b.fnt"));
+            ScriptManifest manifest = ScriptManifest.load(root);
+            assertEquals(2, manifest.size());
+            assertNotNull(manifest.lookup(root.resolve("a.fnt"), ScriptType.FONT));
+            manifest.save();
+            ScriptManifest reloaded = ScriptManifest.load(root);
+            assertEquals(1, reloaded.size());
+            assertNotNull(reloaded.lookup(root.resolve("a.fnt"), ScriptType.FONT));
+        }
+
+        @Test
+        public void allUsedKept() throws IOException {
+            Path root = givenScripts();
+            ScriptManifest manifest = ScriptManifest.load(root);
+            manifest.lookup(root.resolve("a.fnt"), ScriptType.FONT);
+            manifest.lookup(root.resolve("b.fnt"), ScriptType.FONT);
+            manifest.save();
+            assertEquals(2, ScriptManifest.load(root).size());
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class ScriptTokenizerTest {
+
+    private static final ScriptTokenizer.Vocabulary NAMES = new ScriptTokenizer.Vocabulary("font", "name", "file", "size");
+
+    private static ScriptTokenizer tokenizer(String content) {
+        return new ScriptTokenizer(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)), NAMES);
+    }
+
+    @TempDir
+    Path folder;
+
+    private Path script(String suffix, String content) throws IOException {
+        Path file = Files.createTempFile(folder, "script", suffix);
+        Files.writeString(file, content);
+        return file;
+    }
+
+    @Nested
+    public class Next {
+
+        @Test
+        public void happyFlow() {
+            ScriptTokenizer t = tokenizer("<?xml version=\"1.0\"?>\n<!-- c --><fonts>\n<font><name>a</name><other/></font></fonts>");
+            assertEquals(ScriptTokenizer.START_ELEMENT, t.next());
+            assertEquals(ScriptTokenizer.UNKNOWN, t.name());
+            assertEquals(ScriptTokenizer.START_ELEMENT, t.next());
+            assertEquals("font", t.name());
+            assertEquals(ScriptTokenizer.START_ELEMENT, t.next());
+            assertEquals("name", t.name());
+            assertEquals("a", t.readText());
+            assertEquals(ScriptTokenizer.START_ELEMENT, t.next());
+            assertEquals(ScriptTokenizer.UNKNOWN, t.name());
+            assertEquals("", t.readText());
+            assertEquals(ScriptTokenizer.END_ELEMENT, t.next());
+            assertEquals(ScriptTokenizer.END_ELEMENT, t.next());
+            assertEquals(ScriptTokenizer.END_DOCUMENT, t.next());
+        }
+
+        @Test
+        public void attribute() {
+            ScriptTokenizer t = tokenizer("<fonts a=\"b\"></fonts>");
+            assertThrows(ScriptTokenizer.UnsupportedSyntax.class, t::next);
+        }
+
+        @Test
+        public void doctype() {
+            ScriptTokenizer t = tokenizer("<!DOCTYPE fonts><fonts></fonts>");
+            assertThrows(ScriptTokenizer.UnsupportedSyntax.class, t::next);
+        }
+
+        @Test
+        public void mismatchedEnd() {
+            ScriptTokenizer t = tokenizer("<fonts><font></fonts>");
+            t.next();
+            t.next();
+            assertThrows(ScriptTokenizer.UnsupportedSyntax.class, t::next);
+        }
+
+        @Test
+        public void unclosed() {
+            ScriptTokenizer t = tokenizer("<fonts>");
+            t.next();
+            assertThrows(ScriptTokenizer.UnsupportedSyntax.class, t::next);
+        }
+    }
+
+    @Nested
+    public class ReadText {
+
+        @Test
+        public void references() {
+            ScriptTokenizer t = tokenizer("<name>a&amp;b&lt;&#65;&#x42;<![CDATA[&amp;]]>\r\né</name>");
+            t.next();
+            assertEquals("a&b<AB&amp;\né", t.readText());
+        }
+
+        @Test
+        public void unknownEntity() {
+            ScriptTokenizer t = tokenizer("<name>&nbsp;</name>");
+            t.next();
+            assertThrows(ScriptTokenizer.UnsupportedSyntax.class, t::readText);
+        }
+
+        @Test
+        public void nestedElement() {
+            ScriptTokenizer t = tokenizer("<name>a<b>c</b></name>");
+            t.next();
+            assertThrows(ScriptTokenizer.UnsupportedSyntax.class, t::readText);
+        }
+    }
+
+    @Nested
+    public class FastParsers {
+
+        @Test
+        public void fontSameAsDom() throws IOException {
+            Path file = script(".fnt", "<fonts>\n  <font>\n    <name>arial</name>\n    <file>arial.ttf</file>\n    <size>12</size>\n  </font>\n</fonts>");
+            List<FontDefinition> result = new ParserFactory(ParserFactory.ParserType.XML_FAST).createFontParser().parse(file);
+            List<FontDefinition> expected = new XmlFontParser().parse(file);
+            assertEquals(expected.get(0).getName(), result.get(0).getName());
+            assertEquals(expected.get(0).getPath(), result.get(0).getPath());
+            assertEquals(expected.get(0).getSize(), result.get(0).getSize());
+        }
+
+        @Test
+        public void playlistSameAsDom() throws IOException {
+            Path file = script(".pll", "<playlists><playlist><name>menu</name>"
+                    + "<music><name>m1</name><file>m1.ogg</file></music><music><name>m2</name><file>m2.ogg</file></music>"
+                    + "</playlist></playlists>");
+            List<PlayListDefinition> result = new ParserFactory(ParserFactory.ParserType.XML_FAST).createMusicParser().parse(file);
+            List<PlayListDefinition> expected = new XmlMusicParser().parse(file);
+            assertEquals(expected.get(0).getName(), result.get(0).getName());
+            assertEquals(2, result.get(0).getMusicList().size());
+            assertEquals(expected.get(0).getMusicList().get(1).getFile(), result.get(0).getMusicList().get(1).getFile());
+        }
+
+        @Test
+        public void materialFallback() throws IOException {
+            Path file = script(".mat", "<materials><material kind=\"a\"><name>m</name><file>m.png</file></material></materials>");
+            List<SimpleMaterialDefinition> result = new XmlMaterialParser(new ScreenSize(800, 600), true).parse(file);
+            assertEquals("m", result.get(0).getName());
+            assertEquals("m.png", result.get(0).getPath());
+        }
+
+        @Test
+        public void viewButtonLikeDom() throws IOException {
+            Path valid = script(".vew", "<views><container><name>fastButtons</name><width>10</width><height>10</height><children>"
+                    + "<button><material>m</material><materialH>h</materialH><font>f</font></button></children></container></views>");
+            ButtonDefinition button = new XmlGuiParser(new ScreenSize(800, 600), true).parse(valid).get(0).getButtonList().get(0);
+            assertEquals("h", button.getMaterialHighlight());
+            Path invalid = script(".vew", "<views><container><name>fastButtons</name><width>10</width><height>10</height><children>"
+                    + "<button>\n<material>m</material></button></children></container></views>");
+            assertThrows(ParserException.class, () -> new XmlGuiParser(new ScreenSize(800, 600), true).parse(invalid));
+        }
+    }
+}
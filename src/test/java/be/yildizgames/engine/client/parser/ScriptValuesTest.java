@@ -0,0 +1,116 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.graphic.material.MaterialPass.SceneBlend;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class ScriptValuesTest {
+
+    @Nested
+    public class ParseInt {
+
+        @Test
+        public void inRange() {
+            assertEquals(20, ScriptValues.parseInt("full-20", 5, 7));
+            assertEquals(-3, ScriptValues.parseInt("-3", 0, 2));
+        }
+
+        @Test
+        public void invalid() {
+            assertThrows(NumberFormatException.class, () -> ScriptValues.parseInt("full-", 5, 5));
+            assertThrows(NumberFormatException.class, () -> ScriptValues.parseInt("1a", 0, 2));
+        }
+    }
+
+    @Nested
+    public class ParseFloat {
+
+        @Test
+        public void sameAsJdk() {
+            String[] values = {"0", "-0", "5", "1.5", "-12.25", "0.1", ".5", "1.", "16777215", "16777217", "3.4028235e38",
+                    "1e-3", "0.00000000001", "1f", " 2 ", "NaN", "-Infinity", "123456.789"};
+            for (String value : values) {
+                assertEquals(Float.parseFloat(value), ScriptValues.parseFloat(value, 0, value.length()), value);
+            }
+        }
+
+        @Test
+        public void sameAsJdkRandom() {
+            Random random = new Random(42);
+            for (int i = 0; i < 100_000; i++) {
+                String value = (random.nextInt(2000000) - 1000000) / Math.pow(10, random.nextInt(8)) + "";
+                assertEquals(Float.parseFloat(value), ScriptValues.parseFloat(value, 0, value.length()), value);
+            }
+        }
+
+        @Test
+        public void invalid() {
+            assertThrows(NumberFormatException.class, () -> ScriptValues.parseFloat("", 0, 0));
+            assertThrows(NumberFormatException.class, () -> ScriptValues.parseFloat("-", 0, 1));
+            assertThrows(NumberFormatException.class, () -> ScriptValues.parseFloat("1.2.3", 0, 5));
+        }
+    }
+
+    @Nested
+    public class ParseEnum {
+
+        @Test
+        public void ignoreCase() {
+            SceneBlend[] constants = SceneBlend.values();
+            String value = SceneBlend.ONE.name().toLowerCase() + "&" + SceneBlend.ZERO.name();
+            int separator = value.indexOf('&');
+            assertEquals(SceneBlend.ONE, ScriptValues.parseEnum(constants, value, 0, separator));
+            assertEquals(SceneBlend.ZERO, ScriptValues.parseEnum(constants, value, separator + 1, value.length()));
+        }
+
+        @Test
+        public void unknown() {
+            assertThrows(IllegalArgumentException.class, () -> ScriptValues.parseEnum(SceneBlend.values(), "abc", 0, 3));
+        }
+    }
+
+    @Nested
+    public class Is {
+
+        @Test
+        public void keyword() {
+            assertTrue(ScriptValues.is("right#other", 0, 5, "right"));
+            assertFalse(ScriptValues.is("right#other", 0, 6, "right"));
+            assertFalse(ScriptValues.is("left", 0, 4, "right"));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.coordinate.Coordinates;
+import be.yildizgames.module.window.ScreenSize;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class StaxGuiParserTest {
+
+    private static final ScreenSize SCREEN = new ScreenSize(800, 600);
+
+    @TempDir
+    Path folder;
+
+    private Path script(String content) throws IOException {
+        Path file = Files.createTempFile(folder, "view", ".vew");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static String dump(List<ContainerDefinition> definitions) {
+        StringBuilder sb = new StringBuilder();
+        for (ContainerDefinition d : definitions) {
+            sb.append(dump(d)).append(d.getZ()).append(d.getMaterialName()).append('[');
+            for (GuiCommonDefinition child : d.getChildren()) {
+                sb.append(child.getClass().getSimpleName()).append(dump(child));
+            }
+            sb.append(']');
+        }
+        return sb.toString();
+    }
+
+    private static String dump(GuiCommonDefinition d) {
+        Coordinates c = d.getCoordinates();
+        return d.getName() + "(" + c.left + "," + c.top + "," + c.width + "," + c.height + ")";
+    }
+
+    @Nested
+    public class Parse {
+
+        @Test
+        public void sameAsDom() throws IOException {
+            Path file = script("<views>\n"
+                    + "  <container>\n    <name>staxMain</name>\n    <x>center</x>\n    <y>bottom</y>\n"
+                    + "    <width>full-20</width>\n    <height>100</height>\n    <z>2</z>\n    <material>bg</material>\n"
+                    + "    <children>\n"
+                    + "      <image><name>staxImg</name><x>10</x><y>top</y><width>50</width><height>50</height><material>btn</material></image>\n"
+                    + "      <textline><name>staxTl</name><x>right#staxImg</x><y>5</y><width>30</width><height>10</height><font>arial</font></textline>\n"
+                    + "      <textarea><name>staxTa</name><x>left#staxTl</x><y>5</y><width>30</width><height>10</height><font>arial</font><material>bg</material></textarea>\n"
+                    + "      <input><name>staxIn</name><x>right</x><y>5</y><width>30</width><height>10</height><font>arial</font><material>bg</material><materialH>btn</materialH></input>\n"
+                    + "    </children>\n"
+                    + "  </container>\n"
+                    + "  <container><name>staxSecond</name><x>0</x><y>0</y><width>full</width><height>full</height></container>\n"
+                    + "</views>");
+            List<ContainerDefinition> expected = new XmlGuiParser(SCREEN).parse(file);
+            List<ContainerDefinition> result = new ParserFactory(ParserFactory.ParserType.XML_STREAM).createGuiParser(SCREEN).parse(file);
+            assertEquals(2, result.size());
+            assertEquals(4, result.get(0).getChildren().size());
+            assertEquals(dump(expected), dump(result));
+        }
+
+        @Test
+        public void buttonWithCommonData() throws IOException {
+            Path file = script("<views><container><name>staxButtons</name><x>0</x><y>0</y><width>100</width><height>100</height>\n"
+                    + "<children>\n  <button>\n    <name>staxOk</name><x>5</x><y>6</y><width>20</width><height>10</height>\n"
+                    + "    <material>m</material><materialH>h</materialH><font>f</font>\n  </button>\n</children>\n"
+                    + "</container></views>");
+            ButtonDefinition button = new StaxGuiParser(SCREEN).parse(file).get(0).getButtonList().get(0);
+            assertEquals("staxOk", button.getName());
+            assertEquals("m", button.getMaterial());
+            assertEquals("h", button.getMaterialHighlight());
+            assertEquals("f", button.getFont());
+            assertEquals(20, button.getCoordinates().width);
+        }
+
+        @Test
+        public void buttonWithInvalidNode() throws IOException {
+            Path file = script("<views><container><name>staxInvalid</name><width>10</width><height>10</height>"
+                    + "<children><button><unknown/></button></children></container></views>");
+            assertThrows(ParserException.class, () -> new StaxGuiParser(SCREEN).parse(file));
+        }
+    }
+}
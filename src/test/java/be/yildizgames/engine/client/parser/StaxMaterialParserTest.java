@@ -0,0 +1,118 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class StaxMaterialParserTest {
+
+    private static final ScreenSize SCREEN = new ScreenSize(800, 600);
+
+    @TempDir
+    Path folder;
+
+    private Path script(String content) throws IOException {
+        Path file = Files.createTempFile(folder, "material", ".mat");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static String dump(List<SimpleMaterialDefinition> definitions) {
+        StringBuilder sb = new StringBuilder();
+        for (SimpleMaterialDefinition d : definitions) {
+            sb.append(d.getName()).append('|').append(d.getPath()).append('|').append(d.getPath2()).append('|')
+                    .append(d.getTransparency()).append('|').append(d.getGlowFile()).append('|')
+                    .append(d.isAffectedByLight()).append('|').append(d.getBlend()).append('|')
+                    .append(d.getSceneBlend1()).append('|').append(d.getSceneBlend2()).append(';');
+        }
+        return sb.toString();
+    }
+
+    @Nested
+    public class Parse {
+
+        @Test
+        public void sameAsDom() throws IOException {
+            Path file = script("<?xml version=\"1.0\"?>\n<materials>\n"
+                    + "  <material>\n    <name>bg</name>\n    <file>bg_$screenWidth.png</file>\n"
+                    + "    <light>false</light>\n    <blend>add</blend>\n  </material>\n"
+                    + "  <!-- comment -->\n"
+                    + "  <material><name>a&amp;b</name><file><![CDATA[a.png]]></file><file2>b.png</file2>"
+                    + "<transparency>alpha</transparency><glowFile>g.png</glowFile><unknown>x</unknown></material>\n"
+                    + "</materials>");
+            List<SimpleMaterialDefinition> expected = new XmlMaterialParser(SCREEN).parse(file);
+            List<SimpleMaterialDefinition> result = new ParserFactory(ParserFactory.ParserType.XML_STREAM).createMaterialParser(SCREEN).parse(file);
+            assertEquals(2, result.size());
+            assertEquals("bg_800.png", result.get(0).getPath());
+            assertEquals("a&b", result.get(1).getName());
+            assertEquals(dump(expected), dump(result));
+        }
+
+        @Test
+        public void invalidXml() throws IOException {
+            Path file = script("<materials><material></materials>");
+            assertThrows(ParserException.class, () -> new StaxMaterialParser(SCREEN).parse(file));
+        }
+    }
+
+    @Nested
+    public class ParseWithConsumer {
+
+        @Test
+        public void givenBeforeEndOfFile() throws IOException {
+            Path file = script("<materials><material><name>a</name></material><material><name>b</name>");
+            List<String> received = new ArrayList<>();
+            assertThrows(ParserException.class, () -> new StaxMaterialParser(SCREEN).parse(file, d -> received.add(d.getName())));
+            assertEquals(List.of("a"), received);
+        }
+
+        @Test
+        public void sameAsList() throws IOException {
+            Path file = script("<materials><material><name>a</name><material><name>b</name></material></material>"
+                    + "<material><name>c</name></material></materials>");
+            for (MaterialParser parser : List.of(new StaxMaterialParser(SCREEN), new XmlMaterialParser(SCREEN), new XmlMaterialParser(SCREEN, true))) {
+                List<SimpleMaterialDefinition> received = new ArrayList<>();
+                parser.parse(file, received::add);
+                assertEquals(dump(parser.parse(file)), dump(received));
+                assertEquals(dump(new XmlMaterialParser(SCREEN).parse(file)), dump(received));
+            }
+        }
+    }
+}
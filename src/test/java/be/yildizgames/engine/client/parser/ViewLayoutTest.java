@@ -0,0 +1,141 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class ViewLayoutTest {
+
+    private static final ScreenSize SCREEN = new ScreenSize(800, 600);
+
+    private static final String VIEW = "<views><container><name>layoutMain</name><x>0</x><y>bottom</y><width>full</width><height>100</height>"
+            + "<z>3</z><material>bg</material><children>"
+            + "<image><name>layoutImg</name><x>10</x><y>5</y><width>50</width><height>40</height><material>btn</material></image>"
+            + "<textline><name>layoutTl</name><x>right#layoutImg</x><y>5</y><width>30</width><height>10</height><font>arial</font></textline>"
+            + "<input><name>layoutOk</name><x>right</x><y>5</y><width>20</width><height>10</height>"
+            + "<material>btn</material><materialH>btnH</materialH><font>arial</font></input>"
+            + "</children></container></views>";
+
+    @TempDir
+    Path folder;
+
+    private ContainerDefinition givenView(ScreenSize screen) throws IOException {
+        Path file = Files.createTempFile(folder, "view", ".vew");
+        Files.writeString(file, VIEW);
+        return new XmlGuiParser(screen).parse(file).get(0);
+    }
+
+    @Nested
+    public class Of {
+
+        @Test
+        public void happyFlow() throws IOException {
+            ViewLayout layout = ViewLayout.of(givenView(SCREEN), new SymbolTable());
+            assertEquals(4, layout.size());
+            assertEquals(3, layout.getZ());
+            assertEquals(ViewLayout.WidgetType.CONTAINER, layout.getType(0));
+            assertEquals(500, layout.getTop(0));
+            assertEquals(800, layout.getWidth(0));
+            assertEquals("bg", layout.getMaterial(0));
+            assertEquals(ViewLayout.WidgetType.TEXT_LINE, layout.getType(2));
+            assertEquals(60, layout.getLeft(2));
+            assertEquals("arial", layout.getFont(2));
+            assertNull(layout.getMaterial(2));
+            assertEquals(ViewLayout.WidgetType.INPUT_BOX, layout.getType(3));
+            assertEquals("btnH", layout.getMaterialHighlight(3));
+            assertEquals(780, layout.getLeft(3));
+            assertEquals(3, layout.indexOf("layoutOk"));
+            assertEquals(-1, layout.indexOf("unknown"));
+        }
+
+        @Test
+        public void symbolsShared() throws IOException {
+            SymbolTable symbols = new SymbolTable();
+            ViewLayout first = ViewLayout.of(givenView(SCREEN), symbols);
+            int size = symbols.size();
+            ViewLayout second = ViewLayout.of(givenView(SCREEN), symbols);
+            assertEquals(size, symbols.size());
+            assertSame(first.getFont(2), second.getFont(2));
+        }
+
+        @Test
+        public void unsupportedWidget() throws IOException {
+            ContainerDefinition view = givenView(SCREEN);
+            view.getChildren().add(new ContainerDefinition(SCREEN));
+            assertThrows(IllegalArgumentException.class, () -> ViewLayout.of(view, new SymbolTable()));
+        }
+    }
+
+    @Nested
+    public class Update {
+
+        @Test
+        public void afterRelayout() throws IOException {
+            ContainerDefinition view = givenView(SCREEN);
+            ViewLayout layout = ViewLayout.of(view, new SymbolTable());
+            view.relayout(new ScreenSize(1920, 1080));
+            layout.update(view);
+            assertEquals(980, layout.getTop(0));
+            assertEquals(1900, layout.getLeft(3));
+        }
+
+        @Test
+        public void otherView() throws IOException {
+            ViewLayout layout = ViewLayout.of(givenView(SCREEN), new SymbolTable());
+            ContainerDefinition other = new ContainerDefinition(SCREEN);
+            other.setName("other");
+            assertThrows(IllegalArgumentException.class, () -> layout.update(other));
+        }
+    }
+
+    @Nested
+    public class Coordinates {
+
+        @Test
+        public void sameInstanceWhileUnchanged() throws IOException {
+            ContainerDefinition view = givenView(SCREEN);
+            assertSame(view.getCoordinates(), view.getCoordinates());
+            be.yildizgames.module.coordinate.Coordinates before = view.getCoordinates();
+            view.relayout(new ScreenSize(1920, 1080));
+            assertEquals(1920, view.getCoordinates().width);
+            assertEquals(800, before.width);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public class ViewSchedulerTest {
+
+    private static final ScreenSize SCREEN = new ScreenSize(800, 600);
+
+    private final List<String> built = new ArrayList<>();
+
+    private final List<Path> done = new ArrayList<>();
+
+    private final Set<String> materials = new HashSet<>();
+
+    private final Set<String> fonts = new HashSet<>();
+
+    private ViewScheduler givenScheduler() {
+        return new ViewScheduler(this.materials, this.fonts, v -> this.built.add(v.getName()), this.done::add);
+    }
+
+    private static ContainerDefinition givenView(String name, String material, String font) {
+        ContainerDefinition def = new ContainerDefinition(SCREEN);
+        def.setName(name);
+        def.setMaterial(material);
+        TextLineDefinition line = new TextLineDefinition(SCREEN);
+        line.setFont(font);
+        def.addTextLine(line);
+        return def;
+    }
+
+    @Nested
+    public class Add {
+
+        @Test
+        public void withLoadedDependencies() {
+            materials.add("mat");
+            fonts.add("font");
+            ViewScheduler scheduler = givenScheduler();
+            scheduler.add(Paths.get("a.vew"), List.of(givenView("v1", "mat", "font")));
+            assertEquals(List.of("v1"), built);
+            assertEquals(List.of(Paths.get("a.vew")), done);
+        }
+
+        @Test
+        public void heldUntilRelativePositionResolved() {
+            LayoutScope scope = new LayoutScope();
+            ContainerDefinition second = givenView("v2", "", "");
+            second.setWidth("10");
+            second.setLeft("right#v1");
+            scope.add(List.of(second));
+            ViewScheduler scheduler = givenScheduler();
+            scheduler.add(Paths.get("b.vew"), List.of(second));
+            assertTrue(built.isEmpty());
+            ContainerDefinition first = givenView("v1", "", "");
+            scope.add(List.of(first));
+            scheduler.add(Paths.get("a.vew"), List.of(first));
+            assertEquals(List.of("v2", "v1"), built);
+        }
+
+        @Test
+        public void emptyFile() {
+            ViewScheduler scheduler = givenScheduler();
+            scheduler.add(Paths.get("a.vew"), List.of());
+            assertTrue(built.isEmpty());
+            assertEquals(List.of(Paths.get("a.vew")), done);
+        }
+    }
+
+    @Nested
+    public class ResourceLoaded {
+
+        @Test
+        public void releasedWhenAllDependenciesLoaded() {
+            ViewScheduler scheduler = givenScheduler();
+            scheduler.add(Paths.get("a.vew"), List.of(givenView("v1", "mat1", "font"), givenView("v2", "mat2", "")));
+            assertTrue(built.isEmpty());
+            scheduler.materialLoaded("mat1");
+            assertTrue(built.isEmpty());
+            scheduler.materialLoaded("mat2");
+            assertEquals(List.of("v2"), built);
+            scheduler.fontLoaded("font");
+            assertEquals(List.of("v2", "v1"), built);
+            assertEquals(List.of(Paths.get("a.vew")), done);
+        }
+    }
+
+    @Nested
+    public class Flush {
+
+        @Test
+        public void releaseRemainingInOrder() {
+            ViewScheduler scheduler = givenScheduler();
+            scheduler.add(Paths.get("a.vew"), List.of(givenView("v1", "unknown", ""), givenView("v2", "other", "")));
+            scheduler.flush();
+            assertEquals(List.of("v1", "v2"), built);
+            assertEquals(List.of(Paths.get("a.vew")), done);
+        }
+    }
+
+    @Nested
+    public class Using {
+
+        @Test
+        public void happyFlow() {
+            ContainerDefinition first = givenView("v1", "mat1", "font");
+            ContainerDefinition second = givenView("v2", "mat2", "font");
+            assertEquals(List.of(second), ViewScheduler.using(List.of(first, second), Set.of("mat2", "other")));
+        }
+
+        @Test
+        public void none() {
+            assertTrue(ViewScheduler.using(List.of(givenView("v1", "mat1", "font")), Set.of("font")).isEmpty());
+        }
+    }
+
+    @Nested
+    public class Relayout {
+
+        @Test
+        public void otherViewReference() {
+            ContainerDefinition first = new ContainerDefinition(SCREEN);
+            first.setName("relayoutFirst");
+            first.setWidth("full-100");
+            first.setHeight("10");
+            first.setLeft("0");
+            first.setTop("0");
+            ContainerDefinition second = new ContainerDefinition(SCREEN);
+            second.setName("relayoutSecond");
+            second.setWidth("20");
+            second.setHeight("10");
+            second.setLeft("right#relayoutFirst");
+            second.setTop("bottom");
+            new LayoutScope().add(List.of(second, first));
+            assertEquals(700, second.getCoordinates().left);
+            ScreenSize large = new ScreenSize(1024, 768);
+            ViewScheduler.relayout(List.of(second, first), large, v -> built.add(v.getName()));
+            assertEquals(List.of("relayoutSecond", "relayoutFirst"), built);
+            assertEquals(924, first.getCoordinates().width);
+            assertEquals(924, second.getCoordinates().left);
+            assertEquals(758, second.getCoordinates().top);
+        }
+    }
+}
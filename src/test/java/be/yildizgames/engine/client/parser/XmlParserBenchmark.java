@@ -0,0 +1,109 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2019 Grégory Van den Borre
+ *
+ * More infos available: https://engine.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify, merge,
+ * publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons
+ * to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE  SOFTWARE.
+ */
+package be.yildizgames.engine.client.parser;
+
+import be.yildizgames.module.window.ScreenSize;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measure the per file cost of the XML parser setup, parsing many small scripts with a parser created for each file
+ * with the pooled parsers and with the script tokenizer.
+ * Usage: XmlParserBenchmark [files [rounds]]
+ *
+ * @author Grégory Van den Borre
+ */
+public class XmlParserBenchmark {
+
+    private static final String SCRIPT = "<materials><material><name>m</name><file>m.png</file><light>false</light></material></materials>";
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Path folder = Files.createTempDirectory("benchmark");
+        List<Path> files = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            files.add(Files.writeString(folder.resolve("m" + i + ".mat"), SCRIPT));
+        }
+        XmlMaterialParser domParser = new XmlMaterialParser(new ScreenSize(1920, 1080));
+        XmlMaterialParser fastParser = new XmlMaterialParser(new ScreenSize(1920, 1080), true);
+        for (int round = 0; round < rounds; round++) {
+            long domNew = measure(files, XmlParserBenchmark::domNewFactory);
+            long domPooled = measure(files, XmlDocuments::read);
+            long staxNew = measure(files, XmlParserBenchmark::staxNewFactory);
+            long staxPooled = measure(files, f -> XmlDocuments.stream(f, XmlParserBenchmark::drain));
+            long domMaterial = measure(files, domParser::parse);
+            long fastMaterial = measure(files, fastParser::parse);
+            System.out.printf("round %d: dom new %d ns/file, dom pooled %d ns/file, stax new %d ns/file, stax pooled %d ns/file, "
+                            + "dom materials %d ns/file, tokenizer materials %d ns/file%n",
+                    round, domNew / count, domPooled / count, staxNew / count, staxPooled / count,
+                    domMaterial / count, fastMaterial / count);
+        }
+        for (Path file : files) {
+            Files.delete(file);
+        }
+        Files.delete(folder);
+    }
+
+    private static long measure(List<Path> files, Task task) throws Exception {
+        long start = System.nanoTime();
+        for (Path file : files) {
+            task.run(file);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void domNewFactory(Path file) throws Exception {
+        try (InputStream in = Files.newInputStream(file)) {
+            DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(in);
+        }
+    }
+
+    private static void staxNewFactory(Path file) throws Exception {
+        try (InputStream in = Files.newInputStream(file)) {
+            drain(XMLInputFactory.newInstance().createXMLStreamReader(in));
+        }
+    }
+
+    private static Object drain(XMLStreamReader xml) throws XMLStreamException {
+        while (xml.hasNext()) {
+            xml.next();
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        void run(Path file) throws Exception;
+    }
+}